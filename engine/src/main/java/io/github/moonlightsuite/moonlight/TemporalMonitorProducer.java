@@ -29,7 +29,7 @@ public interface TemporalMonitorProducer {
         return new TemporalMonitorProducer() {
             @Override
             public <S> TemporalMonitor<MoonLightRecord, S> apply(SignalDomain<S> domain, MoonLightRecord args) {
-                return TemporalMonitor.atomicMonitor(s -> domain.valueOf(atomic.apply(args,s)));
+                return TemporalMonitor.atomicMonitor(s -> domain.valueOf(atomic.apply(args,s)), domain);
             }
         };
     }
@@ -38,7 +38,7 @@ public interface TemporalMonitorProducer {
         return new TemporalMonitorProducer() {
             @Override
             public <S> TemporalMonitor<MoonLightRecord, S> apply(SignalDomain<S> domain, MoonLightRecord args) {
-                return TemporalMonitor.atomicMonitor(s -> SerializableData.getOperator(domain,op).apply(left.apply(args,s), right.apply(args,s)));
+                return TemporalMonitor.atomicMonitor(s -> SerializableData.getOperator(domain,op).apply(left.apply(args,s), right.apply(args,s)), domain);
             }
         };
     }
@@ -74,7 +74,7 @@ public interface TemporalMonitorProducer {
         return new TemporalMonitorProducer() {
             @Override
             public <S> TemporalMonitor<MoonLightRecord, S> apply(SignalDomain<S> domain, MoonLightRecord args) {
-                return TemporalMonitor.atomicMonitor(v -> domain.min());
+                return TemporalMonitor.atomicMonitor(v -> domain.min(), domain);
             }
         };
     }
@@ -83,7 +83,7 @@ public interface TemporalMonitorProducer {
         return new TemporalMonitorProducer() {
             @Override
             public <S> TemporalMonitor<MoonLightRecord, S> apply(SignalDomain<S> domain, MoonLightRecord args) {
-                return TemporalMonitor.atomicMonitor(v -> domain.max());
+                return TemporalMonitor.atomicMonitor(v -> domain.max(), domain);
             }
         };
     }
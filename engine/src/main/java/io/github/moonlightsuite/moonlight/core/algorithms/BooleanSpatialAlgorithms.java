@@ -0,0 +1,398 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.core.space.DistanceDomain;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
+import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Spatial operators specialized for the {@link BooleanDomain}.
+ * <p>
+ * At each time instant, a Boolean spatial signal is just a set of locations,
+ * so it is stored as a <code>long[]</code> bitset and operators become set
+ * operations on whole words:
+ * <ul>
+ *     <li>somewhere and everywhere intersect the signal with the
+ *     neighbourhood of each location;</li>
+ *     <li>reach is a frontier visit that starts from the locations
+ *     satisfying the right signal and only enters the ones satisfying the
+ *     left signal;</li>
+ *     <li>escape visits, from each location, the locations reachable through
+ *     the signal, and intersects them with its neighbourhood.</li>
+ * </ul>
+ * When they fit in {@link #MASK_BUDGET} words, the neighbourhoods of a
+ * distance structure are computed once as bitmasks. They are kept by the
+ * instance and, when a {@link DistanceStructureCache} is given, in the
+ * cache, so that they are shared by all the operators that use the same
+ * distance structure. The same holds for the distance of the edges checked
+ * by {@link #isReachApplicable()}.
+ *
+ * @param <E> weight type of the edges of the spatial model
+ * @param <M> metric type considered by the distance structure
+ */
+public class BooleanSpatialAlgorithms<E, M> {
+    /**
+     * Maximum number of words of the neighbourhood bitmasks of a distance
+     * structure.
+     */
+    public static final long MASK_BUDGET = 1L << 22;
+
+    private static final Object MASKS = new Object();
+    private static final Object STEP = new Object();
+
+    private final DistanceStructure<E, M> ds;
+    private final DistanceStructureCache<E> cache;
+    private final SpatialModel<E> model;
+    private final boolean parallel;
+    private final int size;
+    private final int words;
+    private long[] masks;
+    private boolean masksKnown;
+    private M step;
+    private boolean stepKnown;
+
+    /**
+     * @param distanceStructure distance structure of the current space
+     * @param isParallel        whether locations are evaluated in parallel
+     */
+    public BooleanSpatialAlgorithms(DistanceStructure<E, M> distanceStructure,
+                                    boolean isParallel) {
+        this(distanceStructure, isParallel, null);
+    }
+
+    /**
+     * @param distanceStructure distance structure of the current space
+     * @param isParallel        whether locations are evaluated in parallel
+     * @param cache             the cache that built the distance structure,
+     *                          where the bitmasks are kept, or
+     *                          <code>null</code>
+     */
+    public BooleanSpatialAlgorithms(DistanceStructure<E, M> distanceStructure,
+                                    boolean isParallel,
+                                    DistanceStructureCache<E> cache) {
+        this.ds = distanceStructure;
+        this.cache = cache;
+        this.model = distanceStructure.getModel();
+        this.parallel = isParallel;
+        this.size = model.size();
+        this.words = (size + 63) >>> 6;
+    }
+
+    /**
+     * @param signalDomain a signal domain
+     * @return <code>true</code> when the operators over the given signal
+     * domain can be computed by this class.
+     */
+    public static boolean isApplicable(SignalDomain<?> signalDomain) {
+        return signalDomain instanceof BooleanDomain;
+    }
+
+    public IntFunction<Boolean> somewhere(IntFunction<Boolean> s) {
+        long[] signal = encode(s);
+        long[] masks = masks();
+        return decode(locations -> {
+            long result = 0;
+            for (int l = locations; l < Math.min(locations + 64, size); l++) {
+                boolean some = masks != null
+                        ? intersects(masks, l, signal)
+                        : anyInNeighbourhood(l, signal, true);
+                if (some) {
+                    result |= 1L << l;
+                }
+            }
+            return result;
+        });
+    }
+
+    public IntFunction<Boolean> everywhere(IntFunction<Boolean> s) {
+        long[] signal = encode(s);
+        long[] masks = masks();
+        long[] complement = new long[words];
+        for (int w = 0; w < words; w++) {
+            complement[w] = ~signal[w];
+        }
+        return decode(locations -> {
+            long result = 0;
+            for (int l = locations; l < Math.min(locations + 64, size); l++) {
+                boolean some = masks != null
+                        ? intersects(masks, l, complement)
+                        : anyInNeighbourhood(l, signal, false);
+                if (!some) {
+                    result |= 1L << l;
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * @return <code>true</code> when reach over the distance structure can be
+     * computed by {@link #reach}, i.e. when all the edges have the same
+     * positive distance, so that the distance of a route only depends on the
+     * number of its steps.
+     */
+    public boolean isReachApplicable() {
+        return stepDistance() != null;
+    }
+
+    public IntFunction<Boolean> reach(IntFunction<Boolean> left,
+                                      IntFunction<Boolean> right) {
+        M step = stepDistance();
+        if (step == null) {
+            throw new IllegalArgumentException(
+                    "Edges must have the same positive distance");
+        }
+        DistanceDomain<M> domain = ds.getDistanceDomain();
+        long[] allowed = encode(left);
+        long[] frontier = encode(right);
+        long[] result = ds.isWithinBounds(domain.zero())
+                ? frontier.clone() : new long[words];
+        long[] visited = new long[words];
+        M distance = step;
+        while (ds.isWithinBounds(distance) && !isEmpty(frontier)) {
+            long[] next = new long[words];
+            for (int w = 0; w < words; w++) {
+                long bits = frontier[w];
+                while (bits != 0) {
+                    int l = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    previous(l, next);
+                }
+            }
+            for (int w = 0; w < words; w++) {
+                next[w] &= allowed[w] & ~visited[w];
+                visited[w] |= next[w];
+                result[w] |= next[w];
+            }
+            frontier = next;
+            distance = domain.sum(distance, step);
+        }
+        return location -> contains(result, location);
+    }
+
+    public IntFunction<Boolean> escape(IntFunction<Boolean> s) {
+        long[] signal = encode(s);
+        long[] masks = masks();
+        IntStream sources = IntStream.range(0, size);
+        if (parallel) {
+            sources = sources.parallel();
+        }
+        long[] result = sources.filter(l -> contains(signal, l))
+                .collect(() -> new Visit(signal, masks),
+                         Visit::escape,
+                         Visit::merge)
+                .result;
+        return location -> contains(result, location);
+    }
+
+    /**
+     * Scratch state to visit the locations reachable from one source at a
+     * time, together with the sources that can escape.
+     */
+    private class Visit {
+        private final long[] signal;
+        private final long[] masks;
+        private final long[] visited = new long[words];
+        private final int[] queue = new int[size];
+        private final long[] result = new long[words];
+
+        Visit(long[] signal, long[] masks) {
+            this.signal = signal;
+            this.masks = masks;
+        }
+
+        void escape(int source) {
+            Arrays.fill(visited, 0);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            visited[source >>> 6] |= 1L << source;
+            boolean escapes = false;
+            while (head < tail && !escapes) {
+                int l = queue[head++];
+                escapes = masks != null
+                        ? contains(masks, source * words, l)
+                        : ds.areWithinBounds(source, l);
+                if (model instanceof CompressedGraphModel<E> graph) {
+                    for (int e = graph.nextStart(l); e < graph.nextEnd(l); e++) {
+                        tail = enqueue(graph.nextLocation(e), tail);
+                    }
+                } else {
+                    for (Pair<Integer, E> edge : model.next(l)) {
+                        tail = enqueue(edge.getFirst(), tail);
+                    }
+                }
+            }
+            if (escapes) {
+                result[source >>> 6] |= 1L << source;
+            }
+        }
+
+        private int enqueue(int l, int tail) {
+            long bit = 1L << l;
+            if ((visited[l >>> 6] & bit) == 0 && (signal[l >>> 6] & bit) != 0) {
+                visited[l >>> 6] |= bit;
+                queue[tail++] = l;
+            }
+            return tail;
+        }
+
+        void merge(Visit other) {
+            for (int w = 0; w < words; w++) {
+                result[w] |= other.result[w];
+            }
+        }
+    }
+
+    private void previous(int l, long[] set) {
+        if (model instanceof CompressedGraphModel<E> graph) {
+            for (int e = graph.previousStart(l); e < graph.previousEnd(l); e++) {
+                int n = graph.previousLocation(e);
+                set[n >>> 6] |= 1L << n;
+            }
+        } else {
+            for (Pair<Integer, E> edge : model.previous(l)) {
+                int n = edge.getFirst();
+                set[n >>> 6] |= 1L << n;
+            }
+        }
+    }
+
+    /**
+     * @return the distance of every edge of the model, if they all have the
+     * same positive one, or <code>null</code>.
+     */
+    private M stepDistance() {
+        if (!stepKnown) {
+            step = cache == null ? computeStep(ds)
+                                 : cache.derive(ds, STEP,
+                                                BooleanSpatialAlgorithms::computeStep);
+            stepKnown = true;
+        }
+        return step;
+    }
+
+    private static <E, M> M computeStep(DistanceStructure<E, M> ds) {
+        SpatialModel<E> model = ds.getModel();
+        DistanceDomain<M> domain = ds.getDistanceDomain();
+        M step = null;
+        for (int l = 0; l < model.size(); l++) {
+            for (Pair<Integer, E> edge : model.next(l)) {
+                M d = ds.getDistanceFunction().apply(edge.getSecond());
+                if (step == null) {
+                    if (!domain.less(domain.zero(), d)) {
+                        return null;
+                    }
+                    step = d;
+                } else if (!domain.equalTo(step, d)) {
+                    return null;
+                }
+            }
+        }
+        return step;
+    }
+
+    /**
+     * @return the neighbourhood bitmasks of the distance structure, one row
+     * of <code>words</code> words per location, or <code>null</code> if they
+     * do not fit in {@link #MASK_BUDGET}.
+     */
+    private long[] masks() {
+        if (!masksKnown) {
+            if ((long) size * words <= MASK_BUDGET) {
+                masks = cache == null ? computeMasks(ds)
+                                      : cache.derive(ds, MASKS,
+                                                     this::computeMasks);
+            }
+            masksKnown = true;
+        }
+        return masks;
+    }
+
+    private long[] computeMasks(DistanceStructure<E, M> ds) {
+        long[] rows = new long[size * words];
+        locations().forEach(l -> {
+            for (int n : SpatialAlgorithms.neighbourhood(ds, l)) {
+                rows[l * words + (n >>> 6)] |= 1L << n;
+            }
+        });
+        return rows;
+    }
+
+    private boolean intersects(long[] masks, int l, long[] set) {
+        int row = l * words;
+        for (int w = 0; w < words; w++) {
+            if ((masks[row + w] & set[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether some location in the neighbourhood of <code>l</code>
+     * is in <code>set</code> (or out of it, if <code>in</code> is false).
+     */
+    private boolean anyInNeighbourhood(int l, long[] set, boolean in) {
+        for (int n : SpatialAlgorithms.neighbourhood(ds, l)) {
+            if (contains(set, n) == in) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private IntStream locations() {
+        IntStream locations = IntStream.range(0, size);
+        return parallel ? locations.parallel() : locations;
+    }
+
+    private long[] encode(IntFunction<Boolean> s) {
+        long[] set = new long[words];
+        for (int l = 0; l < size; l++) {
+            if (Boolean.TRUE.equals(s.apply(l))) {
+                set[l >>> 6] |= 1L << l;
+            }
+        }
+        return set;
+    }
+
+    /**
+     * @param word computes the word of results starting at a location
+     */
+    private IntFunction<Boolean> decode(IntToLongFunction word) {
+        long[] result = new long[words];
+        IntStream indices = IntStream.range(0, words);
+        if (parallel) {
+            indices = indices.parallel();
+        }
+        indices.forEach(w -> result[w] = word.applyAsLong(w << 6));
+        return location -> contains(result, location);
+    }
+
+    private static boolean contains(long[] set, int l) {
+        return contains(set, 0, l);
+    }
+
+    private static boolean contains(long[] set, int offset, int l) {
+        return (set[offset + (l >>> 6)] & (1L << l)) != 0;
+    }
+
+    private static boolean isEmpty(long[] set) {
+        for (long word : set) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
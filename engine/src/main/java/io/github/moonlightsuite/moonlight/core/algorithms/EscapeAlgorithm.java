@@ -93,10 +93,11 @@ public class EscapeAlgorithm<E, M, R> {
     private void updateDistance(int source, int target,
                                 Set<Pair<Integer, Integer>> extendedNeighbourhood,
                                 Map<Integer, Map<Integer, R>> neighboursDistanceMap) {
+        R routeV = getCurrentMinimalDistance(source, target);
         for (int neighbour : getIncomingEdgesLocations(source)) {
-            R oldV = getCurrentMinimalDistance(neighbour, target);
-            R selfV = getCurrentMinimalDistance(source, source);
-            R newV = combine(oldV, spatialSignal.apply(neighbour), selfV);
+            R oldV = getPendingMinimalDistance(neighboursDistanceMap,
+                    neighbour, target);
+            R newV = combine(oldV, spatialSignal.apply(neighbour), routeV);
             if (!signalDomain.equalTo(newV, oldV)) {
                 extendedNeighbourhood.add(new Pair<>(neighbour, target));
                 addDistancePair(neighboursDistanceMap, neighbour, target, newV);
@@ -110,9 +111,9 @@ public class EscapeAlgorithm<E, M, R> {
                 .collect(Collectors.toList());
     }
 
-    private R combine(R oldV, R signalV, R selfV) {
+    private R combine(R oldV, R signalV, R routeV) {
         return signalDomain.disjunction(oldV,
-                signalDomain.conjunction(signalV, selfV));
+                signalDomain.conjunction(signalV, routeV));
     }
 
     private void addAll(Map<Integer, Map<Integer, R>> eMapNext) {
@@ -121,6 +122,20 @@ public class EscapeAlgorithm<E, M, R> {
                         addDistancePair(minimalDistanceMap, l1, l2, distance)));
     }
 
+    /**
+     * Values updated in the current iteration take precedence over the
+     * ones of the previous iterations, so that updates of the same pair
+     * within an iteration are accumulated rather than overwritten.
+     */
+    private R getPendingMinimalDistance(Map<Integer, Map<Integer, R>> pending,
+                                        int l1, int l2) {
+        Map<Integer, R> m = pending.get(l1);
+        if (m != null && m.containsKey(l2)) {
+            return m.get(l2);
+        }
+        return getCurrentMinimalDistance(l1, l2);
+    }
+
     private R getCurrentMinimalDistance(int l1, int l2) {
         return minimalDistanceMap.get(l1).getOrDefault(l2, signalDomain.min());
     }
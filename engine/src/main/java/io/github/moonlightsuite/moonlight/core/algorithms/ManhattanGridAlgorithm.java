@@ -0,0 +1,173 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructure;
+import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructureLazy;
+import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructureLegacy;
+import io.github.moonlightsuite.moonlight.space.RegularGridModel;
+
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Somewhere/everywhere on regular grids with Manhattan distances.
+ * <p>
+ * When the neighbourhood of a cell is the diamond
+ * <code>|dx| + |dy| &lt;= r</code>, rotating the grid by 45 degrees
+ * (<code>u = x + y</code>, <code>v = x - y</code>) turns it into a square
+ * of side <code>2r + 1</code>. The operator is then computed as two
+ * separable sliding-window reductions, one along each rotated axis, with
+ * the van Herk/Gil-Werman scheme: each window is the combination of a
+ * suffix and a prefix of fixed-size blocks, so the cost per cell does not
+ * depend on the radius. Rotated positions that are not cells of the grid
+ * hold the identity of the operator.
+ * <p>
+ * The operator must be associative, commutative and idempotent, as
+ * disjunctions and conjunctions of signal domains are.
+ *
+ * @param <R> signal interpretation type
+ */
+public class ManhattanGridAlgorithm<R> {
+    private final int rows;
+    private final int columns;
+    private final int radius;
+    private final boolean parallel;
+
+    /**
+     * @param ds       a Manhattan distance structure over a regular grid,
+     *                 whose lower bound is not positive
+     * @param parallel whether lines are processed in parallel
+     */
+    public ManhattanGridAlgorithm(DistanceStructure<?, ?> ds,
+                                  boolean parallel) {
+        if (!isSupported(ds)) {
+            throw new IllegalArgumentException(
+                    "Unsupported distance structure");
+        }
+        RegularGridModel<?> grid = (RegularGridModel<?>) ds.getModel();
+        this.rows = grid.getRows();
+        this.columns = grid.getColumns();
+        this.radius = radiusOf(ds, rows + columns - 2);
+        this.parallel = parallel;
+    }
+
+    /**
+     * @param ds a distance structure
+     * @return <code>true</code> when the neighbourhoods of the distance
+     * structure are full Manhattan diamonds of a regular grid, and their
+     * size makes the rotated computation worthwhile.
+     */
+    public static boolean isApplicable(DistanceStructure<?, ?> ds) {
+        if (!isSupported(ds)) {
+            return false;
+        }
+        RegularGridModel<?> grid = (RegularGridModel<?>) ds.getModel();
+        long r = radiusOf(ds, grid.getRows() + grid.getColumns() - 2);
+        long side = grid.getRows() + grid.getColumns() - 1;
+        long diamond = 2 * r * r + 2 * r + 1;
+        return 2 * side * side <= grid.size() * diamond;
+    }
+
+    private static boolean isSupported(DistanceStructure<?, ?> ds) {
+        return (ds instanceof IntManhattanDistanceStructure
+                || ds instanceof IntManhattanDistanceStructureLazy
+                || ds instanceof IntManhattanDistanceStructureLegacy)
+                && ds.getModel() instanceof RegularGridModel<?> grid
+                && grid.size() > 0
+                && withinBounds(ds, 0);
+    }
+
+    /**
+     * @return the largest distance within bounds, up to <code>max</code>
+     */
+    private static int radiusOf(DistanceStructure<?, ?> ds, int max) {
+        int r = 0;
+        while (r < max && withinBounds(ds, r + 1)) {
+            r++;
+        }
+        return r;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean withinBounds(DistanceStructure<?, ?> ds, int d) {
+        return ((DistanceStructure<?, Integer>) ds).isWithinBounds(d);
+    }
+
+    /**
+     * @param op       the operator to combine values
+     * @param identity the identity of the operator
+     * @param signal   the spatial signal
+     * @return the combination of the signal over the diamond of each cell
+     */
+    @SuppressWarnings("unchecked")
+    public IntFunction<R> compute(BinaryOperator<R> op, R identity,
+                                  IntFunction<R> signal) {
+        int side = rows + columns - 1;
+        Object[][] rotated = new Object[side][];
+        lines(side).forEach(u -> {
+            rotated[u] = new Object[side];
+            Arrays.fill(rotated[u], identity);
+        });
+        lines(rows).forEach(y -> {
+            for (int x = 0; x < columns; x++) {
+                rotated[x + y][x - y + rows - 1] =
+                        signal.apply(y * columns + x);
+            }
+        });
+        lines(side).forEach(u -> rotated[u] = slide(rotated[u], op, identity));
+        lines(side).forEach(v -> {
+            Object[] column = new Object[side];
+            for (int u = 0; u < side; u++) {
+                column[u] = rotated[u][v];
+            }
+            column = slide(column, op, identity);
+            for (int u = 0; u < side; u++) {
+                rotated[u][v] = column[u];
+            }
+        });
+        return location -> {
+            int x = location % columns;
+            int y = location / columns;
+            return (R) rotated[x + y][x - y + rows - 1];
+        };
+    }
+
+    private IntStream lines(int n) {
+        IntStream lines = IntStream.range(0, n);
+        return parallel ? lines.parallel() : lines;
+    }
+
+    /**
+     * Sliding window of <code>2 * radius + 1</code> elements centred in
+     * each position, with the identity outside the line.
+     */
+    @SuppressWarnings("unchecked")
+    private Object[] slide(Object[] line, BinaryOperator<R> op, R identity) {
+        int window = 2 * radius + 1;
+        int padded = line.length + 2 * radius;
+        Object[] prefix = new Object[padded];
+        Object[] suffix = new Object[padded];
+        for (int i = 0; i < padded; i++) {
+            R value = at(line, i - radius, identity);
+            prefix[i] = i % window == 0 ? value
+                    : op.apply((R) prefix[i - 1], value);
+        }
+        for (int i = padded - 1; i >= 0; i--) {
+            R value = at(line, i - radius, identity);
+            suffix[i] = (i + 1) % window == 0 || i == padded - 1 ? value
+                    : op.apply(value, (R) suffix[i + 1]);
+        }
+        Object[] result = new Object[line.length];
+        for (int i = 0; i < line.length; i++) {
+            result[i] = op.apply((R) suffix[i], (R) prefix[i + window - 1]);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R at(Object[] line, int i, R identity) {
+        return i < 0 || i >= line.length ? identity : (R) line[i];
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Escape operator specialized for {@link DoubleDomain} and
+ * {@link BooleanDomain} signals.
+ * <p>
+ * The value of the best route from each location to a target only depends
+ * on the values of the routes to the same target, so targets are processed
+ * independently, and in parallel when requested. For each target, the column
+ * of route values is kept in a dense <code>double[]</code>, and the locations
+ * whose value changed in a <code>long[]</code> bitset frontier, until a
+ * fixpoint is reached. Distance bounds are then checked only for the
+ * locations that actually reach the target.
+ * <p>
+ * Only <code>O(N)</code> memory is needed per thread, instead of the
+ * location-pair maps of {@link EscapeAlgorithm}.
+ *
+ * @param <E> weight type of the edges of the spatial model
+ * @param <M> metric type considered by the distance structure
+ * @param <R> signal interpretation type
+ */
+public class MatrixEscapeAlgorithm<E, M, R> {
+    private final SpatialModel<E> model;
+    private final DistanceStructure<E, M> distStr;
+    private final IntFunction<R> spatialSignal;
+    private final boolean booleans;
+    private final boolean parallel;
+    private double[] signal;
+
+    public MatrixEscapeAlgorithm(DistanceStructure<E, M> distStr,
+                                 SignalDomain<R> signalDomain,
+                                 IntFunction<R> spatialSignal,
+                                 boolean parallel) {
+        if (!isApplicable(signalDomain)) {
+            throw new IllegalArgumentException(
+                    "Unsupported signal domain");
+        }
+        this.distStr = distStr;
+        this.model = distStr.getModel();
+        this.spatialSignal = spatialSignal;
+        this.booleans = signalDomain instanceof BooleanDomain;
+        this.parallel = parallel;
+    }
+
+    /**
+     * @param signalDomain a signal domain
+     * @return <code>true</code> when the escape operator over the given
+     * signal domain can be computed by this class.
+     */
+    public static boolean isApplicable(SignalDomain<?> signalDomain) {
+        return signalDomain instanceof DoubleDomain
+                || signalDomain instanceof BooleanDomain;
+    }
+
+    /**
+     * @return escape's algorithm computation
+     */
+    public IntFunction<R> compute() {
+        int size = model.size();
+        signal = new double[size];
+        for (int l = 0; l < size; l++) {
+            signal[l] = encode(spatialSignal.apply(l));
+        }
+        IntStream targets = IntStream.range(0, size);
+        if (parallel) {
+            targets = targets.parallel();
+        }
+        Column result = targets.collect(() -> new Column(size),
+                                        Column::solve, Column::merge);
+        return results(result.best);
+    }
+
+    @SuppressWarnings("unchecked")
+    private IntFunction<R> results(double[] best) {
+        Object[] values = new Object[best.length];
+        for (int l = 0; l < best.length; l++) {
+            values[l] = decode(best[l]);
+        }
+        return i -> (R) values[i];
+    }
+
+    private double encode(R value) {
+        if (booleans) {
+            return Boolean.TRUE.equals(value) ? 1.0 : 0.0;
+        }
+        return (Double) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R decode(double value) {
+        if (booleans) {
+            return (R) Boolean.valueOf(value > 0.0);
+        }
+        return (R) Double.valueOf(value);
+    }
+
+    /**
+     * Scratch state to compute the routes towards one target at a time,
+     * together with the best values found so far for each location.
+     * Entries of <code>value</code> are restored after each target.
+     */
+    private class Column {
+        private final double[] value;
+        private final long[] frontier;
+        private final int[] reached;
+        private final double[] best;
+        private int reachedSize;
+
+        Column(int size) {
+            value = new double[size];
+            frontier = new long[(size + 63) >>> 6];
+            reached = new int[size];
+            best = new double[size];
+            Arrays.fill(value, Double.NEGATIVE_INFINITY);
+            Arrays.fill(best, Double.NEGATIVE_INFINITY);
+        }
+
+        void solve(int target) {
+            reachedSize = 0;
+            update(target, signal[target]);
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int w = 0; w < frontier.length; w++) {
+                    while (frontier[w] != 0) {
+                        int l = (w << 6) + Long.numberOfTrailingZeros(frontier[w]);
+                        frontier[w] &= frontier[w] - 1;
+                        expand(l);
+                        changed = true;
+                    }
+                }
+            }
+            for (int i = 0; i < reachedSize; i++) {
+                int l = reached[i];
+                if (value[l] > best[l] && distStr.areWithinBounds(l, target)) {
+                    best[l] = value[l];
+                }
+                value[l] = Double.NEGATIVE_INFINITY;
+            }
+        }
+
+        private void expand(int l) {
+            double v = value[l];
+            if (model instanceof CompressedGraphModel<E> graph) {
+                for (int e = graph.previousStart(l); e < graph.previousEnd(l); e++) {
+                    int n = graph.previousLocation(e);
+                    relax(n, Math.min(signal[n], v));
+                }
+            } else {
+                for (Pair<Integer, E> edge : model.previous(l)) {
+                    int n = edge.getFirst();
+                    relax(n, Math.min(signal[n], v));
+                }
+            }
+        }
+
+        private void relax(int l, double v) {
+            if (v > value[l]) {
+                update(l, v);
+            }
+        }
+
+        private void update(int l, double v) {
+            if (value[l] == Double.NEGATIVE_INFINITY) {
+                reached[reachedSize++] = l;
+            }
+            value[l] = v;
+            frontier[l >>> 6] |= 1L << l;
+        }
+
+        void merge(Column other) {
+            for (int l = 0; l < best.length; l++) {
+                best[l] = Math.max(best[l], other.best[l]);
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Reach operator specialized for real-valued distances and
+ * {@link DoubleDomain} or {@link BooleanDomain} signals.
+ * <p>
+ * Instead of keeping, for each location, the best value for every distance
+ * as {@link ReachAlgorithm} does, labels <i>(location, distance, value)</i>
+ * are processed in increasing order of distance with a primitive binary
+ * heap. A label is then dominated, and dropped, when the same location has
+ * already been settled with a value at least as good: it could only be
+ * extended to paths that are longer and not better. This leaves a single
+ * <code>double</code> per location, that is also the result.
+ * <p>
+ * Dominance is only sound when distances grow along paths and the bounds
+ * are not violated by shorter distances, so the algorithm is used only when
+ * the zero distance is within bounds; if a negative edge distance is found,
+ * the computation falls back to {@link ReachAlgorithm}.
+ *
+ * @param <E> weight type of the edges of the spatial model
+ * @param <R> signal interpretation type
+ */
+public class NumericReachAlgorithm<E, R> {
+    private final DistanceStructure<E, Double> distStr;
+    private final SignalDomain<R> signalDomain;
+    private final IntFunction<R> leftSpatialSignal;
+    private final IntFunction<R> rightSpatialSignal;
+    private final SpatialModel<E> model;
+    private final Function<E, Double> distanceFunction;
+    private final boolean booleans;
+
+    private double[] left;
+    private double[] best;
+    private final Heap heap = new Heap();
+
+    public NumericReachAlgorithm(DistanceStructure<E, Double> distStr,
+                                 SignalDomain<R> signalDomain,
+                                 IntFunction<R> leftSpatialSignal,
+                                 IntFunction<R> rightSpatialSignal) {
+        if (!isApplicable(distStr, signalDomain)) {
+            throw new IllegalArgumentException(
+                    "Unsupported distance structure or signal domain");
+        }
+        this.distStr = distStr;
+        this.signalDomain = signalDomain;
+        this.leftSpatialSignal = leftSpatialSignal;
+        this.rightSpatialSignal = rightSpatialSignal;
+        this.model = distStr.getModel();
+        this.distanceFunction = distStr.getDistanceFunction();
+        this.booleans = signalDomain instanceof BooleanDomain;
+    }
+
+    /**
+     * @param distStr      a distance structure
+     * @param signalDomain a signal domain
+     * @return <code>true</code> when the reach operator over the given
+     * distance structure and signal domain can be computed by this class.
+     */
+    public static boolean isApplicable(DistanceStructure<?, ?> distStr,
+                                       SignalDomain<?> signalDomain) {
+        return distStr.getDistanceDomain() instanceof DoubleDomain
+                && (signalDomain instanceof DoubleDomain
+                    || signalDomain instanceof BooleanDomain)
+                && isZeroWithinBounds(distStr);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isZeroWithinBounds(DistanceStructure<?, ?> ds) {
+        return ((DistanceStructure<?, Double>) ds).isWithinBounds(0.0);
+    }
+
+    /**
+     * @return reach's algorithm computation
+     */
+    public IntFunction<R> compute() {
+        int size = model.size();
+        left = new double[size];
+        best = new double[size];
+        Arrays.fill(best, Double.NEGATIVE_INFINITY);
+        for (int l = 0; l < size; l++) {
+            left[l] = encode(leftSpatialSignal.apply(l));
+            heap.push(l, 0.0, encode(rightSpatialSignal.apply(l)));
+        }
+        if (!reachCore()) {
+            return new ReachAlgorithm<>(distStr, signalDomain,
+                    leftSpatialSignal, rightSpatialSignal).compute();
+        }
+        return results();
+    }
+
+    /**
+     * @return <code>false</code> if a negative distance has been found
+     */
+    private boolean reachCore() {
+        while (!heap.isEmpty()) {
+            int l1 = heap.location();
+            double d1 = heap.distance();
+            double v1 = heap.value();
+            heap.pop();
+            if (v1 <= best[l1]) {
+                continue;
+            }
+            best[l1] = v1;
+            if (!expand(l1, d1, v1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean expand(int l1, double d1, double v1) {
+        if (model instanceof CompressedGraphModel<E> graph) {
+            for (int e = graph.previousStart(l1); e < graph.previousEnd(l1); e++) {
+                if (!relax(graph.previousLocation(e), d1, v1,
+                           graph.previousValue(e))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Pair<Integer, E> edge : model.previous(l1)) {
+            if (!relax(edge.getFirst(), d1, v1, edge.getSecond())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean relax(int l2, double d1, double v1, E label) {
+        double weight = distanceFunction.apply(label);
+        if (weight < 0) {
+            return false;
+        }
+        double v2 = Math.min(v1, left[l2]);
+        if (v2 > best[l2]) {
+            double d2 = weight + d1;
+            if (distStr.isWithinBounds(d2)) {
+                heap.push(l2, d2, v2);
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private IntFunction<R> results() {
+        Object[] values = new Object[best.length];
+        for (int l = 0; l < best.length; l++) {
+            values[l] = decode(best[l]);
+        }
+        return i -> (R) values[i];
+    }
+
+    private double encode(R value) {
+        if (booleans) {
+            return Boolean.TRUE.equals(value) ? 1.0 : 0.0;
+        }
+        return (Double) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R decode(double value) {
+        if (booleans) {
+            return (R) Boolean.valueOf(value > 0.0);
+        }
+        return (R) Double.valueOf(value);
+    }
+
+    /**
+     * Binary min-heap of labels, ordered by distance and, for equal
+     * distances, by decreasing value. Labels are stored in three parallel
+     * arrays, so that no object is allocated per label.
+     */
+    private static class Heap {
+        private int[] locations = new int[16];
+        private double[] distances = new double[16];
+        private double[] values = new double[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int location() {
+            return locations[0];
+        }
+
+        double distance() {
+            return distances[0];
+        }
+
+        double value() {
+            return values[0];
+        }
+
+        void push(int location, double distance, double value) {
+            if (size == locations.length) {
+                locations = Arrays.copyOf(locations, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!precedes(distance, value, parent)) {
+                    break;
+                }
+                move(parent, i);
+                i = parent;
+            }
+            set(i, location, distance, value);
+        }
+
+        void pop() {
+            size--;
+            if (size == 0) {
+                return;
+            }
+            int location = locations[size];
+            double distance = distances[size];
+            double value = values[size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int right = child + 1;
+                if (right < size && precedes(distances[right], values[right],
+                                             child)) {
+                    child = right;
+                }
+                if (!precedes(distances[child], values[child], distance,
+                              value)) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            set(i, location, distance, value);
+        }
+
+        private boolean precedes(double distance, double value, int j) {
+            return precedes(distance, value, distances[j], values[j]);
+        }
+
+        private static boolean precedes(double distance, double value,
+                                        double otherDistance,
+                                        double otherValue) {
+            return distance < otherDistance
+                    || (distance == otherDistance && value > otherValue);
+        }
+
+        private void move(int from, int to) {
+            set(to, locations[from], distances[from], values[from]);
+        }
+
+        private void set(int i, int location, double distance,
+                         double value) {
+            locations[i] = location;
+            distances[i] = distance;
+            values[i] = value;
+        }
+    }
+}
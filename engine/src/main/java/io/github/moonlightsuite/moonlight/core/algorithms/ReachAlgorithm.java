@@ -45,7 +45,7 @@ public class ReachAlgorithm<E, M, R> {
     private final IntFunction<R> rightSpatialSignal;
     private final DistanceStructure<E, M> distStr;
     private final DistanceDomain<M> distanceDomain;
-    private final List<Triple<Integer, M, R>> reachabilityQueue;
+    private final Deque<Triple<Integer, M, R>> reachabilityQueue;
 
     /**
      * This list is quite special: the i-th element of the list denotes
@@ -64,7 +64,7 @@ public class ReachAlgorithm<E, M, R> {
         this.distanceDomain = distStr.getDistanceDomain();
         this.signalDomain = signalDomain;
         this.reachabilityFunction = new ArrayList<>();
-        this.reachabilityQueue = new LinkedList<>();
+        this.reachabilityQueue = new ArrayDeque<>();
     }
 
     /**
@@ -73,7 +73,8 @@ public class ReachAlgorithm<E, M, R> {
     public IntFunction<R> compute() {
         initReachableValues();
         reachCore();
-        return i -> selectMaxReachabilityValues().get(i);
+        List<R> values = selectMaxReachabilityValues();
+        return values::get;
     }
 
     private void initReachableValues() {
@@ -95,7 +96,7 @@ public class ReachAlgorithm<E, M, R> {
 
     private void reachCore() {
         while (!reachabilityQueue.isEmpty()) {
-            Triple<Integer, M, R> t1 = reachabilityQueue.remove(0);
+            Triple<Integer, M, R> t1 = reachabilityQueue.poll();
             int l1 = t1.getFirst();
             M d1 = t1.getSecond();
             R v1 = t1.getThird();
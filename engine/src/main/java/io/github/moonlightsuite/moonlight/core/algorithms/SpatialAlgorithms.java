@@ -2,8 +2,12 @@ package io.github.moonlightsuite.moonlight.core.algorithms;
 
 import io.github.moonlightsuite.moonlight.core.base.Box;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.core.space.DijkstraDistanceStructure;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
+import io.github.moonlightsuite.moonlight.core.space.LazyDistanceStructure;
 import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructure;
+import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructureLazy;
 
 import java.util.function.BinaryOperator;
 import java.util.function.IntFunction;
@@ -13,33 +17,130 @@ import java.util.stream.IntStream;
 public class SpatialAlgorithms<E, M, R> {
     private final DistanceStructure<E, M> ds;
     private final boolean parallel;
+    private final boolean eager;
     private final SignalDomain<R> domain;
+    private final DistanceStructureCache<E> cache;
 
+    /**
+     * @param distanceStructure distance structure of the current space
+     * @param signalDomain      domain of the spatial signals
+     * @param isParallel        whether locations are evaluated in parallel
+     * @param isEager           when true, unary operators are evaluated on
+     *                          all the locations at once, and the returned
+     *                          functions just read the stored results;
+     *                          otherwise every lookup evaluates the operator
+     *                          on the requested location only.
+     */
     public SpatialAlgorithms(DistanceStructure<E, M> distanceStructure,
                              SignalDomain<R> signalDomain,
-                             boolean isParallel) {
+                             boolean isParallel,
+                             boolean isEager) {
+        this(distanceStructure, signalDomain, isParallel, isEager, null);
+    }
+
+    /**
+     * @param cache the cache that built the distance structure, where the
+     *              specialized algorithms keep the data they derive from
+     *              it, or <code>null</code>
+     */
+    public SpatialAlgorithms(DistanceStructure<E, M> distanceStructure,
+                             SignalDomain<R> signalDomain,
+                             boolean isParallel,
+                             boolean isEager,
+                             DistanceStructureCache<E> cache) {
         ds = distanceStructure;
         domain = signalDomain;
         parallel = isParallel;
+        eager = isEager;
+        this.cache = cache;
+    }
+
+    public SpatialAlgorithms(DistanceStructure<E, M> distanceStructure,
+                             SignalDomain<R> signalDomain,
+                             boolean isParallel) {
+        this(distanceStructure, signalDomain, isParallel, true);
     }
 
     public SpatialAlgorithms(DistanceStructure<E, M> distanceStructure,
                              SignalDomain<R> signalDomain) {
-        ds = distanceStructure;
-        domain = signalDomain;
-        parallel = false;
+        this(distanceStructure, signalDomain, false);
     }
 
     public static <E, M, R> IntFunction<R> reach(SignalDomain<R> signalDomain,
                                                  IntFunction<R> leftSpatialSignal,
                                                  IntFunction<R> rightSpatialSignal,
                                                  DistanceStructure<E, M> distStr) {
+        return reach(signalDomain, leftSpatialSignal, rightSpatialSignal,
+                     distStr, null);
+    }
+
+    /**
+     * @param cache the cache that built the distance structure, or
+     *              <code>null</code>
+     */
+    public static <E, M, R> IntFunction<R> reach(SignalDomain<R> signalDomain,
+                                                 IntFunction<R> leftSpatialSignal,
+                                                 IntFunction<R> rightSpatialSignal,
+                                                 DistanceStructure<E, M> distStr,
+                                                 DistanceStructureCache<E> cache) {
+        if (BooleanSpatialAlgorithms.isApplicable(signalDomain)) {
+            var bitset = new BooleanSpatialAlgorithms<>(distStr, false, cache);
+            if (bitset.isReachApplicable()) {
+                return cast(bitset.reach(cast(leftSpatialSignal),
+                                         cast(rightSpatialSignal)));
+            }
+        }
+        if (NumericReachAlgorithm.isApplicable(distStr, signalDomain)) {
+            @SuppressWarnings("unchecked")
+            var numeric = (DistanceStructure<E, Double>) distStr;
+            return new NumericReachAlgorithm<>(numeric, signalDomain,
+                    leftSpatialSignal, rightSpatialSignal)
+                    .compute();
+        }
         return new ReachAlgorithm<>(distStr, signalDomain,
                 leftSpatialSignal, rightSpatialSignal)
                 .compute();
     }
 
+    public static <E, M, R> IntFunction<R> escape(SignalDomain<R> signalDomain,
+                                                  IntFunction<R> spatialSignal,
+                                                  DistanceStructure<E, M> distStr,
+                                                  boolean isParallel) {
+        return escape(signalDomain, spatialSignal, distStr, isParallel, null);
+    }
+
+    /**
+     * @param cache the cache that built the distance structure, or
+     *              <code>null</code>
+     */
+    public static <E, M, R> IntFunction<R> escape(SignalDomain<R> signalDomain,
+                                                  IntFunction<R> spatialSignal,
+                                                  DistanceStructure<E, M> distStr,
+                                                  boolean isParallel,
+                                                  DistanceStructureCache<E> cache) {
+        if (BooleanSpatialAlgorithms.isApplicable(signalDomain)) {
+            return cast(new BooleanSpatialAlgorithms<>(distStr, isParallel,
+                                                       cache)
+                    .escape(cast(spatialSignal)));
+        }
+        if (MatrixEscapeAlgorithm.isApplicable(signalDomain)) {
+            return new MatrixEscapeAlgorithm<>(distStr, signalDomain,
+                    spatialSignal, isParallel)
+                    .compute();
+        }
+        return new EscapeAlgorithm<>(distStr, signalDomain, spatialSignal)
+                .compute();
+    }
+
     public IntFunction<R> somewhere(IntFunction<R> s) {
+        if (ManhattanGridAlgorithm.isApplicable(ds)) {
+            return new ManhattanGridAlgorithm<R>(ds, parallel)
+                    .compute(domain::disjunction, domain.min(), s);
+        }
+        if (eager && BooleanSpatialAlgorithms.isApplicable(domain)) {
+            return cast(new BooleanSpatialAlgorithms<>(ds, parallel, cache)
+                    .somewhere(cast(s)));
+        }
         return unaryOperation(allLocations(), this::neighbourhood,
                 domain::disjunction, domain.min(), domain.max(), s);
     }
@@ -52,9 +153,24 @@ public class SpatialAlgorithms<E, M, R> {
                                          IntFunction<R> spatialSignal) {
         IntFunction<R> algorithm = filterReduce(filter, domainOp,
                 identity, bound, spatialSignal);
-        return i -> locationStream(range.getStart(), range.getEnd())
-                .mapToObj(algorithm)
-                .toList().get(i);
+        int start = range.getStart();
+        if (!eager) {
+            return i -> algorithm.apply(start + i);
+        }
+        return evaluate(start, range.getEnd(), algorithm);
+    }
+
+    /**
+     * Applies the algorithm once to every location in [start, end),
+     * and returns an array-backed view of the results.
+     */
+    @SuppressWarnings("unchecked")
+    private IntFunction<R> evaluate(int start, int end,
+                                    IntFunction<R> algorithm) {
+        Object[] values = new Object[end - start];
+        locationStream(start, end)
+                .forEach(i -> values[i - start] = algorithm.apply(i));
+        return i -> (R) values[i];
     }
 
     private IntFunction<R> filterReduce(IntFunction<IntPredicate> neighbourhood,
@@ -64,7 +180,7 @@ public class SpatialAlgorithms<E, M, R> {
                                         IntFunction<R> s) {
         IntFunction<int[]> inRangeLocs;
 
-        if (ds instanceof IntManhattanDistanceStructure) {
+        if (hasNeighbourhoods(ds)) {
             inRangeLocs = ds::getNeighbourhood;
         } else {
             inRangeLocs = genericNeighbourhood(neighbourhood);
@@ -73,6 +189,26 @@ public class SpatialAlgorithms<E, M, R> {
         return i -> reduceToBound(inRangeLocs.apply(i), s, id, bound, op);
     }
 
+    private static boolean hasNeighbourhoods(DistanceStructure<?, ?> ds) {
+        return ds instanceof IntManhattanDistanceStructure
+                || ds instanceof IntManhattanDistanceStructureLazy
+                || ds instanceof DijkstraDistanceStructure
+                || ds instanceof LazyDistanceStructure;
+    }
+
+    /**
+     * @return the locations within bounds from <code>location</code>
+     */
+    static int[] neighbourhood(DistanceStructure<?, ?> ds, int location) {
+        if (hasNeighbourhoods(ds)) {
+            return ds.getNeighbourhood(location);
+        }
+        int[] range = ds.getBoundingBox(location);
+        return IntStream.range(range[0], range[1])
+                .filter(j -> ds.areWithinBounds(location, j))
+                .toArray();
+    }
+
     private R reduceToBound(int[] locations, IntFunction<R> signal,
                             R start, R toBound, BinaryOperator<R> op) {
         R result = start;
@@ -110,7 +246,24 @@ public class SpatialAlgorithms<E, M, R> {
     }
 
     public IntFunction<R> everywhere(IntFunction<R> s) {
+        if (ManhattanGridAlgorithm.isApplicable(ds)) {
+            return new ManhattanGridAlgorithm<R>(ds, parallel)
+                    .compute(domain::conjunction, domain.max(), s);
+        }
+        if (eager && BooleanSpatialAlgorithms.isApplicable(domain)) {
+            return cast(new BooleanSpatialAlgorithms<>(ds, parallel, cache)
+                    .everywhere(cast(s)));
+        }
         return unaryOperation(allLocations(), this::neighbourhood,
                 domain::conjunction, domain.max(), domain.min(), s);
     }
+
+    /**
+     * Views a spatial signal as a signal of a different type, for the
+     * specialized algorithms of domains where the two coincide.
+     */
+    @SuppressWarnings("unchecked")
+    private static <A, B> IntFunction<B> cast(IntFunction<A> signal) {
+        return (IntFunction<B>) signal;
+    }
 }
@@ -0,0 +1,95 @@
+package io.github.moonlightsuite.moonlight.core.formula;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * View of a formula as a DAG, where structurally equal subformulas are
+ * merged into a single node.
+ * <p>
+ * Each node records the number of its parents in the DAG, i.e. the number
+ * of times it occurs as the argument of a distinct subformula, so that
+ * monitors can evaluate a shared subformula once and hand its result to
+ * all of them, and the size of the subformula, so that they can estimate
+ * the work needed to evaluate it.
+ *
+ * @see UnaryFormula
+ * @see BinaryFormula
+ */
+public class FormulaDag {
+    private final Map<Formula, Integer> parents = new HashMap<>();
+    private final Map<Formula, Integer> sizes = new HashMap<>();
+
+    public FormulaDag(Formula root) {
+        parents.put(root, 0);
+        visit(root);
+    }
+
+    private void visit(Formula f) {
+        long size = 1;
+        for (Formula argument : arguments(f)) {
+            Integer count = parents.get(argument);
+            parents.put(argument, count == null ? 1 : count + 1);
+            if (count == null) {
+                visit(argument);
+            }
+            size += sizes.get(argument);
+        }
+        sizes.put(f, (int) Math.min(size, Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param f a subformula of the root
+     * @return the number of occurrences of <code>f</code> as an argument of
+     * the distinct subformulas of the root.
+     */
+    public int getParents(Formula f) {
+        return parents.getOrDefault(f, 0);
+    }
+
+    /**
+     * @param f a subformula of the root
+     * @return <code>true</code> when the result of <code>f</code> is needed
+     * more than once.
+     */
+    public boolean isShared(Formula f) {
+        return getParents(f) > 1;
+    }
+
+    /**
+     * @return <code>true</code> when no subformula is shared, i.e. the DAG
+     * is the syntax tree of the root.
+     */
+    public boolean isTree() {
+        return parents.values().stream().allMatch(count -> count <= 1);
+    }
+
+    /**
+     * @param f a subformula of the root
+     * @return the number of nodes of the syntax tree of <code>f</code>, where
+     * each occurrence of a shared subformula is counted, or 0 when
+     * <code>f</code> is not a subformula.
+     */
+    public int getSize(Formula f) {
+        return sizes.getOrDefault(f, 0);
+    }
+
+    /**
+     * @return the number of distinct subformulas of the root.
+     */
+    public int size() {
+        return parents.size();
+    }
+
+    private static List<Formula> arguments(Formula f) {
+        if (f instanceof UnaryFormula unary) {
+            return List.of(unary.getArgument());
+        }
+        if (f instanceof BinaryFormula binary) {
+            return List.of(binary.getFirstArgument(),
+                           binary.getSecondArgument());
+        }
+        return List.of();
+    }
+}
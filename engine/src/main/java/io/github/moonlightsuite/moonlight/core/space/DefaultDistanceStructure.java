@@ -16,6 +16,7 @@
 package io.github.moonlightsuite.moonlight.core.space;
 
 import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -105,19 +106,33 @@ public class DefaultDistanceStructure<E, M> implements DistanceStructure<E, M> {
                                   Deque<Pair<Integer, Pair<Integer, M>>> queue,
                                   int l1, int l2, M d1)
     {
-        for (Pair<Integer, E> edge: model.previous(l1)) {
-            M newD = increaseDistance(d1, edge);
-            Map<Integer, M> distances = distanceMap.get(edge.getFirst());
-            M oldD = distances.getOrDefault(l2, distanceDomain.infinity());
-            if (distanceDomain.less(newD, oldD)) {
-                distances.put(l2, newD);
-                queue.add(new Pair<>(edge.getFirst(), new Pair<>(l2, newD)));
+        if (model instanceof CompressedGraphModel<E> graph) {
+            for (int e = graph.previousStart(l1); e < graph.previousEnd(l1); e++) {
+                relax(distanceMap, queue, graph.previousLocation(e), l2,
+                      increaseDistance(d1, graph.previousValue(e)));
             }
+            return;
+        }
+        for (Pair<Integer, E> edge: model.previous(l1)) {
+            relax(distanceMap, queue, edge.getFirst(), l2,
+                  increaseDistance(d1, edge.getSecond()));
+        }
+    }
+
+    private void relax(Map<Integer, Map<Integer, M>> distanceMap,
+                       Deque<Pair<Integer, Pair<Integer, M>>> queue,
+                       int from, int l2, M newD)
+    {
+        Map<Integer, M> distances = distanceMap.get(from);
+        M oldD = distances.getOrDefault(l2, distanceDomain.infinity());
+        if (distanceDomain.less(newD, oldD)) {
+            distances.put(l2, newD);
+            queue.add(new Pair<>(from, new Pair<>(l2, newD)));
         }
     }
 
-    private M increaseDistance(M d, Pair<Integer, E> edge) {
-        return distanceDomain.sum(distanceFunction.apply(edge.getSecond()), d);
+    private M increaseDistance(M d, E edge) {
+        return distanceDomain.sum(distanceFunction.apply(edge), d);
     }
 
     private LinkedList<Pair<Integer, Pair<Integer, M>>> distanceQueueInit() {
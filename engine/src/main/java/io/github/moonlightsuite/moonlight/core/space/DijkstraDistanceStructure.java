@@ -0,0 +1,218 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Distance structure for real-valued distances, computed by running
+ * a Dijkstra search from every location.
+ * <p>
+ * Each search stops as soon as the closest unexplored location is farther
+ * than the upper bound, so only the locations within the upper bound are
+ * stored: for each source, their indices are kept in a sorted
+ * <code>int[]</code>, together with the corresponding distances.
+ * As a consequence, locations farther than the upper bound are
+ * reported at {@link DoubleDomain#infinity()} distance.
+ * <p>
+ * Edge distances must not be negative.
+ *
+ * @param <E> Type of edge labels of the spatial model.
+ */
+public class DijkstraDistanceStructure<E>
+        implements DistanceStructure<E, Double> {
+    private static final DoubleDomain DOMAIN = new DoubleDomain();
+
+    private final Function<E, Double> distanceFunction;
+    private final double lowerBound;
+    private final double upperBound;
+    private final SpatialModel<E> model;
+    private final int[][] locations;
+    private final double[][] distances;
+    private final int[][] neighbourhoods;
+
+    /**
+     * @param distanceFunction distance associated to each edge
+     * @param lowerBound       lower bound of the distance
+     * @param upperBound       upper bound of the distance, inclusive
+     * @param model            the spatial model
+     */
+    public DijkstraDistanceStructure(@NotNull Function<E, Double> distanceFunction,
+                                     double lowerBound,
+                                     double upperBound,
+                                     @NotNull SpatialModel<E> model) {
+        this(false, distanceFunction, lowerBound, upperBound, model);
+    }
+
+    /**
+     * @param parallel         if true, sources are processed in parallel
+     * @param distanceFunction distance associated to each edge
+     * @param lowerBound       lower bound of the distance
+     * @param upperBound       upper bound of the distance, inclusive
+     * @param model            the spatial model
+     */
+    public DijkstraDistanceStructure(boolean parallel,
+                                     @NotNull Function<E, Double> distanceFunction,
+                                     double lowerBound,
+                                     double upperBound,
+                                     @NotNull SpatialModel<E> model) {
+        this.distanceFunction = distanceFunction;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.model = model;
+        int size = model.size();
+        this.locations = new int[size][];
+        this.distances = new double[size][];
+        this.neighbourhoods = new int[size][];
+        ThreadLocal<Search> searches =
+                ThreadLocal.withInitial(() -> new Search(size));
+        IntStream sources = IntStream.range(0, size);
+        if (parallel) {
+            sources = sources.parallel();
+        }
+        sources.forEach(source -> searches.get().run(source));
+    }
+
+    @Override
+    public Double getDistance(int from, int to) {
+        int index = Arrays.binarySearch(locations[from], to);
+        return index < 0 ? DOMAIN.infinity() : distances[from][index];
+    }
+
+    @Override
+    public boolean areWithinBounds(int from, int to) {
+        int index = Arrays.binarySearch(locations[from], to);
+        return index >= 0 && distances[from][index] >= lowerBound;
+    }
+
+    @Override
+    public boolean isWithinBounds(Double d) {
+        return lowerBound <= d && d <= upperBound;
+    }
+
+    @Override
+    public Function<E, Double> getDistanceFunction() {
+        return distanceFunction;
+    }
+
+    @Override
+    public DistanceDomain<Double> getDistanceDomain() {
+        return DOMAIN;
+    }
+
+    @Override
+    public SpatialModel<E> getModel() {
+        return model;
+    }
+
+    /**
+     * @return the locations within bounds from <code>i</code>,
+     * in increasing order.
+     */
+    @Override
+    public int[] getNeighbourhood(int i) {
+        return neighbourhoods[i];
+    }
+
+    /**
+     * Scratch state of a search. Entries of <code>distance</code> are
+     * restored after each run, so that the same state can be reused without
+     * clearing arrays as large as the model.
+     */
+    private class Search extends LocationHeap {
+        private final double[] distance;
+        private final int[] visited;
+        private int visitedSize;
+
+        Search(int size) {
+            super(size);
+            distance = new double[size];
+            visited = new int[size];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        }
+
+        @Override
+        protected boolean less(int a, int b) {
+            return distance[a] < distance[b];
+        }
+
+        void run(int source) {
+            visitedSize = 0;
+            distance[source] = 0.0;
+            update(source);
+            while (!isEmpty() && distance[peek()] <= upperBound) {
+                int location = poll();
+                visited[visitedSize++] = location;
+                expand(location);
+            }
+            store(source);
+            reset();
+        }
+
+        private void expand(int location) {
+            double d = distance[location];
+            if (model instanceof CompressedGraphModel<E> graph) {
+                for (int e = graph.nextStart(location);
+                     e < graph.nextEnd(location); e++) {
+                    relax(graph.nextLocation(e), d, graph.nextValue(e));
+                }
+            } else {
+                for (Pair<Integer, E> edge : model.next(location)) {
+                    relax(edge.getFirst(), d, edge.getSecond());
+                }
+            }
+        }
+
+        private void relax(int target, double d, E label) {
+            double weight = distanceFunction.apply(label);
+            if (weight < 0) {
+                throw new IllegalArgumentException(
+                        "Negative edge distance: " + weight);
+            }
+            if (!isPolled(target) && d + weight < distance[target]) {
+                distance[target] = d + weight;
+                update(target);
+            }
+        }
+
+        private void store(int source) {
+            int[] reached = Arrays.copyOf(visited, visitedSize);
+            Arrays.sort(reached);
+            double[] values = new double[reached.length];
+            int inBounds = 0;
+            for (int i = 0; i < reached.length; i++) {
+                values[i] = distance[reached[i]];
+                if (values[i] >= lowerBound) {
+                    inBounds++;
+                }
+            }
+            locations[source] = reached;
+            distances[source] = values;
+            neighbourhoods[source] = inBounds == reached.length ? reached
+                    : filter(reached, values, inBounds);
+        }
+
+        private int[] filter(int[] reached, double[] values, int inBounds) {
+            int[] result = new int[inBounds];
+            int j = 0;
+            for (int i = 0; i < reached.length; i++) {
+                if (values[i] >= lowerBound) {
+                    result[j++] = reached[i];
+                }
+            }
+            return result;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touched(); i++) {
+                distance[touched(i)] = Double.POSITIVE_INFINITY;
+            }
+            clear();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Cache of the distance structures built by some distance functions over
+ * some spatial models, with least-recently-used eviction.
+ * <p>
+ * Distance structures are looked up first by the identity of the spatial
+ * model, and then by its content, so that models that are rebuilt equal to
+ * a previous one (e.g. at different time points of a location service)
+ * share the same distance structure. The recency of a structure is the
+ * one of its last lookup, in either way: the models seen by identity are
+ * only an index of the structures in the cache.
+ * <p>
+ * A single cache is meant to be shared by all the spatial operators of a
+ * monitoring run, via {@link #memoize(Function)}. Data that the spatial
+ * algorithms derive from a distance structure can be kept in the cache too,
+ * via {@link #derive}, and it is dropped together with the structure.
+ *
+ * @param <S> type of the edges of the spatial models
+ */
+public class DistanceStructureCache<S> {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final Map<ContentKey<S>, Entry<S>> entries;
+    private final Map<IdentityKey<S>, Entry<S>> byIdentity;
+    private final Map<DistanceStructure<S, ?>, Entry<S>> byStructure =
+            new IdentityHashMap<>();
+
+    public DistanceStructureCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of distance structures kept in the cache
+     */
+    public DistanceStructureCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of the cache " +
+                                               "must be positive");
+        }
+        this.entries = lruMap(capacity, this::evict);
+        this.byIdentity = lruMap(capacity, eldest ->
+                eldest.getValue().identities.remove(eldest.getKey()));
+    }
+
+    private void evict(Map.Entry<ContentKey<S>, Entry<S>> eldest) {
+        Entry<S> entry = eldest.getValue();
+        byStructure.remove(entry.structure, entry);
+        byIdentity.keySet().removeAll(entry.identities);
+    }
+
+    private static <K, V> Map<K, V> lruMap(
+            int capacity, Consumer<Map.Entry<K, V>> onEviction)
+    {
+        return new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > capacity) {
+                    onEviction.accept(eldest);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param distance a distance function
+     * @param <S> type of the edges of the spatial models
+     * @return the cache that memoizes <code>distance</code>, when it was
+     *         returned by {@link #memoize(Function)}, or <code>null</code>
+     */
+    public static <S> DistanceStructureCache<S> of(
+            Function<SpatialModel<S>, DistanceStructure<S, ?>> distance)
+    {
+        return distance instanceof Memoized<S> m ? m.cache : null;
+    }
+
+    /**
+     * @param distance a distance function
+     * @return a distance function that behaves as <code>distance</code>,
+     *         but only builds distance structures not yet in this cache
+     */
+    public Function<SpatialModel<S>, DistanceStructure<S, ?>> memoize(
+            Function<SpatialModel<S>, DistanceStructure<S, ?>> distance)
+    {
+        if (distance == null || distance instanceof Memoized<S> m && m.cache == this) {
+            return distance;
+        }
+        return new Memoized<>(this, distance);
+    }
+
+    /**
+     * @param distance a distance function
+     * @param model a spatial model
+     * @return the distance structure built by <code>distance</code> on
+     *         <code>model</code>, or on a model with the same content
+     */
+    public synchronized DistanceStructure<S, ?> get(
+            Function<SpatialModel<S>, DistanceStructure<S, ?>> distance,
+            SpatialModel<S> model)
+    {
+        IdentityKey<S> identity = new IdentityKey<>(distance, model);
+        Entry<S> entry = byIdentity.get(identity);
+        if (entry != null) {
+            return touch(entry).structure;
+        }
+        ContentKey<S> content = new ContentKey<>(distance, model);
+        entry = entries.get(content);
+        if (entry == null) {
+            entry = new Entry<>(content, distance.apply(model));
+            entries.put(content, entry);
+            byStructure.put(entry.structure, entry);
+        }
+        entry.identities.add(identity);
+        byIdentity.put(identity, entry);
+        return entry.structure;
+    }
+
+    /**
+     * Marks the entry as the most recently used one.
+     */
+    private Entry<S> touch(Entry<S> entry) {
+        entries.get(entry.content);
+        return entry;
+    }
+
+    /**
+     * Data derived from a distance structure, computed once while the
+     * structure is in this cache. Data of structures that are not in this
+     * cache is computed at each call.
+     *
+     * @param structure a distance structure built by this cache
+     * @param key identifies the kind of data
+     * @param factory computes the data from the structure
+     * @param <D> type of the data
+     * @param <T> type of the distance structure
+     * @return the data derived from <code>structure</code>
+     */
+    @SuppressWarnings("unchecked")
+    public <D, T extends DistanceStructure<S, ?>> D derive(
+            T structure, Object key, Function<T, D> factory)
+    {
+        synchronized (this) {
+            Entry<S> entry = byStructure.get(structure);
+            if (entry != null && touch(entry).derived.containsKey(key)) {
+                return (D) entry.derived.get(key);
+            }
+        }
+        D value = factory.apply(structure);
+        synchronized (this) {
+            Entry<S> entry = byStructure.get(structure);
+            if (entry != null) {
+                entry.derived.putIfAbsent(key, value);
+                return (D) entry.derived.get(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the number of distance structures in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        byIdentity.clear();
+        byStructure.clear();
+    }
+
+    /**
+     * A distance structure in the cache, with the data derived from it and
+     * the models that are known to map to it by identity.
+     */
+    private static final class Entry<S> {
+        private final ContentKey<S> content;
+        private final DistanceStructure<S, ?> structure;
+        private final Map<Object, Object> derived = new HashMap<>();
+        private final Set<IdentityKey<S>> identities = new HashSet<>();
+
+        Entry(ContentKey<S> content, DistanceStructure<S, ?> structure) {
+            this.content = content;
+            this.structure = structure;
+        }
+    }
+
+    private record Memoized<S>(DistanceStructureCache<S> cache,
+                               Function<SpatialModel<S>, DistanceStructure<S, ?>> distance)
+            implements Function<SpatialModel<S>, DistanceStructure<S, ?>>
+    {
+        @Override
+        public DistanceStructure<S, ?> apply(SpatialModel<S> model) {
+            return cache.get(distance, model);
+        }
+    }
+
+    private record IdentityKey<S>(Object distance, SpatialModel<S> model) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey<?> other &&
+                   distance == other.distance && model == other.model;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(distance) +
+                   System.identityHashCode(model);
+        }
+    }
+
+    private static final class ContentKey<S> {
+        private final Object distance;
+        private final SpatialModel<S> model;
+        private final int hash;
+
+        ContentKey(Object distance, SpatialModel<S> model) {
+            this.distance = distance;
+            this.model = model;
+            this.hash = 31 * System.identityHashCode(distance) +
+                        contentHash(model);
+        }
+
+        private static int contentHash(SpatialModel<?> model) {
+            int hash = model.size();
+            for (int l = 0; l < model.size(); l++) {
+                hash = 31 * hash + model.next(l).hashCode();
+            }
+            return hash;
+        }
+
+        private static boolean sameContent(SpatialModel<?> m1,
+                                           SpatialModel<?> m2)
+        {
+            if (m1 == m2) {
+                return true;
+            }
+            if (m1.size() != m2.size()) {
+                return false;
+            }
+            for (int l = 0; l < m1.size(); l++) {
+                if (!m1.next(l).equals(m2.next(l))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ContentKey<?> other && hash == other.hash &&
+                   distance == other.distance &&
+                   sameContent(model, other.model);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
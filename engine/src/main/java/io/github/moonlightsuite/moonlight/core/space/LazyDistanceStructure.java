@@ -0,0 +1,242 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * Distance structure that computes the distances from a location only when
+ * they are first needed, for arbitrary spatial models and distance domains.
+ * <p>
+ * The distances from a source (its <i>row</i>) are computed by a
+ * label-correcting search over the outgoing edges, and only the reachable
+ * locations are stored. Rows are kept in a least-recently-used cache whose
+ * size is bounded by a memory budget, expressed as the total number of
+ * entries (distances and neighbour indices) stored in the rows: when the
+ * budget is exceeded, the least recently used rows are evicted, and
+ * recomputed if they are needed again.
+ * <p>
+ * Contrary to {@link DefaultDistanceStructure}, the constructor does not
+ * compute anything, so that formulas looking at few locations only pay for
+ * those.
+ *
+ * @param <E> Type of edge labels of the spatial model.
+ * @param <M> Type of the distance metric
+ */
+public class LazyDistanceStructure<E, M> implements DistanceStructure<E, M> {
+    /**
+     * Default memory budget, in number of stored entries.
+     */
+    public static final long DEFAULT_BUDGET = 1L << 22;
+
+    private final Function<E, M> distanceFunction;
+    private final DistanceDomain<M> distanceDomain;
+    private final M lowerBound;
+    private final M upperBound;
+    private final SpatialModel<E> model;
+    private final long budget;
+    private final LinkedHashMap<Integer, Row<M>> rows;
+    private final ThreadLocal<Search> searches;
+    private long stored;
+
+    public LazyDistanceStructure(@NotNull Function<E, M> distanceFunction,
+                                 @NotNull DistanceDomain<M> distanceDomain,
+                                 @NotNull M lowerBound,
+                                 @NotNull M upperBound,
+                                 @NotNull SpatialModel<E> model) {
+        this(distanceFunction, distanceDomain, lowerBound, upperBound, model,
+             DEFAULT_BUDGET);
+    }
+
+    /**
+     * @param budget maximum number of entries kept in memory;
+     *               the most recently used row is always kept,
+     *               even when it alone exceeds the budget.
+     */
+    public LazyDistanceStructure(@NotNull Function<E, M> distanceFunction,
+                                 @NotNull DistanceDomain<M> distanceDomain,
+                                 @NotNull M lowerBound,
+                                 @NotNull M upperBound,
+                                 @NotNull SpatialModel<E> model,
+                                 long budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("Budget must be positive");
+        }
+        this.distanceFunction = distanceFunction;
+        this.distanceDomain = distanceDomain;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.model = model;
+        this.budget = budget;
+        this.rows = new LinkedHashMap<>(16, 0.75f, true);
+        this.searches = ThreadLocal.withInitial(() -> new Search(model.size()));
+    }
+
+    @Override
+    public M getDistance(int from, int to) {
+        Row<M> row = row(from);
+        int index = Arrays.binarySearch(row.locations, to);
+        return index < 0 ? distanceDomain.infinity() : row.distances[index];
+    }
+
+    @Override
+    public boolean areWithinBounds(int from, int to) {
+        return isWithinBounds(getDistance(from, to));
+    }
+
+    @Override
+    public boolean isWithinBounds(M d) {
+        return distanceDomain.lessOrEqual(lowerBound, d) &&
+                distanceDomain.lessOrEqual(d, upperBound);
+    }
+
+    /**
+     * @return the locations within bounds from <code>i</code>,
+     * in increasing order.
+     */
+    @Override
+    public int[] getNeighbourhood(int i) {
+        return row(i).neighbourhood;
+    }
+
+    @Override
+    public Function<E, M> getDistanceFunction() {
+        return distanceFunction;
+    }
+
+    @Override
+    public DistanceDomain<M> getDistanceDomain() {
+        return distanceDomain;
+    }
+
+    @Override
+    public SpatialModel<E> getModel() {
+        return model;
+    }
+
+    /**
+     * @return the number of entries currently kept in memory.
+     */
+    public synchronized long getStoredEntries() {
+        return stored;
+    }
+
+    private Row<M> row(int source) {
+        synchronized (this) {
+            Row<M> row = rows.get(source);
+            if (row != null) {
+                return row;
+            }
+        }
+        Row<M> row = searches.get().run(source);
+        synchronized (this) {
+            Row<M> previous = rows.put(source, row);
+            if (previous != null) {
+                stored -= previous.size();
+            }
+            stored += row.size();
+            evict();
+        }
+        return row;
+    }
+
+    private void evict() {
+        Iterator<Row<M>> iterator = rows.values().iterator();
+        while (stored > budget && rows.size() > 1) {
+            stored -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Scratch state of the searches, reused for all the rows computed by
+     * the same thread.
+     */
+    private class Search extends LocationHeap {
+        private final M[] distances;
+
+        @SuppressWarnings("unchecked")
+        Search(int size) {
+            super(size);
+            distances = (M[]) new Object[size];
+        }
+
+        @Override
+        protected boolean less(int a, int b) {
+            return distanceDomain.less(distances[a], distances[b]);
+        }
+
+        Row<M> run(int source) {
+            distances[source] = distanceDomain.zero();
+            update(source);
+            while (!isEmpty()) {
+                int location = poll();
+                M d = distances[location];
+                for (Pair<Integer, E> edge : model.next(location)) {
+                    int target = edge.getFirst();
+                    M candidate = distanceDomain.sum(d,
+                            distanceFunction.apply(edge.getSecond()));
+                    if (distances[target] == null
+                            || distanceDomain.less(candidate, distances[target])) {
+                        distances[target] = candidate;
+                        update(target);
+                    }
+                }
+            }
+            Row<M> row = toRow();
+            for (int i = 0; i < touched(); i++) {
+                distances[touched(i)] = null;
+            }
+            clear();
+            return row;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Row<M> toRow() {
+            int[] locations = new int[touched()];
+            for (int i = 0; i < locations.length; i++) {
+                locations[i] = touched(i);
+            }
+            Arrays.sort(locations);
+            M[] values = (M[]) new Object[locations.length];
+            for (int i = 0; i < locations.length; i++) {
+                values[i] = distances[locations[i]];
+            }
+            boolean unreachedWithinBounds =
+                    isWithinBounds(distanceDomain.infinity());
+            int[] neighbourhood = new int[unreachedWithinBounds
+                    ? distances.length : locations.length];
+            int n = 0;
+            if (unreachedWithinBounds) {
+                for (int l = 0; l < distances.length; l++) {
+                    if (distances[l] == null || isWithinBounds(distances[l])) {
+                        neighbourhood[n++] = l;
+                    }
+                }
+            } else {
+                for (int l : locations) {
+                    if (isWithinBounds(distances[l])) {
+                        neighbourhood[n++] = l;
+                    }
+                }
+            }
+            return new Row<>(locations, values, Arrays.copyOf(neighbourhood, n));
+        }
+    }
+
+    /**
+     * Distances from a source: <code>distances[i]</code> is the distance of
+     * <code>locations[i]</code>, that are sorted. Locations within bounds are
+     * also listed in <code>neighbourhood</code>.
+     */
+    private record Row<M>(int[] locations, M[] distances,
+                          int[] neighbourhood) {
+        long size() {
+            return (long) locations.length + neighbourhood.length;
+        }
+    }
+}
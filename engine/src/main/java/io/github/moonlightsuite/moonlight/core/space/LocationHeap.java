@@ -0,0 +1,145 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of locations, used by shortest-path searches.
+ * The key of each location is kept by the subclass, that compares them in
+ * {@link #less}; when a key decreases, {@link #update} restores the order
+ * in place, so each location is in the heap at most once.
+ * <p>
+ * The heap remembers the locations it has seen since the last
+ * {@link #clear()}, so that a search can reset its own state, and the heap
+ * can be reused, without clearing arrays as large as the model.
+ */
+abstract class LocationHeap {
+    private static final int ABSENT = -1;
+    private static final int POLLED = -2;
+
+    private final int[] heap;
+    private final int[] position;
+    private final int[] touched;
+    private int size;
+    private int touchedSize;
+
+    LocationHeap(int locations) {
+        heap = new int[locations];
+        position = new int[locations];
+        touched = new int[locations];
+        Arrays.fill(position, ABSENT);
+    }
+
+    /**
+     * @return <code>true</code> if the key of <code>a</code> is smaller than
+     * the one of <code>b</code>
+     */
+    protected abstract boolean less(int a, int b);
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the location with the smallest key, without removing it
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Inserts the location in the heap, or restores the order after its key
+     * has decreased. A location that was already polled is inserted again.
+     */
+    void update(int location) {
+        int i = position[location];
+        if (i == ABSENT) {
+            touched[touchedSize++] = location;
+        }
+        if (i < 0) {
+            i = size++;
+        }
+        siftUp(i, location);
+    }
+
+    /**
+     * Removes the location with the smallest key.
+     */
+    int poll() {
+        int first = heap[0];
+        position[first] = POLLED;
+        size--;
+        if (size > 0) {
+            siftDown(0, heap[size]);
+        }
+        return first;
+    }
+
+    /**
+     * @return <code>true</code> if the location has been polled and not
+     * inserted again since then
+     */
+    boolean isPolled(int location) {
+        return position[location] == POLLED;
+    }
+
+    /**
+     * @return the number of locations inserted since the last
+     * {@link #clear()}
+     */
+    int touched() {
+        return touchedSize;
+    }
+
+    /**
+     * @return the <code>i</code>-th location inserted since the last
+     * {@link #clear()}
+     */
+    int touched(int i) {
+        return touched[i];
+    }
+
+    /**
+     * Empties the heap and forgets the locations seen so far.
+     */
+    void clear() {
+        for (int i = 0; i < touchedSize; i++) {
+            position[touched[i]] = ABSENT;
+        }
+        size = 0;
+        touchedSize = 0;
+    }
+
+    private void siftUp(int i, int location) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(location, heap[parent])) {
+                break;
+            }
+            place(i, heap[parent]);
+            i = parent;
+        }
+        place(i, location);
+    }
+
+    private void siftDown(int i, int location) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], location)) {
+                break;
+            }
+            place(i, heap[child]);
+            i = child;
+        }
+        place(i, location);
+    }
+
+    private void place(int i, int location) {
+        heap[i] = location;
+        position[location] = i;
+    }
+}
@@ -14,6 +14,8 @@ public class SpaceIterator<T extends Comparable<T>, S> {
     private Pair<T, SpatialModel<S>> currSpace;
     private Pair<T, SpatialModel<S>> nextSpace;
     private Iterator<Pair<T, SpatialModel<S>>> spaceItr;
+    private SpatialModel<S> lastModel;
+    private DistanceStructure<S, ?> lastStructure;
 
 
     public SpaceIterator(@NotNull LocationService<T, S> locationService,
@@ -23,6 +25,21 @@ public class SpaceIterator<T extends Comparable<T>, S> {
         dist = distance;
     }
 
+    /**
+     * Space iterator whose distance structures are looked up in (and added
+     * to) the given cache, that can be shared among several iterators.
+     *
+     * @param locationService the location service to iterate
+     * @param distance the distance function
+     * @param cache the cache of distance structures
+     */
+    public SpaceIterator(@NotNull LocationService<T, S> locationService,
+                         Function<SpatialModel<S>,
+                                 DistanceStructure<S, ?>> distance,
+                         @NotNull DistanceStructureCache<S> cache) {
+        this(locationService, cache.memoize(distance));
+    }
+
     public void init(T startingTime) {
         spaceItr = getSpaceIterator();
         seekSpace(startingTime);
@@ -84,13 +101,39 @@ public class SpaceIterator<T extends Comparable<T>, S> {
         }
     }
 
+    /**
+     * Same as {@link #forEach(Object, BiConsumer)}, but without building
+     * the distance structures of the spatial models.
+     */
+    public void forEachModel(T tNext,
+                             BiConsumer<T, SpatialModel<S>> procedure) {
+        while (isNextSpaceModelWithinHorizon(tNext)) {
+            shiftSpatialModel();
+            procedure.accept(getCurrentT(), getCurrentModel());
+        }
+    }
+
+    public SpatialModel<S> getCurrentModel() {
+        return currSpace.getSecond();
+    }
+
     public T getCurrentT() {
         return currSpace.getFirst();
     }
 
+    /**
+     * The distance structure of the last spatial model is kept, since the
+     * same model is usually requested at each time step of a signal.
+     *
+     * @return the distance structure of the current spatial model
+     */
     public DistanceStructure<S, ?> generateDistanceStructure() {
         SpatialModel<S> sm = currSpace.getSecond();
-        return dist.apply(sm);
+        if (sm != lastModel || lastStructure == null) {
+            lastStructure = dist.apply(sm);
+            lastModel = sm;
+        }
+        return lastStructure;
     }
 
     public boolean isNextSpaceModelWithinHorizon(T tNext) {
@@ -22,7 +22,7 @@ package io.github.moonlightsuite.moonlight.core.space;
 
 import io.github.moonlightsuite.moonlight.core.base.MoonLightRecord;
 import io.github.moonlightsuite.moonlight.offline.signal.RecordHandler;
-import io.github.moonlightsuite.moonlight.space.GraphModel;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
 import io.github.moonlightsuite.moonlight.core.base.Pair;
 
 import java.util.Arrays;
@@ -85,13 +85,14 @@ public interface SpatialModel<E> {
      * @return a SpatialModel.
      */
     static SpatialModel<MoonLightRecord> buildSpatialModelFromAdjacencyList(int locations, RecordHandler edgeRecordHandler, String[][] data) {
-        GraphModel<MoonLightRecord> toReturn = new GraphModel<>(locations);
+        CompressedGraphModel.Builder<MoonLightRecord> toReturn =
+                CompressedGraphModel.builder(locations);
         for (String[] row : data) {
             int src = Integer.parseInt(row[0]);
             int trg = Integer.parseInt(row[1]);
             toReturn.add(src, edgeRecordHandler.fromStringArray(row, 2, row.length), trg);
         }
-        return toReturn;
+        return toReturn.build();
     }
 
     /**
@@ -107,13 +108,14 @@ public interface SpatialModel<E> {
      * @return a SpatialModel.
      */
     static SpatialModel<MoonLightRecord> buildSpatialModelFromAdjacencyList(int locations, RecordHandler edgeRecordHandler, double[][] data) {
-        GraphModel<MoonLightRecord> toReturn = new GraphModel<>(locations);
+        CompressedGraphModel.Builder<MoonLightRecord> toReturn =
+                CompressedGraphModel.builder(locations);
         for (double[] row : data) {
             int src = (int) row[0];
             int trg = (int) row[1];
             toReturn.add(src, edgeRecordHandler.fromDoubleArray(row, 2, row.length), trg);
         }
-        return toReturn;
+        return toReturn.build();
     }
 
 
@@ -130,7 +132,8 @@ public interface SpatialModel<E> {
      */
     static SpatialModel<MoonLightRecord> buildSpatialModelFromAdjacencyMatrix(int locations, RecordHandler edgeRecordHandler,
                                                                               String[][][] data) {
-        GraphModel<MoonLightRecord> toReturn = new GraphModel<>(locations);
+        CompressedGraphModel.Builder<MoonLightRecord> toReturn =
+                CompressedGraphModel.builder(locations);
         for (int i = 0; i < data.length; i++) {
             for (int j = 0; j < data[i].length; j++) {
                 if (i != j && Boolean.TRUE.equals(isFull(data[i][j]))) {
@@ -138,7 +141,7 @@ public interface SpatialModel<E> {
                 }
             }
         }
-        return toReturn;
+        return toReturn.build();
     }
 
     /**
@@ -154,7 +157,8 @@ public interface SpatialModel<E> {
      */
     static SpatialModel<MoonLightRecord> buildSpatialModelFromAdjacencyMatrix(int locations, RecordHandler edgeRecordHandler,
                                                                               double[][][] objects) {
-        GraphModel<MoonLightRecord> toReturn = new GraphModel<>(locations);
+        CompressedGraphModel.Builder<MoonLightRecord> toReturn =
+                CompressedGraphModel.builder(locations);
         for (int i = 0; i < objects.length; i++) {
             for (int j = 0; j < objects[i].length; j++) {
                 if (i != j && Boolean.TRUE.equals(isFull(objects[i][j]))) {
@@ -162,7 +166,7 @@ public interface SpatialModel<E> {
                 }
             }
         }
-        return toReturn;
+        return toReturn.build();
     }
 
 
@@ -0,0 +1,254 @@
+package io.github.moonlightsuite.moonlight.formula;
+
+import io.github.moonlightsuite.moonlight.core.formula.BinaryFormula;
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.core.formula.TemporalFormula;
+import io.github.moonlightsuite.moonlight.core.formula.UnaryFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.EventuallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.GloballyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.HistoricallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.OnceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.SinceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.UntilFormula;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static analysis of the time ranges over which the subformulas of a
+ * formula must be evaluated, so that the formula is known over a requested
+ * output range.
+ * <p>
+ * Classic and spatial operators need their arguments at the same times,
+ * bounded future (resp. past) operators over the output range extended by
+ * the upper bound of their interval on the right (resp. on the left).
+ * Until and since are computed as the conjunction of the unbounded operator
+ * with a window, see
+ * {@link io.github.moonlightsuite.moonlight.offline.algorithms.TemporalOp},
+ * so, as the unbounded operators, they need the whole future (resp. past)
+ * of their arguments.
+ * Structurally equal subformulas are merged, as in
+ * {@link io.github.moonlightsuite.moonlight.core.formula.FormulaDag}, and
+ * their range covers the ones needed by all their parents.
+ * <p>
+ * The ranges are also intersected with the domain where each subformula is
+ * defined when the whole trace is monitored: e.g. <code>F[l,u] a</code> is
+ * not defined in the last <code>u</code> time units of the trace. So the
+ * restricted signals are the ones of the unrestricted monitoring, sliced to
+ * the ranges of this analysis.
+ */
+public class FormulaHorizon {
+    private final Map<Formula, Interval> outputs = new HashMap<>();
+    private final Map<Formula, Interval> inputs = new HashMap<>();
+    private final Map<Formula, Interval> domains = new HashMap<>();
+    private final Interval trace;
+    private boolean restrictable = true;
+
+    /**
+     * @param root   the formula to analyze
+     * @param output the time range where the signal of the root is needed
+     */
+    public FormulaHorizon(Formula root, Interval output) {
+        this(root, output, Interval.any());
+    }
+
+    /**
+     * @param root   the formula to analyze
+     * @param output the time range where the signal of the root is needed
+     * @param trace  the time range of the monitored trace
+     */
+    public FormulaHorizon(Formula root, Interval output, Interval trace) {
+        this.trace = trace;
+        domain(root);
+        if (restrictable) {
+            visit(root, output);
+        }
+    }
+
+    private void visit(Formula f, Interval needed) {
+        Interval range = intersection(needed, domains.get(f));
+        if (range == null) {
+            return;
+        }
+        Interval old = outputs.get(f);
+        range = old == null ? range : hull(old, range);
+        if (range.equals(old)) {
+            return;
+        }
+        outputs.put(f, range);
+        for (Formula argument : arguments(f)) {
+            visit(argument, argumentRange(f, range));
+        }
+    }
+
+    /**
+     * @return <code>false</code> when the trace is too short for some
+     * temporal operator of the root, or when the arguments of some operator
+     * are defined over disjoint ranges: the unrestricted monitoring of such
+     * a trace has no regular domain, and the analysis restricts no range.
+     */
+    public boolean isRestrictable() {
+        return restrictable;
+    }
+
+    /**
+     * @param f a subformula of the root
+     * @return the time range where the signal of <code>f</code> is needed,
+     * or <code>null</code> when <code>f</code> is not a subformula, or
+     * when it is not needed over any time where it is defined
+     */
+    public Interval getOutput(Formula f) {
+        return outputs.get(f);
+    }
+
+    /**
+     * @param f a subformula of the root
+     * @return the time range where the signal of <code>f</code> is defined
+     * when the whole trace is monitored, or <code>null</code> when
+     * <code>f</code> is not a subformula or the analysis is not
+     * {@link #isRestrictable() restrictable}
+     */
+    public Interval getDomain(Formula f) {
+        return restrictable ? domains.get(f) : null;
+    }
+
+    private Interval domain(Formula f) {
+        Interval domain = domains.get(f);
+        if (domain != null || !restrictable) {
+            return domain;
+        }
+        List<Formula> arguments = arguments(f);
+        if (arguments.isEmpty()) {
+            domain = trace;
+        } else {
+            domain = domain(arguments.get(0));
+            for (Formula argument : arguments.subList(1, arguments.size())) {
+                domain = intersection(domain, domain(argument));
+            }
+        }
+        if (domain != null && f instanceof TemporalFormula temporal) {
+            domain = temporalDomain(temporal, domain,
+                                    domain(arguments.get(arguments.size() - 1)));
+        }
+        if (domain == null) {
+            restrictable = false;
+            return null;
+        }
+        domains.put(f, domain);
+        return domain;
+    }
+
+    /**
+     * @param arguments the intersection of the domains of the arguments
+     * @param last      the domain of the last argument, i.e. of the one
+     *                  sought in the interval of the operator
+     * @return the domain of the operator, or <code>null</code> when the
+     * last argument is shorter than the interval
+     */
+    private static Interval temporalDomain(TemporalFormula f,
+                                           Interval arguments,
+                                           Interval last)
+    {
+        if (f.isUnbounded()) {
+            return arguments;
+        }
+        double bound = f.getInterval().getEnd();
+        if (last.getEnd() - last.getStart() < bound) {
+            return null;
+        }
+        return switch (f) {
+            case EventuallyFormula ev -> future(arguments, last, bound);
+            case GloballyFormula gl -> future(arguments, last, bound);
+            case UntilFormula until -> future(arguments, last, bound);
+            case OnceFormula once -> past(arguments, last, bound);
+            case HistoricallyFormula hs -> past(arguments, last, bound);
+            case SinceFormula since -> past(arguments, last, bound);
+            default -> null;
+        };
+    }
+
+    private static Interval future(Interval arguments, Interval last,
+                                   double bound)
+    {
+        return intersection(arguments, new Interval(last.getStart(),
+                                                    last.getEnd() - bound));
+    }
+
+    private static Interval past(Interval arguments, Interval last,
+                                 double bound)
+    {
+        return intersection(arguments, new Interval(last.getStart() + bound,
+                                                    last.getEnd()));
+    }
+
+    /**
+     * @param f a subformula of the root
+     * @return the time range of the input trace read by the atomic
+     * propositions of <code>f</code>, or <code>null</code> when
+     * <code>f</code> is not a subformula
+     */
+    public Interval getInput(Formula f) {
+        Interval input = inputs.get(f);
+        if (input == null && outputs.containsKey(f)) {
+            List<Formula> arguments = arguments(f);
+            if (arguments.isEmpty()) {
+                input = outputs.get(f);
+            } else {
+                for (Formula argument : arguments) {
+                    Interval range = getInput(argument);
+                    input = input == null ? range : hull(input, range);
+                }
+            }
+            inputs.put(f, input);
+        }
+        return input;
+    }
+
+    private static Interval argumentRange(Formula f, Interval range) {
+        if (!(f instanceof TemporalFormula temporal)) {
+            return range;
+        }
+        double start = range.getStart();
+        double end = range.getEnd();
+        double inf = Double.POSITIVE_INFINITY;
+        double bound = temporal.isUnbounded() ? inf
+                                              : temporal.getInterval().getEnd();
+        return switch (f) {
+            case EventuallyFormula ev -> new Interval(start, end + bound);
+            case GloballyFormula gl -> new Interval(start, end + bound);
+            case OnceFormula once -> new Interval(start - bound, end);
+            case HistoricallyFormula hs -> new Interval(start - bound, end);
+            case UntilFormula until -> new Interval(start, inf);
+            case SinceFormula since -> new Interval(-inf, end);
+            default -> Interval.any();
+        };
+    }
+
+    /**
+     * @return the intersection of the two ranges, or <code>null</code> when
+     * they are disjoint
+     */
+    private static Interval intersection(Interval i1, Interval i2) {
+        double start = Math.max(i1.getStart(), i2.getStart());
+        double end = Math.min(i1.getEnd(), i2.getEnd());
+        return start <= end ? new Interval(start, end) : null;
+    }
+
+    private static Interval hull(Interval i1, Interval i2) {
+        return new Interval(Math.min(i1.getStart(), i2.getStart()),
+                            Math.max(i1.getEnd(), i2.getEnd()));
+    }
+
+    private static List<Formula> arguments(Formula f) {
+        if (f instanceof UnaryFormula unary) {
+            return List.of(unary.getArgument());
+        }
+        if (f instanceof BinaryFormula binary) {
+            return List.of(binary.getFirstArgument(),
+                           binary.getSecondArgument());
+        }
+        return List.of();
+    }
+}
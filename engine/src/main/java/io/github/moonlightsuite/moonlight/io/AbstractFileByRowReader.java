@@ -25,6 +25,7 @@ import io.github.moonlightsuite.moonlight.offline.signal.RecordHandler;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -42,6 +43,35 @@ public class AbstractFileByRowReader {
         return collectDataRows(Stream.of(input.split("\n")));
     }
 
+    /**
+     * Scans the non-empty rows of the given file one after another, without
+     * keeping them in memory.
+     *
+     * @param input the file to read
+     * @param consumer the action performed on each row
+     * @throws IOException if an I/O error occurs while reading the file
+     * @throws IllegalFileFormatException if the consumer rejects a row
+     */
+    protected void forEachRow(File input, RowConsumer consumer)
+            throws IOException, IllegalFileFormatException
+    {
+        try (BufferedReader reader = Files.newBufferedReader(input.toPath())) {
+            int line = 0;
+            for (String s = reader.readLine(); s != null; s = reader.readLine()) {
+                line++;
+                if (!s.isBlank()) {
+                    Row row = new Row(s);
+                    row.setLineNumber(line);
+                    consumer.accept(row);
+                }
+            }
+        }
+    }
+
+    protected interface RowConsumer {
+        void accept(Row row) throws IOException, IllegalFileFormatException;
+    }
+
     protected List<Row> collectDataRows(Stream<String> lines) {
         List<Row> data = lines.map(Row::new).collect(Collectors.toList());
         int line = 1;
@@ -127,14 +157,24 @@ public class AbstractFileByRowReader {
             if (elements != null) {
                 double t = Double.parseDouble(elements[0]);
                 MoonLightRecord[] data = new MoonLightRecord[size];
-                for( int i=0 ; i<size ; i++ ) {
-                    int first = 1+i*handler.size();
-                    data[i] = handler.fromStringArray(elements,first,first+handler.size());
-                }
+                fillRecords(handler, data);
                 s.add(t,data);
             }
         }
 
+        /**
+         * Parses the record of each location of a spatio-temporal row.
+         *
+         * @param handler the handler of the records
+         * @param data the array receiving the record of each location
+         */
+        public void fillRecords(RecordHandler handler, MoonLightRecord[] data) {
+            for( int i=0 ; i<data.length ; i++ ) {
+                int first = 1+i*handler.size();
+                data[i] = handler.fromStringArray(elements,first,first+handler.size());
+            }
+        }
+
         public String get(int i) {
             if (elements != null) {
                 return elements[i].trim();
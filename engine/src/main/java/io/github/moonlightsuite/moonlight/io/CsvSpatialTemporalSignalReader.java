@@ -21,6 +21,8 @@
 package io.github.moonlightsuite.moonlight.io;
 
 import io.github.moonlightsuite.moonlight.core.base.MoonLightRecord;
+import io.github.moonlightsuite.moonlight.offline.signal.ColumnarSpatialTemporalSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.ColumnarSpatialTemporalSignal.Codec;
 import io.github.moonlightsuite.moonlight.offline.signal.RecordHandler;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
@@ -53,11 +55,41 @@ public class CsvSpatialTemporalSignalReader extends AbstractFileByRowReader impl
         return load(handler, getRows(input));
     }
 
+    /**
+     * Scans the file twice, row by row: once to count the samples, and once
+     * to hand them to the sink, so that the signal is never built.
+     */
+    @Override
+    public void read(RecordHandler handler, File input, SampleSink<MoonLightRecord> sink) throws IOException, IllegalFileFormatException {
+        int[] counts = {-1, 0};
+        forEachRow(input, row -> {
+            if (counts[0] < 0) {
+                counts[0] = parseSize(row);
+            } else {
+                counts[1]++;
+            }
+        });
+        int size = Math.max(counts[0], 0);
+        sink.start(size, counts[1]);
+        MoonLightRecord[] values = new MoonLightRecord[size];
+        boolean[] header = {true};
+        forEachRow(input, row -> {
+            if (header[0]) {
+                header[0] = false;
+            } else {
+                checkRow(handler, size, row);
+                row.fillRecords(handler, values);
+                sink.add(Double.parseDouble(row.get(0)), values);
+            }
+        });
+    }
+
     private SpatialTemporalSignal<MoonLightRecord> load(RecordHandler handler, List<Row> data) throws IllegalFileFormatException {
         int size = checkData(handler,data);
         Iterator<Row> dataIterator = data.iterator();
         dataIterator.next();
-        SpatialTemporalSignal<MoonLightRecord> toReturn = new SpatialTemporalSignal<>(size);
+        SpatialTemporalSignal<MoonLightRecord> toReturn =
+                new ColumnarSpatialTemporalSignal<>(size, Codec.records(handler));
         while (dataIterator.hasNext()) {
             Row row = dataIterator.next();
             row.addValueToSpatioTemporalSignal(size,handler,toReturn);
@@ -71,27 +103,30 @@ public class CsvSpatialTemporalSignalReader extends AbstractFileByRowReader impl
         if (dataIterator.hasNext()) {
             size = parseSize(dataIterator.next());
         }
-        int expected = 1+size*handler.size();
         while (dataIterator.hasNext()) {
-            Row row = dataIterator.next();
-            row.split(";");
-            if (row.elements.length != expected) {
-                throw new IllegalFileFormatException(row.index, "Expected "+expected+" columns at row "+row.index+" are "+row.elements.length+"!");
-            }
-            if (!row.isDouble(0)) {
-                throw new IllegalFileFormatException(row.index, "First element of each row must be a double!");
-            }
-            for( int i=0 ; i<size; i++) {
-                int index = 1+handler.size()*i;
-                if (!row.checkRecord(handler,index,index+handler.size())) {
-                    System.err.println("Line: "+row.getLine()+" "+i);
-                    throw new IllegalFileFormatException(row.index,"Input data error! (Line "+row.getLine()+"@"+i);
-                }
-            }
+            checkRow(handler, size, dataIterator.next());
         }
         return size;
     }
 
+    private void checkRow(RecordHandler handler, int size, Row row) throws IllegalFileFormatException {
+        int expected = 1+size*handler.size();
+        row.split(";");
+        if (row.elements.length != expected) {
+            throw new IllegalFileFormatException(row.index, "Expected "+expected+" columns at row "+row.index+" are "+row.elements.length+"!");
+        }
+        if (!row.isDouble(0)) {
+            throw new IllegalFileFormatException(row.index, "First element of each row must be a double!");
+        }
+        for( int i=0 ; i<size; i++) {
+            int index = 1+handler.size()*i;
+            if (!row.checkRecord(handler,index,index+handler.size())) {
+                System.err.println("Line: "+row.getLine()+" "+i);
+                throw new IllegalFileFormatException(row.index,"Input data error! (Line "+row.getLine()+"@"+i);
+            }
+        }
+    }
+
     private int parseSize(Row row) throws IllegalFileFormatException {
         if (row.getRow().startsWith("LOCATIONS")) {
             row.split(" ");
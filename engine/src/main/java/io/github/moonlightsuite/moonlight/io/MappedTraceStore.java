@@ -0,0 +1,323 @@
+package io.github.moonlightsuite.moonlight.io;
+
+import io.github.moonlightsuite.moonlight.core.base.MoonLightRecord;
+import io.github.moonlightsuite.moonlight.io.json.IllegalFileFormat;
+import io.github.moonlightsuite.moonlight.io.json.JSonSpatioTemporalSignalDeserializer;
+import io.github.moonlightsuite.moonlight.offline.signal.ColumnarSpatialTemporalSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.ColumnarSpatialTemporalSignal.Codec;
+import io.github.moonlightsuite.moonlight.offline.signal.RecordHandler;
+import io.github.moonlightsuite.moonlight.offline.signal.SampleColumns;
+import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary, file-backed storage of spatio-temporal signals sampled on a
+ * common time grid.
+ * <p>
+ * A trace is converted once, by one of the <code>write</code> or
+ * <code>convert</code> methods, and then it can be {@link #open}ed as many
+ * times as needed: the file is mapped in memory, hence samples are read
+ * from the page cache on demand and the signal is never materialized
+ * on the heap.
+ * <p>
+ * The file starts with a header of six integers (magic number, version,
+ * locations, width of the values, samples, reserved), followed by the
+ * time axis and by the encoded values, sample after sample, as in
+ * {@link SampleColumns}.
+ */
+public class MappedTraceStore {
+    private static final int MAGIC = 0x4D4C5453;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+    /**
+     * Maximum number of doubles of each mapped region, since a single
+     * mapping cannot be larger than 2GB.
+     */
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private MappedTraceStore() {
+        //utility class
+    }
+
+    /**
+     * Converts a trace read by the given reader (e.g. a
+     * {@link CsvSpatialTemporalSignalReader}) into a binary trace.
+     * The samples are written as the reader scans them, see
+     * {@link SpatialTemporalSignalReader#read}.
+     *
+     * @param reader reader of the input trace
+     * @param handler record handler of the input trace
+     * @param input input file
+     * @param output binary file to write
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalFileFormatException if the input is not well formatted
+     */
+    public static void convert(SpatialTemporalSignalReader reader,
+                               RecordHandler handler,
+                               File input, File output)
+            throws IOException, IllegalFileFormatException
+    {
+        try (TraceWriter<MoonLightRecord> writer =
+                     new TraceWriter<>(Codec.records(handler), output))
+        {
+            reader.read(handler, input, writer);
+        }
+    }
+
+    /**
+     * Converts the signal of a JSON spatio-temporal trace into a binary trace.
+     * The samples are written as they are read from the JSON tree, without
+     * building the signal.
+     *
+     * @param deserializer the JSON deserializer
+     * @param handler record handler of the signal
+     * @param json the JSON trace
+     * @param output binary file to write
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalFileFormat if the input is not well formatted
+     */
+    public static void convert(JSonSpatioTemporalSignalDeserializer deserializer,
+                               RecordHandler handler,
+                               String json, File output)
+            throws IOException, IllegalFileFormat
+    {
+        try (TraceWriter<MoonLightRecord> writer =
+                     new TraceWriter<>(Codec.records(handler), output))
+        {
+            deserializer.read(json, writer);
+        }
+    }
+
+    public static void write(RecordHandler handler,
+                             SpatialTemporalSignal<MoonLightRecord> signal,
+                             File output) throws IOException
+    {
+        write(signal, Codec.records(handler), output);
+    }
+
+    /**
+     * Writes the given signal, sampled at the time points of
+     * {@link SpatialTemporalSignal#getTimeArray()}.
+     *
+     * @param signal the signal to write
+     * @param codec the encoding of the values of the signal
+     * @param output binary file to write
+     * @param <T> type of the values of the signal
+     * @throws IOException if an I/O error occurs
+     */
+    public static <T> void write(SpatialTemporalSignal<T> signal,
+                                 Codec<T> codec,
+                                 File output) throws IOException
+    {
+        try (TraceWriter<T> writer = new TraceWriter<>(codec, output)) {
+            SampleSink.scan(signal, writer);
+        }
+    }
+
+    /**
+     * Writes the samples it receives straight into the file: the values of
+     * each sample go to their row, and the times are buffered and written to
+     * the time axis in blocks, so only one row is kept on the heap.
+     */
+    private static class TraceWriter<T> implements SampleSink<T>, Closeable {
+        private static final int TIME_BLOCK = 1024;
+
+        private final Codec<T> codec;
+        private final FileChannel channel;
+        private final ByteBuffer times =
+                ByteBuffer.allocate(TIME_BLOCK * Double.BYTES);
+        private final DoubleBuffer timeView = times.asDoubleBuffer();
+        private int samples = -1;
+        private int written;
+        private int flushed;
+        private long valuesOffset;
+        private double[] row;
+        private ByteBuffer rowBuffer;
+        private DoubleBuffer rowView;
+
+        TraceWriter(Codec<T> codec, File output) throws IOException {
+            this.codec = codec;
+            this.channel = FileChannel.open(output.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        @Override
+        public void start(int locations, int samples) throws IOException {
+            int width = codec.width();
+            this.samples = samples;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(locations)
+                  .putInt(width).putInt(samples).putInt(0);
+            writeFully(header.flip(), 0);
+            valuesOffset = HEADER_SIZE + (long) samples * Double.BYTES;
+            row = new double[locations * width];
+            rowBuffer = ByteBuffer.allocate(row.length * Double.BYTES);
+            rowView = rowBuffer.asDoubleBuffer();
+        }
+
+        @Override
+        public void add(double time, T[] values) throws IOException {
+            if (written >= samples) {
+                throw new IllegalStateException("More samples than declared");
+            }
+            int width = codec.width();
+            for (int l = 0; l < values.length; l++) {
+                codec.encode(values[l], row, l * width);
+            }
+            rowView.clear();
+            rowView.put(row);
+            rowBuffer.clear();
+            writeFully(rowBuffer,
+                       valuesOffset + (long) written * rowBuffer.capacity());
+            timeView.put(time);
+            written++;
+            if (!timeView.hasRemaining()) {
+                flushTimes();
+            }
+        }
+
+        private void flushTimes() throws IOException {
+            times.clear().limit(timeView.position() * Double.BYTES);
+            writeFully(times, HEADER_SIZE + (long) flushed * Double.BYTES);
+            flushed = written;
+            timeView.clear();
+        }
+
+        private void writeFully(ByteBuffer buffer, long position)
+                throws IOException
+        {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (samples >= 0) {
+                    flushTimes();
+                    if (written != samples) {
+                        throw new IllegalStateException(
+                                "Expected " + samples + " samples, written "
+                                + written);
+                    }
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static ColumnarSpatialTemporalSignal<MoonLightRecord> open(
+            RecordHandler handler, File input) throws IOException
+    {
+        return open(input, Codec.records(handler));
+    }
+
+    /**
+     * Maps a binary trace in memory.
+     *
+     * @param input binary file to read
+     * @param codec the decoding of the values of the signal
+     * @param <T> type of the values of the signal
+     * @return a read-only signal backed by the file
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the file is not a binary trace, or
+     *                                  its values do not match the codec
+     */
+    public static <T> ColumnarSpatialTemporalSignal<T> open(File input,
+                                                            Codec<T> codec)
+            throws IOException
+    {
+        return new ColumnarSpatialTemporalSignal<>(map(input), codec);
+    }
+
+    private static SampleColumns map(File input) throws IOException {
+        try (FileChannel channel = FileChannel.open(input.toPath(),
+                                                    StandardOpenOption.READ))
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading the header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IllegalArgumentException(input + " is not a trace file");
+            }
+            if (header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Unsupported version of " + input);
+            }
+            int locations = header.getInt();
+            int width = header.getInt();
+            int samples = header.getInt();
+            long size = samples + (long) samples * locations * width;
+            if (channel.size() < HEADER_SIZE + size * Double.BYTES) {
+                throw new IllegalArgumentException(input + " is truncated");
+            }
+            // Mappings stay valid after the channel is closed
+            return new MappedColumns(locations, width, samples,
+                                     mapChunks(channel, size));
+        }
+    }
+
+    private static DoubleBuffer[] mapChunks(FileChannel channel, long size)
+            throws IOException
+    {
+        int count = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+        DoubleBuffer[] chunks = new DoubleBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long first = (long) i << CHUNK_SHIFT;
+            long length = Math.min(CHUNK_MASK + 1, size - first);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                    HEADER_SIZE + first * Double.BYTES,
+                                    length * Double.BYTES)
+                               .asDoubleBuffer();
+        }
+        return chunks;
+    }
+
+    private record MappedColumns(int locations, int width, int samples,
+                                 DoubleBuffer[] chunks)
+            implements SampleColumns
+    {
+        @Override
+        public int getNumberOfLocations() {
+            return locations;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getNumberOfSamples() {
+            return samples;
+        }
+
+        @Override
+        public double getTime(int sample) {
+            return get(sample);
+        }
+
+        @Override
+        public double getValue(long index) {
+            return get(samples + index);
+        }
+
+        private double get(long index) {
+            return chunks[(int) (index >>> CHUNK_SHIFT)]
+                    .get((int) (index & CHUNK_MASK));
+        }
+    }
+}
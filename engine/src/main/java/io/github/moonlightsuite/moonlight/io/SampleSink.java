@@ -0,0 +1,68 @@
+package io.github.moonlightsuite.moonlight.io;
+
+import io.github.moonlightsuite.moonlight.offline.signal.SignalCursor;
+import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
+
+import java.io.IOException;
+
+/**
+ * Receiver of the samples of a spatio-temporal trace, one time point after
+ * another, so that a trace can be processed while it is read.
+ *
+ * @param <T> type of the values of the trace
+ * @see MappedTraceStore
+ */
+public interface SampleSink<T> {
+
+    /**
+     * Called once, before the first sample.
+     *
+     * @param locations number of locations of the trace
+     * @param samples   number of time points of the trace
+     * @throws IOException if an I/O error occurs
+     */
+    void start(int locations, int samples) throws IOException;
+
+    /**
+     * @param time   the time of the sample
+     * @param values the value at each location, the array may be reused
+     *               for the following samples
+     * @throws IOException if an I/O error occurs
+     */
+    void add(double time, T[] values) throws IOException;
+
+    /**
+     * Hands the given signal to the sink, sampled at the time points of
+     * {@link SpatialTemporalSignal#getTimeArray()}, with one cursor per
+     * location.
+     *
+     * @param signal the signal to scan
+     * @param sink   the receiver of the samples
+     * @param <T>    type of the values of the signal
+     * @throws IOException if an I/O error occurs
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void scan(SpatialTemporalSignal<T> signal, SampleSink<T> sink)
+            throws IOException
+    {
+        int locations = signal.getNumberOfLocations();
+        double[] times = signal.getTimeArray();
+        sink.start(locations, times.length);
+        SignalCursor<Double, T>[] cursors =
+                (SignalCursor<Double, T>[]) new SignalCursor<?, ?>[locations];
+        for (int l = 0; l < locations; l++) {
+            cursors[l] = signal.getSignalAtLocation(l).getIterator(true);
+        }
+        T[] values = (T[]) new Object[locations];
+        for (double t : times) {
+            for (int l = 0; l < locations; l++) {
+                SignalCursor<Double, T> cursor = cursors[l];
+                while (cursor.hasNext() && cursor.nextTime() <= t) {
+                    cursor.forward();
+                }
+                values[l] = cursor.getCurrentValue();
+            }
+            sink.add(t, values);
+        }
+    }
+}
@@ -56,4 +56,23 @@ public interface SpatialTemporalSignalReader {
 	 */
 	SpatialTemporalSignal<MoonLightRecord> load(RecordHandler handler, String input) throws IllegalFileFormatException;
 
+	/**
+	 * Reads a spatiotemporal signal from a file, handing its samples to the
+	 * given sink one time point after another. Readers that can scan their
+	 * format row by row override it so that the signal is never built;
+	 * by default the signal is loaded and then scanned.
+	 *
+	 * @param handler Record handler used to read data from the file
+	 * @param input input file
+	 * @param sink the receiver of the samples
+	 * @throws IOException if an I/O error occurs while accessing the file
+	 * @throws IllegalFileFormatException if the file is not well formatted
+	 */
+	default void read(RecordHandler handler, File input,
+					  SampleSink<MoonLightRecord> sink)
+			throws IOException, IllegalFileFormatException
+	{
+		SampleSink.scan(load(handler, input), sink);
+	}
+
 }
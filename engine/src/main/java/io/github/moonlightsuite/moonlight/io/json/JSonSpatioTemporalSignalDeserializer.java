@@ -3,6 +3,7 @@
  */
 package io.github.moonlightsuite.moonlight.io.json;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -13,6 +14,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
+import io.github.moonlightsuite.moonlight.io.SampleSink;
 import io.github.moonlightsuite.moonlight.offline.monitoring.SpatialTemporalMonitoringInput;
 import io.github.moonlightsuite.moonlight.space.GraphModel;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
@@ -49,6 +51,31 @@ public class JSonSpatioTemporalSignalDeserializer {
 	}
 
 
+	/**
+	 * Hands the samples of the signal described in the given string to the
+	 * sink, one time point after another, without building the signal.
+	 * The location service is not read.
+	 */
+	public void read(String str, SampleSink<MoonLightRecord> sink) throws IllegalFileFormat, IOException {
+		JsonObject root = getRoot( JsonParser.parseString(str) );
+		checkTypes( root );
+		Map<String,Integer> locationIndex = getLocationIndex( root );
+		JsonObject signals = getSignals( root );
+		double[] time = getTime(signals);
+		JsonObject data = getSignalData(locationIndex,signals);
+		JsonObject[] locationData = new JsonObject[locationIndex.size()];
+		locationIndex.forEach((v,i) -> locationData[i]=data.get(v).getAsJsonObject());
+		sink.start(locationData.length, time.length);
+		MoonLightRecord[] values = new MoonLightRecord[locationData.length];
+		for( int i=0 ; i<time.length ; i++ ) {
+			for( int l=0 ; l<values.length ; l++ ) {
+				values[l] = signalRecordHandler.fromStringArray(getRecordStringMap(i,locationData[l],signalRecordHandler));
+			}
+			sink.add(time[i], values);
+		}
+	}
+
+
 	private Map<String, Integer> getLocationIndex(JsonObject root) throws IllegalFileFormat {
 		if (!root.has(JSONUtils.NODES_TAG)) {
 			throw new IllegalFileFormat("Tag "+JSONUtils.NODES_TAG+" is missing!");
@@ -170,14 +197,18 @@ public class JSonSpatioTemporalSignalDeserializer {
 	}
 
 
-	private SpatialTemporalSignal<MoonLightRecord> loadSignal(Map<String, Integer> locationIndex, JsonObject root) throws IllegalFileFormat {
+	private JsonObject getSignals(JsonObject root) throws IllegalFileFormat {
 		if (!root.has(JSONUtils.SIGNAL_TAG)) {
 			throw new IllegalFileFormat("Tag "+JSONUtils.SIGNAL_TAG+" is missing!");
 		}
 		if (!root.get(JSONUtils.SIGNAL_TAG).isJsonObject()) {
 			throw new IllegalFileFormat("Tag "+JSONUtils.SIGNAL_TAG+" is not an object!");
 		}
-		JsonObject signals = root.get(JSONUtils.SIGNAL_TAG).getAsJsonObject();
+		return root.get(JSONUtils.SIGNAL_TAG).getAsJsonObject();
+	}
+
+	private SpatialTemporalSignal<MoonLightRecord> loadSignal(Map<String, Integer> locationIndex, JsonObject root) throws IllegalFileFormat {
+		JsonObject signals = getSignals(root);
 		double[] time = getTime(signals);
 		JsonObject data = getSignalData(locationIndex,signals);
 		String[] locations = new String[locationIndex.size()];
@@ -14,15 +14,28 @@ public class BooleanOp<T, R> {
     private static final String
             ERROR = "signal data structure failed irreparably";
     private final boolean forward;
+    private final Supplier<Signal<R>> outputFactory;
     private Signal<R> output;
     private double time;
 
     public BooleanOp() {
-        forward = true;
+        this(true);
     }
 
     public BooleanOp(boolean isForward) {
-        forward = isForward;
+        this(isForward, Signal::new);
+    }
+
+    /**
+     * @param isForward direction of the scan of the input signals
+     * @param outputFactory generator of the (empty) output signals,
+     *                      e.g. to select a specialized representation
+     *
+     * @see Signal#factory(io.github.moonlightsuite.moonlight.core.signal.SignalDomain)
+     */
+    public BooleanOp(boolean isForward, Supplier<Signal<R>> outputFactory) {
+        this.forward = isForward;
+        this.outputFactory = outputFactory;
     }
 
     private static <T> T error() {
@@ -48,11 +61,28 @@ public class BooleanOp<T, R> {
                 s1, s2);
     }
 
+    /**
+     * Applies <code>op</code> to any number of signals with a single scan
+     * over their synchronized cursors.
+     *
+     * @param signals the input signals
+     * @param op      computes the output value from the current value of the
+     *                i-th input signal
+     * @return the output signal
+     */
+    @SuppressWarnings("unchecked")
+    public Signal<R> applyNary(List<Signal<T>> signals,
+                               Function<IntFunction<T>, R> op) {
+        return applyOp(cursors ->
+                op.apply(i -> cursors.get(i).getCurrentValue()),
+                (Signal<T>[]) signals.toArray(new Signal<?>[0]));
+    }
+
     @SafeVarargs
     private Signal<R> applyOp(
             Function<List<SignalCursor<Double, T>>, R> op,
             Signal<T>... signals) {
-        output = new Signal<>();
+        output = outputFactory.get();
         setStartingTime(signals);
         List<SignalCursor<Double, T>> cs = prepareCursors(signals);
         apply(cs, () -> op.apply(cs));
@@ -65,7 +95,7 @@ public class BooleanOp<T, R> {
             BiFunction<List<SignalCursor<Double, T>>, R, R> op,
             R init,
             Signal<T>... signals) {
-        output = new Signal<>();
+        output = outputFactory.get();
         setStartingTime(signals);
         List<SignalCursor<Double, T>> cs = prepareCursors(signals);
         applyWithOneStepMemory(cs, prev -> op.apply(cs, prev), init);
@@ -84,7 +114,7 @@ public class BooleanOp<T, R> {
             Function<List<SignalCursor<Double, R>>, R> op,
             Predicate<R> p,
             Signal<R>... signals) {
-        output = new Signal<>();
+        output = outputFactory.get();
         setStartingTime(signals);
         List<SignalCursor<Double, R>> cs = prepareCursors(signals);
 
@@ -0,0 +1,323 @@
+package io.github.moonlightsuite.moonlight.offline.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.offline.signal.ArraySignal;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+
+/**
+ * Single-pass algorithm for bounded Until and Since.
+ * <p>
+ * It computes the same signal as the conjunction of the unbounded operator
+ * with the eventually (resp. once) of the second argument over the
+ * interval, see {@link TemporalOp#computeUntil}, without materializing the
+ * two intermediate signals.
+ * Until sweeps the arguments backward and Since forward: the unbounded
+ * recurrence, the sliding window over the second argument (a monotonic
+ * deque of its segments) and the conjunction are computed together, and
+ * each output point is added as soon as it is known.
+ *
+ * @param <T> the type of the values of the signals
+ * @see UnboundedOperator
+ */
+public class BoundedOperator<T> {
+    private final SignalDomain<T> domain;
+
+    BoundedOperator(SignalDomain<T> domain) {
+        this.domain = domain;
+    }
+
+    /**
+     * @return <code>true</code> when both arguments are array signals, the
+     * domain is the {@link DoubleDomain} or the {@link BooleanDomain}, whose
+     * disjunction selects one of its arguments, and the interval is fully
+     * contained in the horizon of the second argument.
+     */
+    public boolean isApplicable(Signal<T> s1, Interval interval,
+                                Signal<T> s2, boolean isForward)
+    {
+        if (!(domain instanceof DoubleDomain)
+                && !(domain instanceof BooleanDomain))
+        {
+            return false;
+        }
+        if (!(s1 instanceof ArraySignal<T>) || s1.isEmpty()
+                || !(s2 instanceof ArraySignal<T>) || s2.isEmpty())
+        {
+            return false;
+        }
+        double a = interval.getStart();
+        double b = interval.getEnd();
+        if (a < 0 || b < a || s2.getEnd() - s2.getStart() < b) {
+            return false;
+        }
+        return from(s1, b, s2, isForward) < to(s1, b, s2, isForward);
+    }
+
+    /**
+     * @param s1        first argument
+     * @param interval  the interval of the operator
+     * @param s2        second argument
+     * @param isForward <code>true</code> for Since, <code>false</code> for
+     *                  Until
+     * @return the signal of the bounded operator
+     */
+    public Signal<T> computeBounded(Signal<T> s1, Interval interval,
+                                    Signal<T> s2, boolean isForward)
+    {
+        if (!isApplicable(s1, interval, s2, isForward)) {
+            throw new IllegalArgumentException("Unsupported arguments");
+        }
+        Sweep sweep = new Sweep((ArraySignal<T>) s1, interval,
+                                (ArraySignal<T>) s2);
+        Signal<T> output = s1.emptyCopy();
+        if (isForward) {
+            sweep.since(output);
+        } else {
+            sweep.until(output);
+        }
+        return output;
+    }
+
+    private static double from(Signal<?> s1, double b, Signal<?> s2,
+                               boolean isForward)
+    {
+        double start = Math.max(s1.getStart(), s2.getStart());
+        return isForward ? Math.max(start, s2.getStart() + b) : start;
+    }
+
+    private static double to(Signal<?> s1, double b, Signal<?> s2,
+                             boolean isForward)
+    {
+        double end = Math.min(s1.getEnd(), s2.getEnd());
+        return isForward ? end : Math.min(end, s2.getEnd() - b);
+    }
+
+    /**
+     * State of a sweep over the two arguments.
+     * The output changes only at the times of the samples of the arguments
+     * (where the unbounded operator changes) and at the times of the samples
+     * of the second argument shifted by the bounds of the window (where a
+     * segment enters or leaves it), so they are the
+     * candidate points of the output. Candidates where the value does not
+     * change are merged by the output signal.
+     */
+    private class Sweep {
+        private final ArraySignal<T> s1;
+        private final ArraySignal<T> s2;
+        private final double a;
+        private final double b;
+        private final double first;
+        private final double last;
+
+        // Unbounded operator: value at the last event, and event cursors
+        private T unbounded;
+        private double event = Double.NaN;
+        private int e1;
+        private int e2;
+
+        // Window: indices of the segments of s2, from head to tail
+        private final int[] deque;
+        private int head;
+        private int tail;
+        private int entering;
+
+        Sweep(ArraySignal<T> s1, Interval interval, ArraySignal<T> s2) {
+            this.s1 = s1;
+            this.s2 = s2;
+            this.a = interval.getStart();
+            this.b = interval.getEnd();
+            this.first = Math.max(s1.getStart(), s2.getStart());
+            this.last = Math.min(s1.getEnd(), s2.getEnd());
+            this.deque = new int[s2.size()];
+        }
+
+        void until(Signal<T> output) {
+            double from = from(s1, b, s2, false);
+            double t = to(s1, b, s2, false);
+            int c1 = s1.size() - 1;
+            int c2 = s2.size() - 1;
+            int cb = c2;
+            int ca = c2;
+            e1 = c1;
+            e2 = c2;
+            entering = c2;
+            while (t >= from) {
+                output.addBefore(t, domain.conjunction(unboundedBackward(t),
+                                                       eventually(t)));
+                c1 = below(s1, c1, 0, t);
+                c2 = below(s2, c2, 0, t);
+                cb = below(s2, cb, -b, t);
+                ca = below(s2, ca, -a, t);
+                t = max(time(s1, c1, 0), time(s2, c2, 0),
+                        time(s2, cb, -b), time(s2, ca, -a));
+            }
+        }
+
+        void since(Signal<T> output) {
+            double t = from(s1, b, s2, true);
+            double to = to(s1, b, s2, true);
+            int c1 = 0;
+            int c2 = 0;
+            int cb = 0;
+            e1 = 0;
+            e2 = 0;
+            entering = 0;
+            while (t < to) {
+                output.add(t, domain.conjunction(unboundedForward(t),
+                                                 once(t)));
+                c1 = above(s1, c1, 0, t);
+                c2 = above(s2, c2, 0, t);
+                cb = above(s2, cb, b - a, t);
+                t = Math.min(to, Math.min(Math.min(time(s1, c1, 0),
+                                                   time(s2, c2, 0)),
+                                          time(s2, cb, b - a)));
+            }
+            output.add(to, domain.conjunction(unboundedForward(to),
+                                              once(to)));
+        }
+
+        /**
+         * Moves the unbounded operator back to the last event before or at
+         * <code>t</code>, i.e. the last sample of the arguments, or the end
+         * of the shortest one.
+         */
+        private T unboundedBackward(double t) {
+            if (Double.isNaN(event)) {
+                event = last;
+                e1 = below(s1, e1, 0, Math.nextUp(event));
+                e2 = below(s2, e2, 0, Math.nextUp(event));
+                unbounded = step(domain.min());
+            }
+            while (event > t) {
+                e1 = below(s1, e1, 0, event);
+                e2 = below(s2, e2, 0, event);
+                event = Math.max(time(s1, e1, 0), time(s2, e2, 0));
+                unbounded = step(unbounded);
+            }
+            return unbounded;
+        }
+
+        /**
+         * Moves the unbounded operator forward to the last event before or
+         * at <code>t</code>.
+         */
+        private T unboundedForward(double t) {
+            if (Double.isNaN(event)) {
+                event = first;
+                e1 = above(s1, e1, 0, event) - 1;
+                e2 = above(s2, e2, 0, event) - 1;
+                unbounded = step(domain.min());
+            }
+            double next = Math.min(last, Math.min(time(s1, e1 + 1, 0),
+                                                  time(s2, e2 + 1, 0)));
+            while (event < next && next <= t) {
+                event = next;
+                e1 = above(s1, e1, 0, event) - 1;
+                e2 = above(s2, e2, 0, event) - 1;
+                unbounded = step(unbounded);
+                next = Math.min(last, Math.min(time(s1, e1 + 1, 0),
+                                               time(s2, e2 + 1, 0)));
+            }
+            return unbounded;
+        }
+
+        /**
+         * @return the unbounded operator at the current event, where e1 and
+         * e2 are the indices of the segments of the arguments
+         */
+        private T step(T previous) {
+            T left = s1.getValueAtIndex(e1);
+            T right = s2.getValueAtIndex(e2);
+            return domain.disjunction(right,
+                                      domain.conjunction(left, previous));
+        }
+
+        /**
+         * @return the disjunction of the segments of s2 intersecting
+         * <code>[t + a, t + b]</code>, entering as <code>t</code> decreases.
+         */
+        private T eventually(double t) {
+            int n = s2.size();
+            while (entering >= 0 && (entering == n - 1
+                    || s2.getTimeAt(entering + 1) > t + a)) {
+                push(entering--);
+            }
+            while (s2.getTimeAt(deque[head]) > t + b) {
+                head++;
+            }
+            return s2.getValueAtIndex(deque[head]);
+        }
+
+        /**
+         * @return the disjunction of the segments of s2 intersecting
+         * <code>[t - (b - a), t]</code>, entering as <code>t</code> increases,
+         * i.e. the window of {@link SlidingWindow} on the past.
+         */
+        private T once(double t) {
+            int n = s2.size();
+            while (entering < n && s2.getTimeAt(entering) <= t) {
+                push(entering++);
+            }
+            while (deque[head] < n - 1
+                    && s2.getTimeAt(deque[head] + 1) <= t - (b - a)) {
+                head++;
+            }
+            return s2.getValueAtIndex(deque[head]);
+        }
+
+        /**
+         * Adds the given segment to the tail of the window, after removing
+         * the segments it dominates, which leave the window before it.
+         */
+        private void push(int segment) {
+            T value = s2.getValueAtIndex(segment);
+            while (tail > head && domain.disjunction(
+                    s2.getValueAtIndex(deque[tail - 1]), value).equals(value)) {
+                tail--;
+            }
+            deque[tail++] = segment;
+        }
+    }
+
+    /**
+     * @return the greatest index <code>j <= i</code> such that the time of
+     * the j-th sample plus <code>shift</code> is before <code>t</code>, or
+     * -1 when there is none.
+     */
+    private static int below(ArraySignal<?> s, int i, double shift, double t) {
+        while (i >= 0 && s.getTimeAt(i) + shift >= t) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * @return the least index <code>j >= i</code> such that the time of the
+     * j-th sample plus <code>shift</code> is after <code>t</code>, or the
+     * size of the signal when there is none.
+     */
+    private static int above(ArraySignal<?> s, int i, double shift, double t) {
+        while (i < s.size() && s.getTimeAt(i) + shift <= t) {
+            i++;
+        }
+        return i;
+    }
+
+    private static double time(ArraySignal<?> s, int i, double shift) {
+        if (i < 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (i >= s.size()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return s.getTimeAt(i) + shift;
+    }
+
+    private static double max(double t1, double t2, double t3, double t4) {
+        return Math.max(Math.max(t1, t2), Math.max(t3, t4));
+    }
+
+}
@@ -0,0 +1,357 @@
+package io.github.moonlightsuite.moonlight.offline.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.offline.signal.ArraySignal;
+import io.github.moonlightsuite.moonlight.offline.signal.BooleanSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.DoubleSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * {@link SlidingWindow} specialized for {@link DoubleSignal}s on the
+ * {@link DoubleDomain} and for {@link BooleanSignal}s on the
+ * {@link BooleanDomain}, aggregated by the conjunction or the disjunction of
+ * the domain.
+ * <p>
+ * It runs the same algorithm, and produces the same output, but the
+ * monotonic edge set is a ring buffer of <code>double[]</code> starting
+ * times and values, and the aggregator is applied to primitive values.
+ * Boolean values are stored as 0 and 1, so that conjunction and
+ * disjunction become min and max.
+ *
+ * @param <R> type of the values of the signal
+ */
+public class PrimitiveSlidingWindow<R> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Minimum number of segments of the signal processed by each chunk
+     * in parallel mode.
+     */
+    public static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    private final double a;
+    private final double b;
+    private final double size;
+    private final boolean isFuture;
+    private final SignalDomain<R> domain;
+    private final boolean isConjunction;
+    private final BinaryOperator<R> aggregator;
+    private final DoubleBinaryOperator primitive;
+
+    // Monotonic edge set: segments from head to head + count (mod capacity)
+    private double[] starts = new double[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int head;
+    private int count;
+    private double end;
+
+    /**
+     * @param a             beginning of the interval of interest
+     * @param b             ending of the interval of interest
+     * @param domain        the domain of the signal, see {@link #isApplicable}
+     * @param isConjunction <code>true</code> to aggregate by the conjunction
+     *                      of the domain, <code>false</code> by the
+     *                      disjunction
+     * @param isFuture      flag to tell whether the direction of the sliding
+     */
+    public PrimitiveSlidingWindow(double a, double b,
+                                  SignalDomain<R> domain,
+                                  boolean isConjunction,
+                                  boolean isFuture) {
+        this.a = a;
+        this.b = b;
+        this.size = b - a;
+        this.isFuture = isFuture;
+        this.domain = domain;
+        this.isConjunction = isConjunction;
+        this.aggregator = isConjunction ? domain::conjunction
+                                        : domain::disjunction;
+        this.primitive = isConjunction ? Math::min : Math::max;
+    }
+
+    /**
+     * @param signal the signal to slide over
+     * @param domain the domain of the signal
+     * @return <code>true</code> when the signal is a {@link DoubleSignal} on
+     * the {@link DoubleDomain}, whose conjunction and disjunction are
+     * {@link Math#min} and {@link Math#max}, or a {@link BooleanSignal} on
+     * the {@link BooleanDomain}.
+     */
+    public static <R> boolean isApplicable(Signal<R> signal,
+                                           SignalDomain<R> domain) {
+        return (signal instanceof DoubleSignal
+                        && domain instanceof DoubleDomain)
+                || (signal instanceof BooleanSignal
+                        && domain instanceof BooleanDomain);
+    }
+
+    /**
+     * Activates the actual shift of the Signal
+     *
+     * @param s the Signal to be shifted
+     * @return the shifted Signal
+     */
+    public Signal<R> apply(Signal<R> s) {
+        return apply(s, false);
+    }
+
+    /**
+     * Activates the actual shift of the Signal, possibly splitting it in
+     * chunks that are processed in parallel.
+     * Each chunk is a range of starting times of the window, and reads the
+     * signal up to the end of its last window, i.e. consecutive chunks
+     * overlap by the size of the window. The outputs of the chunks are then
+     * concatenated.
+     *
+     * @param s        the Signal to be shifted
+     * @param parallel whether long signals are split in parallel chunks
+     * @return the shifted Signal
+     */
+    public Signal<R> apply(Signal<R> s, boolean parallel) {
+        int chunks = 1;
+        if (parallel) {
+            int byLength = s.size() / MIN_CHUNK_SIZE;
+            int byWorkers = 4 * ForkJoinPool.getCommonPoolParallelism();
+            chunks = Math.max(1, Math.min(byLength, byWorkers));
+        }
+        return apply(s, chunks);
+    }
+
+    /**
+     * @param chunks maximum number of chunks processed in parallel
+     */
+    Signal<R> apply(Signal<R> s, int chunks) {
+        if (!isApplicable(s, domain)) {
+            throw new IllegalArgumentException("Unsupported signal or domain");
+        }
+        ArraySignal<R> signal = (ArraySignal<R>) s;
+        if (signal.isEmpty() || (signal.getEnd() - signal.getStart() < size)) {
+            return signal.emptyCopy();
+        }
+        double first = signal.getStart() + a;
+        if (signal.indexOf(first) < 0) {
+            // the window starts after the end of the signal
+            return new SlidingWindow<>(a, b, aggregator, isFuture,
+                                       signal::emptyCopy).apply(signal);
+        }
+        double[] starts = chunkStarts(signal, first, chunks);
+        if (starts.length == 1) {
+            return slide(signal, first, Double.NaN);
+        }
+        List<Signal<R>> parts = IntStream.range(0, starts.length)
+                .parallel()
+                .mapToObj(i -> chunk(signal, starts, i))
+                .toList();
+        return concat(parts);
+    }
+
+    private Signal<R> chunk(ArraySignal<R> signal, double[] starts, int i) {
+        var window = new PrimitiveSlidingWindow<>(a, b, domain, isConjunction,
+                                                  isFuture);
+        double to = i + 1 < starts.length ? starts[i + 1] : Double.NaN;
+        return window.slide(signal, starts[i], to);
+    }
+
+    /**
+     * @return the starting times of the windows that begin each chunk,
+     * picked among the times of the samples of the signal.
+     */
+    private double[] chunkStarts(ArraySignal<R> signal, double first,
+                                 int chunks) {
+        double last = signal.getEnd() - size;
+        int n = signal.size();
+        double[] starts = new double[chunks];
+        int count = 0;
+        starts[count++] = first;
+        for (int c = 1; c < chunks; c++) {
+            double t = signal.getTimeAt((int) ((long) c * n / chunks));
+            if (t > starts[count - 1] && t < last) {
+                starts[count++] = t;
+            }
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private Signal<R> concat(List<Signal<R>> parts) {
+        Signal<R> output = parts.get(0).emptyCopy();
+        for (Signal<R> part : parts) {
+            ArraySignal<R> chunk = (ArraySignal<R>) part;
+            for (int i = 0; i < chunk.size(); i++) {
+                output.add(chunk.getTimeAt(i), chunk.getValueAtIndex(i));
+            }
+        }
+        ArraySignal<R> last = (ArraySignal<R>) parts.get(parts.size() - 1);
+        if (output.getEnd() < last.getEnd()) {
+            output.add(last.getEnd(), last.getValueAtIndex(last.size() - 1));
+        }
+        return output;
+    }
+
+    /**
+     * Slides the window from the starting time <code>from</code> to the
+     * starting time <code>to</code>, excluded, or to the end of the signal
+     * if <code>to</code> is NaN.
+     */
+    private Signal<R> slide(ArraySignal<R> signal, double from, double to) {
+        Signal<R> output = signal.emptyCopy();
+        count = 0;
+        int k = signal.indexOf(from);
+        int n = signal.size();
+        add(output, from, valueAt(signal, k));
+        if (Double.isNaN(to)) {
+            double last = from;
+            for (int i = k + 1; i < n; i++) {
+                last = signal.getTimeAt(i);
+                add(output, last, valueAt(signal, i));
+            }
+            if (last < signal.getEnd()) {
+                add(output, signal.getEnd(), valueAt(signal, n - 1));
+            }
+            storeEnding(output);
+        } else {
+            // The window is moved up to the end of its position at time `to`
+            double limit = to + size;
+            for (int i = k + 1; i < n && signal.getTimeAt(i) < limit; i++) {
+                add(output, signal.getTimeAt(i), valueAt(signal, i));
+            }
+            add(output, limit, valueAt(signal, signal.indexOf(limit)));
+        }
+        return output;
+    }
+
+    private void add(Signal<R> output, double time, double value) {
+        while (!tryAdd(time, value)) {
+            store(output, timeOf(starts[head]), values[head]);
+            shift(time);
+        }
+    }
+
+    private void storeEnding(Signal<R> output) {
+        if (isFuture) {
+            store(output, timeOf(starts[head]), values[head]);
+        } else {
+            store(output, end, values[head]);
+        }
+    }
+
+    private void store(Signal<R> output, double time, double value) {
+        if (output instanceof DoubleSignal doubles) {
+            doubles.add(time, value);
+        } else {
+            ((BooleanSignal) output).add(time, value != 0);
+        }
+    }
+
+    private double timeOf(double t) {
+        return isFuture ? t - a : t + size;
+    }
+
+    private void shift(double time) {
+        if (count == 1) {
+            // The last value of the signal lasts up to the current time
+            init(time - size, values[head]);
+        } else if (starts[index(1)] + size > time) {
+            starts[head] = time - size;
+        } else {
+            head = index(1);
+            count--;
+        }
+    }
+
+    private boolean tryAdd(double time, double value) {
+        if (count == 0) {
+            init(time, value);
+            return true;
+        }
+        double firstTime = starts[head];
+        if ((firstTime < time - size) && (firstTime + size < time)) {
+            return false;
+        }
+        update(time, value);
+        end = time;
+        return true;
+    }
+
+    private void update(double time, double value) {
+        double insertTime = time;
+        double aggregated = value;
+        while (count > 0) {
+            int last = index(count - 1);
+            double current = values[last];
+            double updated = primitive.applyAsDouble(current, aggregated);
+            if (same(current, updated)) {
+                addAfter(last, insertTime, aggregated);
+                return;
+            }
+            insertTime = starts[last];
+            aggregated = updated;
+            count--;
+            end = insertTime;
+        }
+        init(insertTime, aggregated);
+        end = time;
+    }
+
+    private void addAfter(int last, double time, double value) {
+        if (starts[last] == time) {
+            values[last] = value;
+        } else if (!same(values[last], value)) {
+            if (count == starts.length) {
+                grow();
+            }
+            int next = index(count);
+            starts[next] = time;
+            values[next] = value;
+            count++;
+        }
+    }
+
+    private void init(double time, double value) {
+        head = 0;
+        count = 1;
+        starts[0] = time;
+        values[0] = value;
+        end = time;
+    }
+
+    private int index(int i) {
+        return (head + i) & (starts.length - 1);
+    }
+
+    private void grow() {
+        int capacity = starts.length;
+        double[] newStarts = new double[2 * capacity];
+        double[] newValues = new double[2 * capacity];
+        for (int i = 0; i < count; i++) {
+            int j = index(i);
+            newStarts[i] = starts[j];
+            newValues[i] = values[j];
+        }
+        starts = newStarts;
+        values = newValues;
+        head = 0;
+    }
+
+    /**
+     * Same notion of equality used by the generic window on boxed values.
+     */
+    private static boolean same(double v1, double v2) {
+        return Double.doubleToLongBits(v1) == Double.doubleToLongBits(v2);
+    }
+
+    private static <R> double valueAt(ArraySignal<R> signal, int i) {
+        if (signal instanceof DoubleSignal doubles) {
+            return doubles.getDoubleValueAt(i);
+        }
+        return ((BooleanSignal) signal).getBooleanValueAt(i) ? 1 : 0;
+    }
+}
@@ -21,6 +21,7 @@
 package io.github.moonlightsuite.moonlight.offline.algorithms;
 
 import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 import io.github.moonlightsuite.moonlight.offline.signal.Segment;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
@@ -61,6 +62,11 @@ public class SlidingWindow<R> {
 	 */
 	private final  BinaryOperator<R> aggregator;
 
+	/**
+	 * Generator of the (empty) output signals
+	 */
+	private final Supplier<Signal<R>> outputFactory;
+
 	/**
 	 * Constructs a Sliding Window on the given aggregator and time interval.
 	 * @param a beginning of the interval of interest
@@ -71,11 +77,29 @@ public class SlidingWindow<R> {
 	public SlidingWindow(double a, double b,
 						 BinaryOperator<R> aggregator,
 						 boolean isFuture)
+	{
+		this(a, b, aggregator, isFuture, Signal::new);
+	}
+
+	/**
+	 * Constructs a Sliding Window on the given aggregator and time interval,
+	 * that stores its results in signals generated by the given factory.
+	 * @param a beginning of the interval of interest
+	 * @param b ending of the interval of interest
+	 * @param aggregator the aggregation function the Sliding Window will use
+	 * @param isFuture flag to tell whether the direction of the sliding
+	 * @param outputFactory generator of the (empty) output signals
+	 */
+	public SlidingWindow(double a, double b,
+						 BinaryOperator<R> aggregator,
+						 boolean isFuture,
+						 Supplier<Signal<R>> outputFactory)
 	{
 		this.a = a;
 		this.size = b - a;
 		this.aggregator = aggregator;
 		this.isFuture = isFuture;
+		this.outputFactory = outputFactory;
 	}
 
 	/**
@@ -88,7 +112,7 @@ public class SlidingWindow<R> {
 		// we return an empty signal
 		// NOTE: this assumes offline usage (i.e. the signal is complete)
 		if (s.isEmpty() || (s.getEnd() - s.getStart() < size)) {
-			return new Signal<>();
+			return outputFactory.get();
 		}
 
 		// We prepare the Sliding Window
@@ -118,7 +142,7 @@ public class SlidingWindow<R> {
 	 * @return the final result of the sliding
 	 */
 	protected Signal<R> doSlide(SignalCursor<Double, R> iterator, Window window) {
-		Signal<R> result = new Signal<>();
+		Signal<R> result = outputFactory.get();
 
 		// We loop over all the Segments of the Signal
 		while (!iterator.isCompleted()) {
@@ -225,9 +249,9 @@ public class SlidingWindow<R> {
 		void shift(double time) {
 			double nextTime = first.getSegmentEnd();
 			// If the first segment of the window has only one time instant,
+			// or it is the last one (whose value lasts up to the given time),
 			// we restart the window at the given time with the previous value
-			// TODO: why the previous value? shouldn't we get a new value?
-			if (firstTime() == nextTime) {
+			if (firstTime() == nextTime || first.getNext() == null) {
 				init(time - size, first.getValue());
 			} else if (nextTime + size > time) {
 				// If the current segment goes beyond the current time point,
@@ -28,6 +28,10 @@ import io.github.moonlightsuite.moonlight.offline.signal.ParallelSignalCursor;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.IntFunction;
@@ -36,10 +40,18 @@ import static io.github.moonlightsuite.moonlight.offline.signal.SignalCursor.isN
 
 /**
  * Algorithm for Somewhere and Everywhere Computation
+ * <p>
+ * When parallel over time, the spatial signals and models of all the time
+ * points are collected first, their distance structures are built once per
+ * model, and the operator is applied to the time points on the
+ * {@link java.util.concurrent.ForkJoinPool ForkJoin} pool. Results are then
+ * added in time order, as in the sequential computation.
  */
 public class SpatialOp<S, R> {
     private final SpaceIterator<Double, S> spaceItr;
+    private final Function<SpatialModel<S>, DistanceStructure<S, ?>> dist;
     private final BiFunction<IntFunction<R>, DistanceStructure<S, ?>, IntFunction<R>> op;
+    private final boolean parallelOverTime;
     ParallelSignalCursor<R> cursor;
     private SpatialTemporalSignal<R> result;
 
@@ -48,14 +60,36 @@ public class SpatialOp<S, R> {
             Function<SpatialModel<S>, DistanceStructure<S, ?>> distance,
             BiFunction<IntFunction<R>, DistanceStructure<S, ?>,
                     IntFunction<R>> operator) {
+        this(l, distance, operator, false);
+    }
+
+    /**
+     * @param l                the location service
+     * @param distance         the distance function
+     * @param operator         the spatial operator
+     * @param parallelOverTime whether the time points are evaluated in
+     *                         parallel
+     */
+    public SpatialOp(
+            LocationService<Double, S> l,
+            Function<SpatialModel<S>, DistanceStructure<S, ?>> distance,
+            BiFunction<IntFunction<R>, DistanceStructure<S, ?>,
+                    IntFunction<R>> operator,
+            boolean parallelOverTime) {
         op = operator;
+        dist = distance;
         spaceItr = new SpaceIterator<>(l, distance);
+        this.parallelOverTime = parallelOverTime;
     }
 
     public SpatialTemporalSignal<R> computeUnary(SpatialTemporalSignal<R> s) {
         outputInit(s.getNumberOfLocations());
         if (!spaceItr.isLocationServiceEmpty()) {
-            doCompute(s);
+            if (parallelOverTime) {
+                doComputeParallel(s);
+            } else {
+                doCompute(s);
+            }
         }
         return result;
     }
@@ -71,7 +105,7 @@ public class SpatialOp<S, R> {
 
         while (!Double.isNaN(t) && isNotCompleted(cursor)) {
             DistanceStructure<S, ?> ds = spaceItr.generateDistanceStructure();
-            IntFunction<R> spatialSignal = cursor.getCurrentValue();
+            IntFunction<R> spatialSignal = currentValues(s.getNumberOfLocations());
             double tNext = cursor.forwardTime();
             addResult(t, tNext, op.apply(spatialSignal, ds));
             spaceItr.forEach(tNext, (itT, itDs) ->
@@ -81,6 +115,74 @@ public class SpatialOp<S, R> {
         }
     }
 
+    private void doComputeParallel(SpatialTemporalSignal<R> s) {
+        List<Slice<S, R>> slices = collectSlices(s);
+        Map<SpatialModel<S>, DistanceStructure<S, ?>> structures =
+                distanceStructures(slices);
+        List<IntFunction<R>> values = slices.parallelStream()
+                .map(slice -> op.apply(slice.signal(),
+                                       structures.get(slice.model())))
+                .toList();
+        for (int i = 0; i < slices.size(); i++) {
+            Slice<S, R> slice = slices.get(i);
+            addResult(slice.start(), slice.end(), values.get(i));
+        }
+    }
+
+    private List<Slice<S, R>> collectSlices(SpatialTemporalSignal<R> s) {
+        List<Slice<S, R>> slices = new ArrayList<>();
+        cursor = s.getSignalCursor(true);
+        double t = cursor.getCurrentTime();
+        spaceItr.init(t);
+
+        while (!Double.isNaN(t) && isNotCompleted(cursor)) {
+            SpatialModel<S> model = spaceItr.getCurrentModel();
+            IntFunction<R> spatialSignal = currentValues(s.getNumberOfLocations());
+            double tNext = cursor.forwardTime();
+            slices.add(new Slice<>(t, tNext, model, spatialSignal));
+            spaceItr.forEachModel(tNext, (itT, itModel) ->
+                    slices.add(new Slice<>(itT, tNext, itModel, spatialSignal))
+            );
+            t = moveSpatialModel(tNext);
+        }
+        return slices;
+    }
+
+    /**
+     * @return the distance structures of the models of the slices, built in
+     * parallel, once per model instance.
+     */
+    private Map<SpatialModel<S>, DistanceStructure<S, ?>> distanceStructures(
+            List<Slice<S, R>> slices) {
+        Map<SpatialModel<S>, DistanceStructure<S, ?>> structures =
+                new IdentityHashMap<>();
+        for (Slice<S, R> slice : slices) {
+            structures.put(slice.model(), null);
+        }
+        List<SpatialModel<S>> models = new ArrayList<>(structures.keySet());
+        List<DistanceStructure<S, ?>> built = models.parallelStream()
+                .<DistanceStructure<S, ?>>map(dist)
+                .toList();
+        for (int i = 0; i < models.size(); i++) {
+            structures.put(models.get(i), built.get(i));
+        }
+        return structures;
+    }
+
+    /**
+     * The values of the cursor are read when the returned function is
+     * applied, so they are copied before the cursor moves.
+     */
+    @SuppressWarnings("unchecked")
+    private IntFunction<R> currentValues(int locations) {
+        IntFunction<R> current = cursor.getCurrentValue();
+        Object[] values = new Object[locations];
+        for (int l = 0; l < locations; l++) {
+            values[l] = current.apply(l);
+        }
+        return l -> (R) values[l];
+    }
+
     private Double moveSpatialModel(@NotNull Double t) {
         if (spaceItr.isNextSpaceModelAtSameTime(t)) {
             spaceItr.shiftSpatialModel();
@@ -92,5 +194,8 @@ public class SpatialOp<S, R> {
         result.add(start, value);
     }
 
-
+    private record Slice<S, R>(double start, double end,
+                               SpatialModel<S> model,
+                               IntFunction<R> signal) {
+    }
 }
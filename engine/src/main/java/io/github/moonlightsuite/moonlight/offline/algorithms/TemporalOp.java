@@ -37,16 +37,23 @@ public class TemporalOp {
                                              Signal<T> s1, Interval interval,
                                              Signal<T> s2)
     {
+        if (interval != null) {
+            BoundedOperator<T> bounded = new BoundedOperator<>(domain);
+            if (bounded.isApplicable(s1, interval, s2, true)) {
+                return bounded.computeBounded(s1, interval, s2, true);
+            }
+        }
         UnboundedOperator<T> operator = new UnboundedOperator<>(domain);
 
         Signal<T> unboundedMonitoring = operator.computeUnbounded(s1, s2, true);
         if (interval == null) {
             return unboundedMonitoring;
         }
-        Signal<T> onceMonitoring = computePastSignal(s2, interval,
-                                            domain::disjunction, domain.max());
+        Signal<T> onceMonitoring = computePastSignal(domain, s2, interval,
+                                                     false, false);
 
-        BooleanOp<T, T> booleanOp = new BooleanOp<>();
+        BooleanOp<T, T> booleanOp = new BooleanOp<>(true,
+                                                     s1::emptyCopy);
 
         return booleanOp.applyBinary(unboundedMonitoring, domain::conjunction,
                                                                 onceMonitoring);
@@ -56,16 +63,23 @@ public class TemporalOp {
                                              Signal<T> s1,
                                              Interval interval,
                                              Signal<T> s2) {
+        if (interval != null) {
+            BoundedOperator<T> bounded = new BoundedOperator<>(domain);
+            if (bounded.isApplicable(s1, interval, s2, false)) {
+                return bounded.computeBounded(s1, interval, s2, false);
+            }
+        }
         UnboundedOperator<T> op = new UnboundedOperator<>(domain);
         Signal<T> unboundedMonitoring = op.computeUnbounded(s1, s2, false);
         if (interval == null) {
             return unboundedMonitoring;
         }
 
-        Signal<T> eventuallyMonitoring = computeFutureSignal(s2, interval,
-                domain::disjunction, domain.min());
+        Signal<T> eventuallyMonitoring = computeFutureSignal(domain, s2,
+                interval, false, false);
 
-        BooleanOp<T, T> booleanOp = new BooleanOp<>();
+        BooleanOp<T, T> booleanOp = new BooleanOp<>(true,
+                                                     s1::emptyCopy);
 
         return booleanOp.applyBinary(unboundedMonitoring, domain::conjunction,
                                      eventuallyMonitoring);
@@ -76,30 +90,108 @@ public class TemporalOp {
                                                   BinaryOperator<T> op, T init)
     {
         if (interval == null) {
-            BooleanOp<T, T> booleanOp = new BooleanOp<>();
+            BooleanOp<T, T> booleanOp = new BooleanOp<>(true,
+                                                         signal::emptyCopy);
             return booleanOp.applyUnary(signal, x -> op.apply(x, init));
 //            return signal.iterateForward(op , init);
         } else {
-            SlidingWindow<T> sw = new SlidingWindow<>(interval.getStart(),
-                                                      interval.getEnd(),
-                                                      op, false);
-            return sw.apply(signal);
+            return slide(signal, interval, op, false);
         }
     }
 
+    /**
+     * Past operator aggregating by the conjunction (historically) or by
+     * the disjunction (once) of the domain.
+     *
+     * @param isConjunction <code>true</code> for the conjunction of the
+     *                      domain, <code>false</code> for the disjunction
+     * @param parallel      whether long signals are split in chunks that are
+     *                      slid in parallel, see
+     *                      {@link PrimitiveSlidingWindow#apply(Signal, boolean)}
+     */
+    public static <T> Signal<T> computePastSignal(SignalDomain<T> domain,
+                                                  Signal<T> signal,
+                                                  Interval interval,
+                                                  boolean isConjunction,
+                                                  boolean parallel)
+    {
+        if (interval != null
+                && PrimitiveSlidingWindow.isApplicable(signal, domain)) {
+            return new PrimitiveSlidingWindow<>(interval.getStart(),
+                                                interval.getEnd(), domain,
+                                                isConjunction, false)
+                    .apply(signal, parallel);
+        }
+        return computePastSignal(signal, interval, operator(domain,
+                                                            isConjunction),
+                                 identity(domain, isConjunction));
+    }
+
     public static <T> Signal<T> computeFutureSignal(Signal<T> signal,
                                                     Interval interval,
                                                     BinaryOperator<T> op,
                                                     T init)
     {
         if (interval == null) {
-            BooleanOp<T, T> booleanOp = new BooleanOp<>(false);
+            BooleanOp<T, T> booleanOp = new BooleanOp<>(false,
+                                                         signal::emptyCopy);
             return booleanOp.applyUnaryWithBound(signal, op, init);
         } else {
-            SlidingWindow<T> sw = new SlidingWindow<>(interval.getStart(),
-                                                      interval.getEnd(),
-                                                      op, true);
-            return sw.apply(signal);
+            return slide(signal, interval, op, true);
         }
     }
+
+    /**
+     * Future operator aggregating by the conjunction (globally) or by the
+     * disjunction (eventually) of the domain.
+     *
+     * @param isConjunction <code>true</code> for the conjunction of the
+     *                      domain, <code>false</code> for the disjunction
+     * @param parallel      whether long signals are split in chunks that are
+     *                      slid in parallel, see
+     *                      {@link PrimitiveSlidingWindow#apply(Signal, boolean)}
+     */
+    public static <T> Signal<T> computeFutureSignal(SignalDomain<T> domain,
+                                                    Signal<T> signal,
+                                                    Interval interval,
+                                                    boolean isConjunction,
+                                                    boolean parallel)
+    {
+        if (interval != null
+                && PrimitiveSlidingWindow.isApplicable(signal, domain)) {
+            return new PrimitiveSlidingWindow<>(interval.getStart(),
+                                                interval.getEnd(), domain,
+                                                isConjunction, true)
+                    .apply(signal, parallel);
+        }
+        return computeFutureSignal(signal, interval, operator(domain,
+                                                              isConjunction),
+                                   identity(domain, isConjunction));
+    }
+
+    private static <T> BinaryOperator<T> operator(SignalDomain<T> domain,
+                                                  boolean isConjunction)
+    {
+        return isConjunction ? domain::conjunction : domain::disjunction;
+    }
+
+    /**
+     * @return the neutral element of the aggregation, i.e. the top of the
+     * domain for the conjunction and the bottom for the disjunction
+     */
+    private static <T> T identity(SignalDomain<T> domain,
+                                  boolean isConjunction)
+    {
+        return isConjunction ? domain.max() : domain.min();
+    }
+
+    private static <T> Signal<T> slide(Signal<T> signal, Interval interval,
+                                       BinaryOperator<T> op, boolean isFuture)
+    {
+        SlidingWindow<T> sw = new SlidingWindow<>(interval.getStart(),
+                                                  interval.getEnd(),
+                                                  op, isFuture,
+                                                  signal::emptyCopy);
+        return sw.apply(signal);
+    }
 }
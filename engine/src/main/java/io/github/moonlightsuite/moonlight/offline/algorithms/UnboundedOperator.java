@@ -17,7 +17,8 @@ public class UnboundedOperator<T> {
                                       boolean isForward)
     {
         setCurrent(domain.min());
-        BooleanOp<T, T> booleanOp =  new BooleanOp<>(isForward);
+        BooleanOp<T, T> booleanOp =  new BooleanOp<>(isForward,
+                                                         s1::emptyCopy);
         BinaryOperator<T> op = (left, right) -> {
             T value = untilOp(left, right, getCurrent());
             setCurrent(value);
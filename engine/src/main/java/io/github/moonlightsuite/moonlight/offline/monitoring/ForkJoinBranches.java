@@ -0,0 +1,92 @@
+package io.github.moonlightsuite.moonlight.offline.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Fork-join strategy to evaluate the independent arguments of an operator
+ * of an offline monitor, e.g. the two sides of an until, concurrently.
+ * <p>
+ * The monitorings only fork the arguments whose formula has at least
+ * {@link #getThreshold()} subformulas, so that tiny subtrees are evaluated
+ * by the caller.
+ *
+ * @see TemporalMonitoring
+ * @see SpatialTemporalMonitoring
+ */
+public class ForkJoinBranches {
+    /**
+     * Strategy that evaluates the arguments one after another.
+     */
+    public static final ForkJoinBranches SEQUENTIAL =
+            new ForkJoinBranches(null, Integer.MAX_VALUE);
+
+    /**
+     * Default minimum number of subformulas of a forked argument.
+     */
+    public static final int DEFAULT_THRESHOLD = 8;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Forks arguments in the common pool, with the default threshold.
+     */
+    public ForkJoinBranches() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param pool      the pool running the forked arguments
+     * @param threshold minimum number of subformulas of a forked argument
+     */
+    public ForkJoinBranches(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @param size number of subformulas of an argument
+     * @return <code>true</code> when the argument is worth a task on its own
+     */
+    public boolean isWorthForking(int size) {
+        return pool != null && size >= threshold;
+    }
+
+    /**
+     * Evaluates the given arguments, forking all but the first one.
+     *
+     * @param branches the evaluation of each argument
+     * @return the results, in the order of the arguments
+     */
+    public <A> List<A> evaluate(List<Supplier<A>> branches) {
+        if (pool == null || branches.size() < 2) {
+            return branches.stream().map(Supplier::get).toList();
+        }
+        if (ForkJoinTask.getPool() == pool) {
+            return forkAll(branches);
+        }
+        return pool.invoke(ForkJoinTask.adapt(() -> forkAll(branches)));
+    }
+
+    private static <A> List<A> forkAll(List<Supplier<A>> branches) {
+        List<ForkJoinTask<A>> forked = new ArrayList<>(branches.size() - 1);
+        for (Supplier<A> branch : branches.subList(1, branches.size())) {
+            forked.add(ForkJoinTask.adapt((Callable<A>) branch::get).fork());
+        }
+        List<A> results = new ArrayList<>(branches.size());
+        results.add(branches.get(0).get());
+        for (ForkJoinTask<A> task : forked) {
+            results.add(task.join());
+        }
+        return results;
+    }
+}
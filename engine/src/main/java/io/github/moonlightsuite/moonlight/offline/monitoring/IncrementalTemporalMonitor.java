@@ -0,0 +1,288 @@
+package io.github.moonlightsuite.moonlight.offline.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.formula.AtomicFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.AndFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.NegationFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.OrFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.EventuallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.GloballyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.HistoricallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.OnceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.SinceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.UntilFormula;
+import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+
+import static io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor.*;
+
+/**
+ * Offline monitor of a trace that keeps growing: it remembers the signal of
+ * each subformula, and when the monitored signal has been extended by
+ * {@link Signal#add} since the previous run, it only recomputes the suffix
+ * of each signal that depends on the new samples.
+ * <p>
+ * The signal of a subformula is known up to the time where its arguments
+ * were known, minus the upper bound of the interval for bounded future
+ * operators. From there it is recomputed over the suffix of its arguments,
+ * starting early enough to fill the window of bounded past operators, and
+ * appended to the previous signal.
+ * Unbounded operators, until and since depend on the whole future (resp.
+ * past) of their arguments, so their signals are recomputed at each run.
+ * <p>
+ * The signals returned by {@link #monitor(Signal)} are the ones remembered
+ * by the monitor, hence they are extended by the following runs.
+ *
+ * @param <T> Signal Trace Type
+ * @param <R> Semantic Interpretation Semiring Type
+ *
+ * @see TemporalMonitoring#incremental(Formula)
+ */
+public class IncrementalTemporalMonitor<T, R> implements TemporalMonitor<T, R> {
+	private final SignalDomain<R> module;
+	private final Function<AtomicFormula, Function<T, R>> atoms;
+	private final Map<Formula, Node> nodes = new HashMap<>();
+	private final Node root;
+	private Signal<T> input;
+	private double start;
+	private double end;
+	private int runs;
+
+	/**
+	 * @param f the formula to monitor
+	 * @param atoms the function of each atomic proposition of the formula
+	 * @param module signal interpretation domain
+	 */
+	IncrementalTemporalMonitor(Formula f,
+							   Function<AtomicFormula, Function<T, R>> atoms,
+							   SignalDomain<R> module)
+	{
+		this.atoms = atoms;
+		this.module = module;
+		this.root = node(f);
+	}
+
+	/**
+	 * @param signal the trace to monitor, possibly the one of the previous
+	 *               run extended with new samples
+	 * @return the signal of the formula
+	 */
+	@Override
+	public synchronized Signal<R> monitor(Signal<T> signal) {
+		double stable = Double.NEGATIVE_INFINITY;
+		if (signal == input && !signal.isEmpty() && signal.getStart() == start
+				&& signal.getEnd() >= end)
+		{
+			stable = end;
+		}
+		input = signal;
+		start = signal.isEmpty() ? Double.NaN : signal.getStart();
+		end = signal.isEmpty() ? Double.NaN : signal.getEnd();
+		runs++;
+		return root.evaluate(stable);
+	}
+
+	private Node node(Formula f) {
+		Node node = nodes.get(f);
+		if (node == null) {
+			node = generate(f);
+			nodes.put(f, node);
+		}
+		return node;
+	}
+
+	private Node generate(Formula f) {
+		return switch (f) {
+			case AtomicFormula atomic -> {
+				var atomicFunc = atoms.apply(atomic);
+				yield new Node(List.of(), 0, 0,
+							   ms -> atomicMonitor(atomicFunc, module));
+			}
+			case NegationFormula negation -> new Node(
+					List.of(node(negation.getArgument())), 0, 0,
+					ms -> notMonitor(ms.get(0), module));
+			case AndFormula and -> new Node(
+					List.of(node(and.getFirstArgument()),
+							node(and.getSecondArgument())), 0, 0,
+					ms -> andMonitor(ms.get(0), module, ms.get(1)));
+			case OrFormula or -> new Node(
+					List.of(node(or.getFirstArgument()),
+							node(or.getSecondArgument())), 0, 0,
+					ms -> orMonitor(ms.get(0), module, ms.get(1)));
+			case EventuallyFormula ev -> future(ev.getArgument(),
+					ev.isUnbounded() ? null : ev.getInterval(),
+					(m, i) -> i == null ? eventuallyMonitor(m, module)
+										: eventuallyMonitor(m, module, i));
+			case GloballyFormula gl -> future(gl.getArgument(),
+					gl.isUnbounded() ? null : gl.getInterval(),
+					(m, i) -> i == null ? globallyMonitor(m, module)
+										: globallyMonitor(m, module, i));
+			case OnceFormula once -> past(once.getArgument(),
+					once.isUnbounded() ? null : once.getInterval(),
+					(m, i) -> i == null ? onceMonitor(m, module)
+										: onceMonitor(m, module, i));
+			case HistoricallyFormula hs -> past(hs.getArgument(),
+					hs.isUnbounded() ? null : hs.getInterval(),
+					(m, i) -> i == null ? historicallyMonitor(m, module)
+										: historicallyMonitor(m, module, i));
+			case UntilFormula until -> {
+				Interval interval = until.isUnbounded() ? null
+														: until.getInterval();
+				yield new Node(List.of(node(until.getFirstArgument()),
+									   node(until.getSecondArgument())),
+							   Double.NaN, 0,
+							   ms -> untilMonitor(ms.get(0), interval,
+												  ms.get(1), module));
+			}
+			case SinceFormula since -> {
+				Interval interval = since.isUnbounded() ? null
+														: since.getInterval();
+				yield new Node(List.of(node(since.getFirstArgument()),
+									   node(since.getSecondArgument())),
+							   Double.NaN, 0,
+							   ms -> sinceMonitor(ms.get(0), interval,
+												  ms.get(1), module));
+			}
+			default -> throw new IllegalArgumentException(
+					"Unsupported formula: " + f);
+		};
+	}
+
+	private Node future(Formula argument, Interval interval,
+						Operator<T, R> operator)
+	{
+		double delay = interval == null ? Double.NaN : interval.getEnd();
+		return new Node(List.of(node(argument)), delay, 0,
+						ms -> operator.apply(ms.get(0), interval));
+	}
+
+	private Node past(Formula argument, Interval interval,
+					  Operator<T, R> operator)
+	{
+		double delay = interval == null ? Double.NaN : 0;
+		double lookback = interval == null ? 0 : interval.getEnd();
+		return new Node(List.of(node(argument)), delay, lookback,
+						ms -> operator.apply(ms.get(0), interval));
+	}
+
+	private interface Operator<T, R> {
+		TemporalMonitor<T, R> apply(TemporalMonitor<T, R> argument,
+									Interval interval);
+	}
+
+	/**
+	 * Remembered signal of a subformula.
+	 */
+	private class Node {
+		private final List<Node> arguments;
+		private final double delay;
+		private final double lookback;
+		private final Function<List<TemporalMonitor<T, R>>,
+							   TemporalMonitor<T, R>> operator;
+		private Signal<R> output;
+		private double stable = Double.NEGATIVE_INFINITY;
+		private int run;
+
+		/**
+		 * @param arguments the subformulas read by the operator
+		 * @param delay how much the known part of the output lags behind
+		 *              the one of the arguments, or <code>NaN</code> when
+		 *              the whole output must be recomputed at each run
+		 * @param lookback how much of the arguments before the recomputed
+		 *                 suffix the operator reads
+		 * @param operator the monitor of the operator, given the monitors
+		 *                 of its arguments
+		 */
+		Node(List<Node> arguments, double delay, double lookback,
+			 Function<List<TemporalMonitor<T, R>>,
+					  TemporalMonitor<T, R>> operator)
+		{
+			this.arguments = arguments;
+			this.delay = delay;
+			this.lookback = lookback;
+			this.operator = operator;
+		}
+
+		/**
+		 * @param known the time up to which the input was already known,
+		 *              or <code>-&infin;</code> when the input is new
+		 * @return the signal of the subformula on the current input
+		 */
+		Signal<R> evaluate(double known) {
+			if (run != runs) {
+				run = runs;
+				update(known);
+			}
+			return output;
+		}
+
+		private void update(double known) {
+			double from = known(known);
+			if (output != null && !output.isEmpty()
+					&& from >= output.getEnd())
+			{
+				from = output.getEnd();
+				Signal<R> suffix = compute(known, from - lookback).suffix(from);
+				if (continues(suffix, from)) {
+					suffix.forEach(output::add);
+					output.endAt(suffix.getEnd());
+					stable = from;
+					return;
+				}
+			}
+			output = compute(known, Double.NEGATIVE_INFINITY);
+			stable = Double.NEGATIVE_INFINITY;
+		}
+
+		/**
+		 * @return the time up to which the output of the previous run is
+		 * still valid
+		 */
+		private double known(double known) {
+			if (Double.isNaN(delay)) {
+				return Double.NEGATIVE_INFINITY;
+			}
+			double from = known;
+			for (Node argument : arguments) {
+				argument.evaluate(known);
+				from = Math.min(from, argument.stable);
+			}
+			return from - delay;
+		}
+
+		/**
+		 * @return the output of the operator on the suffixes of the
+		 * arguments starting at <code>from</code>
+		 */
+		private Signal<R> compute(double known, double from) {
+			List<TemporalMonitor<T, R>> monitors =
+					new ArrayList<>(arguments.size());
+			for (Node argument : arguments) {
+				Signal<R> signal = argument.evaluate(known).suffix(from);
+				monitors.add(s -> signal);
+			}
+			Signal<T> trace = arguments.isEmpty() ? input.suffix(from) : input;
+			return operator.apply(monitors).monitor(trace);
+		}
+
+		/**
+		 * @return <code>true</code> when the suffix starts at the end of the
+		 * previous output, with the same value
+		 */
+		private boolean continues(Signal<R> suffix, double from) {
+			return !suffix.isEmpty() && suffix.getStart() == from
+					&& Objects.equals(suffix.getValueAt(from),
+									  output.getIterator(false)
+											.getCurrentValue());
+		}
+	}
+}
@@ -20,10 +20,13 @@
 
 package io.github.moonlightsuite.moonlight.offline.monitoring;
 
+import io.github.moonlightsuite.moonlight.core.formula.BinaryFormula;
 import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.FormulaDag;
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.formula.AtomicFormula;
 import io.github.moonlightsuite.moonlight.formula.Parameters;
@@ -36,8 +39,13 @@ import io.github.moonlightsuite.moonlight.formula.spatial.ReachFormula;
 import io.github.moonlightsuite.moonlight.formula.spatial.SomewhereFormula;
 import io.github.moonlightsuite.moonlight.formula.temporal.*;
 import io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal.SpatialTemporalMonitor;
+import io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal.SpatialTemporalMonitorShared;
+import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal.SpatialTemporalMonitor.*;
@@ -60,6 +68,13 @@ public class SpatialTemporalMonitoring<S, T, R> {
     private final Map<String, Function<SpatialModel<S>, DistanceStructure<S, ?>>> distanceFunctions;
     private final SignalDomain<R> module;
     private final boolean parallel;
+    private final boolean parallelOverTime;
+    private final boolean parallelLocations;
+    private final DistanceStructureCache<S> cache;
+    private final ForkJoinBranches branches;
+    private FormulaDag dag;
+    private Map<Formula, SpatialTemporalMonitor<S, T, R>> monitors;
+    private Map<Formula, CompletableFuture<SpatialTemporalSignal<R>>> run;
 
 
     public SpatialTemporalMonitoring(
@@ -67,11 +82,31 @@ public class SpatialTemporalMonitoring<S, T, R> {
             Map<String, Function<SpatialModel<S>,
                     DistanceStructure<S, ?>>> distanceFunctions,
             SignalDomain<R> module, boolean parallelize) {
+        this(atomicPropositions, distanceFunctions, module,
+             new Options<S>().parallel(parallelize));
+    }
+
+    /**
+     * @param atomicPropositions the atomic propositions of the formulae
+     * @param distanceFunctions the distance functions of the formulae
+     * @param module the semantic interpretation
+     * @param options how the generated monitors are evaluated
+     */
+    public SpatialTemporalMonitoring(
+            Map<String, Function<Parameters, Function<T, R>>> atomicPropositions,
+            Map<String, Function<SpatialModel<S>,
+                    DistanceStructure<S, ?>>> distanceFunctions,
+            SignalDomain<R> module, Options<S> options) {
         super();
         this.atoms = atomicPropositions;
         this.module = module;
         this.distanceFunctions = distanceFunctions;
-        this.parallel = parallelize;
+        this.parallel = options.parallel;
+        this.parallelOverTime = options.parallelOverTime;
+        this.parallelLocations = options.parallelLocations;
+        this.cache = options.cache != null ? options.cache
+                                           : new DistanceStructureCache<>();
+        this.branches = options.branches;
     }
 
     public SpatialTemporalMonitoring(
@@ -82,6 +117,79 @@ public class SpatialTemporalMonitoring<S, T, R> {
         this(atomicPropositions, distanceFunctions, module, false);
     }
 
+    /**
+     * Evaluation options of the monitors generated by a
+     * {@link SpatialTemporalMonitoring}. By default everything is
+     * sequential, and each {@link SpatialTemporalMonitoring} has its own
+     * cache of distance structures.
+     *
+     * @param <S> Spatial Graph Edge Type
+     */
+    public static final class Options<S> {
+        private boolean parallel;
+        private boolean parallelOverTime;
+        private boolean parallelLocations;
+        private DistanceStructureCache<S> cache;
+        private ForkJoinBranches branches = ForkJoinBranches.SEQUENTIAL;
+
+        /**
+         * @param parallelize whether spatial operators run in parallel
+         * @return these options
+         */
+        public Options<S> parallel(boolean parallelize) {
+            this.parallel = parallelize;
+            return this;
+        }
+
+        /**
+         * @param parallelizeOverTime whether the time points of somewhere,
+         *                            everywhere and escape are evaluated in
+         *                            parallel
+         * @return these options
+         */
+        public Options<S> parallelOverTime(boolean parallelizeOverTime) {
+            this.parallelOverTime = parallelizeOverTime;
+            return this;
+        }
+
+        /**
+         * @param parallelizeLocations whether the atomic, Boolean and
+         *                             temporal operators process the signals
+         *                             of the locations in parallel; atomic
+         *                             propositions must then be thread-safe
+         * @return these options
+         */
+        public Options<S> parallelLocations(boolean parallelizeLocations) {
+            this.parallelLocations = parallelizeLocations;
+            return this;
+        }
+
+        /**
+         * @param cache the cache of the distance structures, shared by all
+         *              the spatial operators of the generated monitors
+         * @return these options
+         */
+        public Options<S> cache(DistanceStructureCache<S> cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        /**
+         * @param branches strategy to evaluate the arguments of the binary
+         *                 operators; atomic propositions must then be
+         *                 thread-safe
+         * @return these options
+         */
+        public Options<S> branches(ForkJoinBranches branches) {
+            this.branches = branches;
+            return this;
+        }
+    }
+
+    private Function<SpatialModel<S>, DistanceStructure<S, ?>> distance(String id) {
+        return cache.memoize(distanceFunctions.get(id));
+    }
+
     private SpatialTemporalMonitor<S, T, R> generateMonitor(AtomicFormula f) {
         var atomicFunc = atoms.get(f.getAtomicId());
 
@@ -91,24 +199,71 @@ public class SpatialTemporalMonitoring<S, T, R> {
         }
         Function<T, R> atomic = atomicFunc.apply(null);
 
-        return atomicMonitor(atomic);
+        return atomicMonitor(atomic, parallelLocations);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(AndFormula f) {
-        var leftMonitor = monitor(f.getFirstArgument());
-        var rightMonitor = monitor(f.getSecondArgument());
+        var leftMonitor = node(f.getFirstArgument());
+        var rightMonitor = node(f.getSecondArgument());
 
-        return andMonitor(leftMonitor, module, rightMonitor);
+        return andMonitor(leftMonitor, module, rightMonitor, parallelLocations,
+                          branches(f));
     }
 
     /**
      * Entry point of the monitoring program:
      * it launches the monitoring process over the formula f.
+     * Structurally equal subformulas of f are computed once per monitored
+     * trace: when there are any, the monitors are generated again for each
+     * trace, so that the signals shared in a run are not kept by the
+     * returned monitor.
      *
      * @param f the formula to monitor
      * @return the result of the monitoring process.
+     * @see FormulaDag
+     * @see SpatialTemporalMonitorShared
      */
     public <F extends Formula> SpatialTemporalMonitor<S, T, R> monitor(F f) {
+        FormulaDag formulaDag = new FormulaDag(f);
+        SpatialTemporalMonitor<S, T, R> m = build(f, formulaDag);
+        if (formulaDag.isTree()) {
+            return m;
+        }
+        return (locations, signal) -> build(f, formulaDag)
+                .monitor(locations, signal);
+    }
+
+    /**
+     * Generates the monitors of a run.
+     */
+    private synchronized SpatialTemporalMonitor<S, T, R> build(
+            Formula f, FormulaDag formulaDag)
+    {
+        dag = formulaDag;
+        monitors = new HashMap<>();
+        run = new ConcurrentHashMap<>();
+        try {
+            return node(f);
+        } finally {
+            dag = null;
+            monitors = null;
+            run = null;
+        }
+    }
+
+    private SpatialTemporalMonitor<S, T, R> node(Formula f) {
+        SpatialTemporalMonitor<S, T, R> m = monitors.get(f);
+        if (m == null) {
+            m = generate(f);
+            if (dag.isShared(f)) {
+                m = sharedMonitor(m, f, run);
+            }
+            monitors.put(f, m);
+        }
+        return m;
+    }
+
+    private SpatialTemporalMonitor<S, T, R> generate(Formula f) {
         return switch (f) {
             // Classic operators
             case AtomicFormula atomic -> generateMonitor(atomic);
@@ -132,119 +287,114 @@ public class SpatialTemporalMonitoring<S, T, R> {
         };
     }
 
+    /**
+     * @return the strategy to evaluate the arguments of f: they are forked
+     * only when both are worth a task on their own.
+     */
+    private ForkJoinBranches branches(BinaryFormula f) {
+        if (branches == ForkJoinBranches.SEQUENTIAL) {
+            return branches;
+        }
+        boolean large =
+                branches.isWorthForking(dag.getSize(f.getFirstArgument())) &&
+                branches.isWorthForking(dag.getSize(f.getSecondArgument()));
+        return large ? branches : ForkJoinBranches.SEQUENTIAL;
+    }
+
     private SpatialTemporalMonitor<S, T, R> illegalFormula(Formula f) {
         throw new IllegalArgumentException("Unsupported formula: " + f);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(OrFormula f) {
-        var leftMonitor = monitor(f.getFirstArgument());
-        var rightMonitor = monitor(f.getSecondArgument());
+        var leftMonitor = node(f.getFirstArgument());
+        var rightMonitor = node(f.getSecondArgument());
 
-        return orMonitor(leftMonitor, module, rightMonitor);
+        return orMonitor(leftMonitor, module, rightMonitor, parallelLocations,
+                         branches(f));
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(NegationFormula f) {
-        var argumentMonitoring = monitor(f.getArgument());
-        return notMonitor(argumentMonitoring, module);
+        var argumentMonitoring = node(f.getArgument());
+        return notMonitor(argumentMonitoring, module, parallelLocations);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(EventuallyFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        if (f.isUnbounded()) {
-            return eventuallyMonitor(argMonitor, module);
-        } else {
-            Interval interval = f.getInterval();
-            return eventuallyMonitor(argMonitor, module, interval);
-        }
+        Interval interval = f.isUnbounded() ? null : f.getInterval();
+        return eventuallyMonitor(argMonitor, module, interval, parallelLocations);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(GloballyFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        if (f.isUnbounded()) {
-            return globallyMonitor(argMonitor, module);
-        } else {
-            Interval interval = f.getInterval();
-            return globallyMonitor(argMonitor, module, interval);
-        }
+        Interval interval = f.isUnbounded() ? null : f.getInterval();
+        return globallyMonitor(argMonitor, module, interval, parallelLocations);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(OnceFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        if (f.isUnbounded()) {
-            return onceMonitor(argMonitor, module);
-        } else {
-            Interval interval = f.getInterval();
-            return onceMonitor(argMonitor, module, interval);
-        }
+        Interval interval = f.isUnbounded() ? null : f.getInterval();
+        return onceMonitor(argMonitor, module, interval, parallelLocations);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(
             HistoricallyFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        if (f.isUnbounded()) {
-            return historicallyMonitor(argMonitor, module);
-        } else {
-            Interval interval = f.getInterval();
-            return historicallyMonitor(argMonitor, module, interval);
-        }
+        Interval interval = f.isUnbounded() ? null : f.getInterval();
+        return historicallyMonitor(argMonitor, module, interval, parallelLocations);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(UntilFormula f) {
-        var leftMonitor = monitor(f.getFirstArgument());
-        var rightMonitor = monitor(f.getSecondArgument());
-
-        if (f.isUnbounded()) {
-            return untilMonitor(leftMonitor, rightMonitor, module);
-        } else {
-            return untilMonitor(leftMonitor, f.getInterval(),
-                    rightMonitor, module);
-        }
+        var leftMonitor = node(f.getFirstArgument());
+        var rightMonitor = node(f.getSecondArgument());
+
+        Interval interval = f.isUnbounded() ? null : f.getInterval();
+        return untilMonitor(leftMonitor, interval, rightMonitor, module,
+                parallelLocations, branches(f));
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(SinceFormula f) {
-        var leftMonitor = monitor(f.getFirstArgument());
-        var rightMonitor = monitor(f.getSecondArgument());
-
-        if (f.isUnbounded()) {
-            return sinceMonitor(leftMonitor, rightMonitor, module);
-        } else {
-            return sinceMonitor(leftMonitor, f.getInterval(),
-                    rightMonitor, module);
-        }
+        var leftMonitor = node(f.getFirstArgument());
+        var rightMonitor = node(f.getSecondArgument());
+
+        Interval interval = f.isUnbounded() ? null : f.getInterval();
+        return sinceMonitor(leftMonitor, interval, rightMonitor, module,
+                parallelLocations, branches(f));
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(ReachFormula f) {
-        var leftMonitor = monitor(f.getFirstArgument());
-        var rightMonitor = monitor(f.getSecondArgument());
+        var leftMonitor = node(f.getFirstArgument());
+        var rightMonitor = node(f.getSecondArgument());
 
-        var distanceFunction = distanceFunctions.get(f.getDistanceFunctionId());
+        var distanceFunction = distance(f.getDistanceFunctionId());
         return reachMonitor(leftMonitor, distanceFunction,
-                rightMonitor, module);
+                rightMonitor, module, branches(f));
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(SomewhereFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        var distanceFunction = distanceFunctions.get(f.getDistanceFunctionId());
-        return somewhereMonitor(argMonitor, distanceFunction, module, parallel);
+        var distanceFunction = distance(f.getDistanceFunctionId());
+        return somewhereMonitor(argMonitor, distanceFunction, module, parallel,
+                                parallelOverTime);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(EverywhereFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        var distanceFunction = distanceFunctions.get(f.getDistanceFunctionId());
+        var distanceFunction = distance(f.getDistanceFunctionId());
         return everywhereMonitor(argMonitor, distanceFunction, module,
-                parallel);
+                parallel, parallelOverTime);
     }
 
     private SpatialTemporalMonitor<S, T, R> generateMonitor(EscapeFormula f) {
-        var argMonitor = monitor(f.getArgument());
+        var argMonitor = node(f.getArgument());
 
-        var distanceFunction = distanceFunctions.get(f.getDistanceFunctionId());
-        return escapeMonitor(argMonitor, distanceFunction, module);
+        var distanceFunction = distance(f.getDistanceFunctionId());
+        return escapeMonitor(argMonitor, distanceFunction, module, parallel,
+                             parallelOverTime);
     }
 }
@@ -20,14 +20,21 @@
 
 package io.github.moonlightsuite.moonlight.offline.monitoring;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import io.github.moonlightsuite.moonlight.formula.classic.AndFormula;
 import io.github.moonlightsuite.moonlight.formula.AtomicFormula;
+import io.github.moonlightsuite.moonlight.formula.FormulaHorizon;
 import io.github.moonlightsuite.moonlight.formula.temporal.EventuallyFormula;
 import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.FormulaDag;
 import io.github.moonlightsuite.moonlight.core.formula.FormulaVisitor;
 import io.github.moonlightsuite.moonlight.formula.temporal.GloballyFormula;
 import io.github.moonlightsuite.moonlight.formula.temporal.HistoricallyFormula;
@@ -40,6 +47,9 @@ import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.formula.temporal.SinceFormula;
 import io.github.moonlightsuite.moonlight.formula.temporal.UntilFormula;
 import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor;
+import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitorFused;
+import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitorShared;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
 
 import static io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor.*;
@@ -61,6 +71,11 @@ import static io.github.moonlightsuite.moonlight.offline.monitoring.temporal.Tem
 public class TemporalMonitoring<T, R> {
 	private final Map<String, Function<Parameters, Function<T, R>>> atoms;
 	private final SignalDomain<R> module;
+	private final ForkJoinBranches branches;
+	private FormulaDag dag;
+	private FormulaHorizon horizon;
+	private Map<Formula, TemporalMonitor<T, R>> monitors;
+	private Map<Formula, CompletableFuture<Signal<R>>> run;
 
 	/**
 	 * Initializes a monitoring process over the given interpretation domain.
@@ -79,9 +94,26 @@ public class TemporalMonitoring<T, R> {
 	public TemporalMonitoring(
 		Map<String, Function<Parameters, Function<T, R>>> atomicPropositions,
 		SignalDomain<R> interpretation)
+	{
+		this(atomicPropositions, interpretation, ForkJoinBranches.SEQUENTIAL);
+	}
+
+	/**
+	 * Initializes a monitoring process over the given interpretation domain,
+	 * and the given atomic propositions, whose generated monitors evaluate
+	 * the large independent arguments of each operator concurrently.
+	 * @param atomicPropositions atomic propositions of interest
+	 * @param interpretation signal interpretation domain
+	 * @param branches strategy to evaluate the arguments of the operators
+	 */
+	public TemporalMonitoring(
+		Map<String, Function<Parameters, Function<T, R>>> atomicPropositions,
+		SignalDomain<R> interpretation,
+		ForkJoinBranches branches)
 	{
 		this.atoms = atomicPropositions;
 		this.module = interpretation;
+		this.branches = branches;
 	}
 
 	/**
@@ -98,17 +130,116 @@ public class TemporalMonitoring<T, R> {
 	/**
 	 * Entry point of the monitoring program:
 	 * it launches the monitoring process over the formula f.
+	 * Structurally equal subformulas of f are computed once per monitored
+	 * trace: when there are any, the monitors are generated again for each
+	 * trace, so that the signals shared in a run are not kept by the
+	 * returned monitor.
 	 *
 	 * @param f the formula to monitor
 	 * @return the result of the monitoring process.
+	 * @see FormulaDag
+	 * @see TemporalMonitorShared
 	 */
 	public TemporalMonitor<T, R> monitor(Formula f) {
+		return monitor(f, new FormulaDag(f));
+	}
+
+	/**
+	 * Variant of {@link #monitor(Formula)} for when the signal of f is only
+	 * needed over the given time range: each atomic proposition only reads
+	 * the part of the input signal that the range depends on, so that every
+	 * subformula is evaluated over a restricted range.
+	 * The ranges depend on the time range of each monitored trace, so the
+	 * monitors are generated for each trace. The result is the one of
+	 * {@link #monitor(Formula)}, sliced to the output range.
+	 *
+	 * @param f the formula to monitor
+	 * @param output the time range where the signal of f is needed
+	 * @return a monitor whose signals are restricted to the output range
+	 * @see FormulaHorizon
+	 */
+	public TemporalMonitor<T, R> monitor(Formula f, Interval output) {
+		FormulaDag formulaDag = new FormulaDag(f);
+		TemporalMonitor<T, R> whole = monitor(f, formulaDag);
+		return signal -> {
+			FormulaHorizon restricted = signal.isEmpty() ? null :
+					new FormulaHorizon(f, output, new Interval(signal.getStart(),
+															   signal.getEnd()));
+			Signal<R> result;
+			if (restricted == null || !restricted.isRestrictable()) {
+				result = whole.monitor(signal);
+			} else if (restricted.getOutput(f) == null) {
+				// f is not defined over any time of the output range
+				return Signal.factory(module).get();
+			} else {
+				result = build(f, formulaDag, restricted).monitor(signal);
+			}
+			return result.slice(output.getStart(), output.getEnd());
+		};
+	}
+
+	private TemporalMonitor<T, R> monitor(Formula f, FormulaDag dag) {
+		TemporalMonitor<T, R> m = build(f, dag, null);
+		if (dag.isTree()) {
+			return m;
+		}
+		return signal -> build(f, dag, null).monitor(signal);
+	}
+
+	/**
+	 * Generates the monitors of a run.
+	 */
+	private synchronized TemporalMonitor<T, R> build(Formula f,
+													 FormulaDag dag,
+													 FormulaHorizon horizon)
+	{
+		this.dag = dag;
+		this.horizon = horizon;
+		this.monitors = new HashMap<>();
+		this.run = new ConcurrentHashMap<>();
+		try {
+			return node(f);
+		} finally {
+			this.dag = null;
+			this.horizon = null;
+			this.monitors = null;
+			this.run = null;
+		}
+	}
+
+	/**
+	 * Incremental variant of {@link #monitor(Formula)}, for traces that are
+	 * monitored again each time new samples are added to them.
+	 *
+	 * @param f the formula to monitor
+	 * @return a monitor that only recomputes the signals of the subformulas
+	 * 		   after the time where the previously monitored trace ended
+	 * @see IncrementalTemporalMonitor
+	 */
+	public TemporalMonitor<T, R> incremental(Formula f) {
+		return new IncrementalTemporalMonitor<>(f, this::atomicFunction,
+												module);
+	}
+
+	private TemporalMonitor<T, R> node(Formula f) {
+		TemporalMonitor<T, R> m = monitors.get(f);
+		if (m == null) {
+			m = generate(f);
+			if (dag.isShared(f)) {
+				m = sharedMonitor(m, f, run);
+			}
+			monitors.put(f, m);
+		}
+		return m;
+	}
+
+	private TemporalMonitor<T, R> generate(Formula f) {
 		return switch(f) {
 			// Classic operators
 			case AtomicFormula atomic -> generateAtomicMonitor(atomic);
-			case NegationFormula negation -> generateNegationMonitor(negation);
-			case AndFormula and -> generateAndMonitor(and);
-			case OrFormula or -> generateOrMonitor(or);
+			case NegationFormula negation -> generateFusedMonitor(negation);
+			case AndFormula and -> generateFusedMonitor(and);
+			case OrFormula or -> generateFusedMonitor(or);
 			// Temporal Future Operators
 			case EventuallyFormula ev -> generateEventuallyMonitor(ev);
 			case GloballyFormula globally -> generateGloballyMonitor(globally);
@@ -126,39 +257,107 @@ public class TemporalMonitoring<T, R> {
 	}
 
 	private TemporalMonitor<T, R> generateAtomicMonitor(AtomicFormula f) {
+		if (horizon != null) {
+			return atomicMonitor(atomicFunction(f), module,
+								 horizon.getOutput(f));
+		}
+		return atomicMonitor(atomicFunction(f), module);
+	}
+
+	private Function<T, R> atomicFunction(AtomicFormula f) {
 		var atomicFunc = atoms.get(f.getAtomicId());
 
 		if (atomicFunc == null) {
 			throw new IllegalArgumentException("Unknown atomic ID " +
 					f.getAtomicId());
 		}
-		Function<T, R> atomic = atomicFunc.apply(null);
-
-		return atomicMonitor(atomic);
+		return atomicFunc.apply(null);
 	}
 
-	private TemporalMonitor<T, R> generateAndMonitor(AndFormula f) {
-		var leftMonitor = monitor(f.getFirstArgument());
-		var rightMonitor = monitor(f.getSecondArgument());
+	/**
+	 * Fuses the maximal tree of non-temporal operators rooted in f, whose
+	 * leaves are the temporal and the shared subformulas, into a single
+	 * monitor. Atomic predicates are evaluated directly on the input signal.
+	 *
+	 * @see TemporalMonitorFused
+	 */
+	private TemporalMonitor<T, R> generateFusedMonitor(Formula f) {
+		Fusion fusion = new Fusion(f);
+		var op = fusion.fuse(f);
+		return new TemporalMonitorFused<>(fusion.arguments, fusion.readsInput,
+										  op, Signal.factory(module),
+										  branches(fusion.formulas),
+										  horizon == null ? null
+												  : horizon.getOutput(f));
+	}
 
-		return andMonitor(leftMonitor, module , rightMonitor);
+	/**
+	 * @return the strategy to evaluate the given arguments: they are forked
+	 * only when at least two of them are worth a task on their own.
+	 */
+	private ForkJoinBranches branches(List<Formula> arguments) {
+		if (branches == ForkJoinBranches.SEQUENTIAL) {
+			return branches;
+		}
+		long large = arguments.stream()
+				.filter(f -> branches.isWorthForking(dag.getSize(f)))
+				.count();
+		return large >= 2 ? branches : ForkJoinBranches.SEQUENTIAL;
 	}
 
-	private TemporalMonitor<T, R> generateOrMonitor(OrFormula f) {
-		var leftMonitor = monitor(f.getFirstArgument());
-		var rightMonitor = monitor(f.getSecondArgument());
+	private class Fusion {
+		private final Formula root;
+		private final List<TemporalMonitor<T, R>> arguments = new ArrayList<>();
+		private final List<Formula> formulas = new ArrayList<>();
+		private boolean readsInput;
 
-		return orMonitor(leftMonitor, module, rightMonitor);
-	}
+		Fusion(Formula root) {
+			this.root = root;
+		}
+
+		@SuppressWarnings("unchecked")
+		Function<IntFunction<Object>, R> fuse(Formula f) {
+			if (f != root && dag.isShared(f)) {
+				return argument(f);
+			}
+			switch (f) {
+				case AtomicFormula atomic -> {
+					Function<T, R> atomicFunc = atomicFunction(atomic);
+					readsInput = true;
+					return v -> atomicFunc.apply((T) v.apply(TemporalMonitorFused.INPUT));
+				}
+				case NegationFormula negation -> {
+					var arg = fuse(negation.getArgument());
+					return v -> module.negation(arg.apply(v));
+				}
+				case AndFormula and -> {
+					var left = fuse(and.getFirstArgument());
+					var right = fuse(and.getSecondArgument());
+					return v -> module.conjunction(left.apply(v), right.apply(v));
+				}
+				case OrFormula or -> {
+					var left = fuse(or.getFirstArgument());
+					var right = fuse(or.getSecondArgument());
+					return v -> module.disjunction(left.apply(v), right.apply(v));
+				}
+				default -> {
+					return argument(f);
+				}
+			}
+		}
 
-	private TemporalMonitor<T, R> generateNegationMonitor(NegationFormula f) {
-		var argumentMonitoring = monitor(f.getArgument());
-		return notMonitor(argumentMonitoring, module);
+		@SuppressWarnings("unchecked")
+		private Function<IntFunction<Object>, R> argument(Formula f) {
+			int i = arguments.size();
+			arguments.add(node(f));
+			formulas.add(f);
+			return v -> (R) v.apply(i);
+		}
 	}
 
 	private TemporalMonitor<T, R> generateEventuallyMonitor(EventuallyFormula f)
 	{
-		var argMonitor = monitor(f.getArgument());
+		var argMonitor = node(f.getArgument());
 
 		if (f.isUnbounded()) {
 			return eventuallyMonitor(argMonitor, module);
@@ -169,7 +368,7 @@ public class TemporalMonitoring<T, R> {
 	}
 
 	private TemporalMonitor<T, R> generateGloballyMonitor(GloballyFormula f) {
-		var argMonitor = monitor(f.getArgument());
+		var argMonitor = node(f.getArgument());
 
 		if (f.isUnbounded()) {
 			return globallyMonitor(argMonitor, module);
@@ -180,7 +379,7 @@ public class TemporalMonitoring<T, R> {
 	}
 
 	private TemporalMonitor<T, R> generateOnceMonitor(OnceFormula f) {
-		var argMonitor = monitor(f.getArgument());
+		var argMonitor = node(f.getArgument());
 
 		if (f.isUnbounded()) {
 			return onceMonitor(argMonitor, module);
@@ -193,7 +392,7 @@ public class TemporalMonitoring<T, R> {
 	private TemporalMonitor<T, R> generateHistoricallyMonitor(
 			HistoricallyFormula f)
 	{
-		var argMonitor = monitor(f.getArgument());
+		var argMonitor = node(f.getArgument());
 
 		if (f.isUnbounded()) {
 			return historicallyMonitor(argMonitor, module);
@@ -204,26 +403,22 @@ public class TemporalMonitoring<T, R> {
 	}
 
 	private TemporalMonitor<T, R> generateUntilMonitor(UntilFormula f) {
-		var leftMonitor = monitor(f.getFirstArgument());
-		var rightMonitor = monitor(f.getSecondArgument());
+		var leftMonitor = node(f.getFirstArgument());
+		var rightMonitor = node(f.getSecondArgument());
 
-		if (f.isUnbounded()) {
-			return untilMonitor(leftMonitor, rightMonitor, module);
-		} else {
-			return untilMonitor(leftMonitor, f.getInterval(),
-								rightMonitor, module);
-		}
+		Interval interval = f.isUnbounded() ? null : f.getInterval();
+		return untilMonitor(leftMonitor, interval, rightMonitor, module,
+							branches(List.of(f.getFirstArgument(),
+											 f.getSecondArgument())));
 	}
 
 	private TemporalMonitor<T, R> generateSinceMonitor(SinceFormula f) {
-		var leftMonitor = monitor(f.getFirstArgument());
-		var rightMonitor = monitor(f.getSecondArgument());
+		var leftMonitor = node(f.getFirstArgument());
+		var rightMonitor = node(f.getSecondArgument());
 
-		if (f.isUnbounded()) {
-			return sinceMonitor(leftMonitor, rightMonitor, module);
-		} else {
-			return sinceMonitor(leftMonitor, f.getInterval(),
-								rightMonitor, module);
-		}
+		Interval interval = f.isUnbounded() ? null : f.getInterval();
+		return sinceMonitor(leftMonitor, interval, rightMonitor, module,
+							branches(List.of(f.getFirstArgument(),
+											 f.getSecondArgument())));
 	}
 }
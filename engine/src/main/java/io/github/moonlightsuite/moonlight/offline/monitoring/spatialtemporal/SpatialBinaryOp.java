@@ -2,6 +2,7 @@ package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.core.space.SpaceIterator;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
@@ -17,6 +18,7 @@ import static io.github.moonlightsuite.moonlight.offline.signal.SignalCursor.isN
 public class SpatialBinaryOp<S, R> {
     private final SpaceIterator<Double, S> spaceItr;
     private final SignalDomain<R> domain;
+    private final DistanceStructureCache<S> cache;
     private SpatialTemporalSignal<R> result;
 
     public SpatialBinaryOp(
@@ -24,6 +26,7 @@ public class SpatialBinaryOp<S, R> {
             Function<SpatialModel<S>, DistanceStructure<S, ?>> distance,
             SignalDomain<R> domain) {
         this.domain = domain;
+        this.cache = DistanceStructureCache.of(distance);
         spaceItr = new SpaceIterator<>(l, distance);
     }
 
@@ -61,7 +64,7 @@ public class SpatialBinaryOp<S, R> {
                 var spatialSignal2 = c2.getCurrentValue();
 
                 result.add(t, reach(domain, spatialSignal1, spatialSignal2,
-                        ds));
+                        ds, cache));
 
                 t = getTNext(domain, c1, c2, spatialSignal1, spatialSignal2);
                 if (spaceItr.isNextSpaceModelMeaningful()) {
@@ -82,7 +85,8 @@ public class SpatialBinaryOp<S, R> {
         c2.move(tNext);
         spaceItr.forEach(tNext, (itT, itDs) -> {
             //result.add(t, escape(domain, values, f));
-            var output = reach(domain, spatialSignal1, spatialSignal2, itDs);
+            var output = reach(domain, spatialSignal1, spatialSignal2, itDs,
+                    cache);
             result.add(itT, output);
         });
         return tNext;
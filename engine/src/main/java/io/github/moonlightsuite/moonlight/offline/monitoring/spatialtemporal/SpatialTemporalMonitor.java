@@ -20,11 +20,15 @@
 
 package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.*;
 import io.github.moonlightsuite.moonlight.offline.signal.*;
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
@@ -54,6 +58,7 @@ import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
  * @see SpatialTemporalMonitorUntil
  * @see SpatialTemporalMonitorPastOperator
  * @see SpatialTemporalMonitorSince
+ * @see SpatialTemporalMonitorShared
  */
 public interface SpatialTemporalMonitor<S, T, R> {
 
@@ -61,7 +66,13 @@ public interface SpatialTemporalMonitor<S, T, R> {
 									 SpatialTemporalSignal<T> signal);
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> atomicMonitor(Function<T, R> atomic) {
-		return new SpatialTemporalMonitorAtomic<>(atomic);
+		return atomicMonitor(atomic, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> atomicMonitor(
+			Function<T, R> atomic, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorAtomic<>(atomic, isParallel);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> andMonitor(
@@ -69,7 +80,28 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SignalDomain<R> domain,
 			SpatialTemporalMonitor<S, T, R> m2)
 	{
-		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::conjunction, m2);
+		return andMonitor(m1, domain, m2, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> andMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			SignalDomain<R> domain,
+			SpatialTemporalMonitor<S, T, R> m2,
+			boolean isParallel)
+	{
+		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::conjunction, m2,
+				isParallel);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> andMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			SignalDomain<R> domain,
+			SpatialTemporalMonitor<S, T, R> m2,
+			boolean isParallel,
+			ForkJoinBranches branches)
+	{
+		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::conjunction, m2,
+				isParallel, branches);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> orMonitor(
@@ -77,7 +109,28 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SignalDomain<R> domain,
 			SpatialTemporalMonitor<S, T, R> m2)
 	{
-		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::disjunction, m2);
+		return orMonitor(m1, domain, m2, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> orMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			SignalDomain<R> domain,
+			SpatialTemporalMonitor<S, T, R> m2,
+			boolean isParallel)
+	{
+		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::disjunction, m2,
+				isParallel);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> orMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			SignalDomain<R> domain,
+			SpatialTemporalMonitor<S, T, R> m2,
+			boolean isParallel,
+			ForkJoinBranches branches)
+	{
+		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::disjunction, m2,
+				isParallel, branches);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> impliesMonitor(
@@ -85,20 +138,46 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SignalDomain<R> domain,
 			SpatialTemporalMonitor<S, T, R> m2)
 	{
-		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::implies, m2);
+		return impliesMonitor(m1, domain, m2, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> impliesMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			SignalDomain<R> domain,
+			SpatialTemporalMonitor<S, T, R> m2,
+			boolean isParallel)
+	{
+		return new SpatialTemporalMonitorBinaryOperator<>(m1, domain::implies, m2,
+				isParallel);
 	}
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> notMonitor(
 			SpatialTemporalMonitor<S, T, R> m,
 			SignalDomain<R> domain )
 	{
-		return new SpatialTemporalMonitorUnaryOperator<>(m, domain::negation);
+		return notMonitor(m, domain, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> notMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			SignalDomain<R> domain, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorUnaryOperator<>(m, domain::negation,
+				isParallel);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> eventuallyMonitor(
 			SpatialTemporalMonitor<S, T, R> m,
 			SignalDomain<R> domain, Interval interval)
 	{
-		return new SpatialTemporalMonitorFutureOperator<>(m, interval, domain::disjunction, domain.min());
+		return eventuallyMonitor(m, domain, interval, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> eventuallyMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			SignalDomain<R> domain, Interval interval, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorFutureOperator<>(m, interval, domain, false,
+				isParallel);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> eventuallyMonitor(
@@ -112,7 +191,15 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SpatialTemporalMonitor<S, T, R> m,
 			SignalDomain<R> domain, Interval interval)
 	{
-		return new SpatialTemporalMonitorFutureOperator<>(m, interval, domain::conjunction, domain.max());
+		return globallyMonitor(m, domain, interval, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> globallyMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			SignalDomain<R> domain, Interval interval, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorFutureOperator<>(m, interval, domain, true,
+				isParallel);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> globallyMonitor(
@@ -128,7 +215,27 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SpatialTemporalMonitor<S, T, R> m2,
 			SignalDomain<R> domain)
 	{
-		return new SpatialTemporalMonitorUntil<>(m1,interval,m2,domain);
+		return untilMonitor(m1, interval, m2, domain, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> untilMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			Interval interval,
+			SpatialTemporalMonitor<S, T, R> m2,
+			SignalDomain<R> domain, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorUntil<>(m1,interval,m2,domain, isParallel);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> untilMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			Interval interval,
+			SpatialTemporalMonitor<S, T, R> m2,
+			SignalDomain<R> domain, boolean isParallel,
+			ForkJoinBranches branches)
+	{
+		return new SpatialTemporalMonitorUntil<>(m1, interval, m2, domain,
+				isParallel, branches);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> untilMonitor(
@@ -145,7 +252,27 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SpatialTemporalMonitor<S, T, R> m2,
 			SignalDomain<R> domain)
 	{
-		return new SpatialTemporalMonitorSince<>(m1,interval,m2,domain);
+		return sinceMonitor(m1, interval, m2, domain, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> sinceMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			Interval interval,
+			SpatialTemporalMonitor<S, T, R> m2,
+			SignalDomain<R> domain, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorSince<>(m1,interval,m2,domain, isParallel);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> sinceMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			Interval interval,
+			SpatialTemporalMonitor<S, T, R> m2,
+			SignalDomain<R> domain, boolean isParallel,
+			ForkJoinBranches branches)
+	{
+		return new SpatialTemporalMonitorSince<>(m1, interval, m2, domain,
+				isParallel, branches);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> sinceMonitor(
@@ -160,7 +287,15 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SpatialTemporalMonitor<S, T, R> m,
 			SignalDomain<R> domain, Interval interval)
 	{
-		return new SpatialTemporalMonitorPastOperator<>(m, interval, domain::disjunction, domain.min());
+		return onceMonitor(m, domain, interval, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> onceMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			SignalDomain<R> domain, Interval interval, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorPastOperator<>(m, interval, domain, false,
+				isParallel);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> onceMonitor(
@@ -174,7 +309,15 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			SpatialTemporalMonitor<S, T, R> m,
 			SignalDomain<R> domain, Interval interval)
 	{
-		return new SpatialTemporalMonitorPastOperator<>(m, interval, domain::conjunction, domain.max());
+		return historicallyMonitor(m, domain, interval, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> historicallyMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			SignalDomain<R> domain, Interval interval, boolean isParallel)
+	{
+		return new SpatialTemporalMonitorPastOperator<>(m, interval, domain, true,
+				isParallel);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> historicallyMonitor(
@@ -199,7 +342,18 @@ public interface SpatialTemporalMonitor<S, T, R> {
 					DistanceStructure<S, ?>> distance,
 			SignalDomain<R> domain, boolean isParallel)
 	{
-		return new SpatialTemporalMonitorSomewhere<>(m,distance,domain, isParallel);
+		return somewhereMonitor(m, distance, domain, isParallel, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> somewhereMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			Function<SpatialModel<S>,
+					DistanceStructure<S, ?>> distance,
+			SignalDomain<R> domain, boolean isParallel,
+			boolean isParallelOverTime)
+	{
+		return new SpatialTemporalMonitorSomewhere<>(m,distance,domain, isParallel,
+				isParallelOverTime);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> everywhereMonitor(
@@ -216,9 +370,19 @@ public interface SpatialTemporalMonitor<S, T, R> {
 			Function<SpatialModel<S>,
 					DistanceStructure<S, ?>> distance,
 			SignalDomain<R> domain, boolean isParallel)
+	{
+		return everywhereMonitor(m, distance, domain, isParallel, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> everywhereMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			Function<SpatialModel<S>,
+					DistanceStructure<S, ?>> distance,
+			SignalDomain<R> domain, boolean isParallel,
+			boolean isParallelOverTime)
 	{
 		return new SpatialTemporalMonitorEverywhere<>(m, distance, domain,
-				isParallel);
+				isParallel, isParallelOverTime);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> escapeMonitor(
@@ -227,7 +391,27 @@ public interface SpatialTemporalMonitor<S, T, R> {
 					 DistanceStructure<S, ?>> distance,
 			SignalDomain<R> domain)
 	{
-		return new SpatialTemporalMonitorEscape<>(m, distance, domain);
+		return escapeMonitor(m, distance, domain, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> escapeMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			Function<SpatialModel<S>,
+					DistanceStructure<S, ?>> distance,
+			SignalDomain<R> domain, boolean isParallel)
+	{
+		return escapeMonitor(m, distance, domain, isParallel, false);
+	}
+
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> escapeMonitor(
+			SpatialTemporalMonitor<S, T, R> m,
+			Function<SpatialModel<S>,
+					DistanceStructure<S, ?>> distance,
+			SignalDomain<R> domain, boolean isParallel,
+			boolean isParallelOverTime)
+	{
+		return new SpatialTemporalMonitorEscape<>(m, distance, domain,
+												  isParallel, isParallelOverTime);
 	}
 
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> reachMonitor(
@@ -240,6 +424,18 @@ public interface SpatialTemporalMonitor<S, T, R> {
 		return new SpatialTemporalMonitorReach<>(m1,distance,m2,domain);
 	}
 
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> reachMonitor(
+			SpatialTemporalMonitor<S, T, R> m1,
+			Function<SpatialModel<S>,
+					DistanceStructure<S, ?>> distance,
+			SpatialTemporalMonitor<S, T, R> m2,
+			SignalDomain<R> domain,
+			ForkJoinBranches branches)
+	{
+		return new SpatialTemporalMonitorReach<>(m1, distance, m2, domain,
+				branches);
+	}
+
 	static <S, T, R> SpatialTemporalMonitor<S, T, R> surroundMonitor(
 			SpatialTemporalMonitor<S, T, R> m,
 			Interval interval,
@@ -264,5 +460,14 @@ public interface SpatialTemporalMonitor<S, T, R> {
 		return null;
 	}
 
-
+	/**
+	 * Monitor of a subformula whose signal is read by several operators,
+	 * which computes it once for all of them in the given run.
+	 */
+	static <S, T, R> SpatialTemporalMonitor<S, T, R> sharedMonitor(
+			SpatialTemporalMonitor<S, T, R> m, Formula f,
+			Map<Formula, CompletableFuture<SpatialTemporalSignal<R>>> run)
+	{
+		return new SpatialTemporalMonitorShared<>(m, f, run);
+	}
 }
@@ -39,16 +39,28 @@ public class SpatialTemporalMonitorAtomic<S, T, R>
 {
 
 	private final Function<T, R> atomic;
+	private final boolean parallel;
 
 	public SpatialTemporalMonitorAtomic(Function<T, R> atomic) {
+		this(atomic, false);
+	}
+
+	/**
+	 * @param atomic the atomic proposition, that must be thread-safe when
+	 *               locations are processed in parallel
+	 * @param parallel whether locations are processed in parallel
+	 */
+	public SpatialTemporalMonitorAtomic(Function<T, R> atomic,
+										boolean parallel) {
 		this.atomic = atomic;
+		this.parallel = parallel;
 	}
 
 	@Override
 	public SpatialTemporalSignal<R> monitor(LocationService<Double, S> locationService,
 											SpatialTemporalSignal<T> signal)
 	{
-		return signal.apply(atomic);
+		return signal.apply(atomic, parallel);
 	}
 
 }
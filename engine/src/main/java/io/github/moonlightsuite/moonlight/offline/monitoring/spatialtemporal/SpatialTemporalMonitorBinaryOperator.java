@@ -21,8 +21,10 @@
 package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
@@ -40,22 +42,53 @@ public class SpatialTemporalMonitorBinaryOperator<S, T, R>
     private final SpatialTemporalMonitor<S, T, R> m1;
     private final BiFunction<R, R, R> op;
     private final SpatialTemporalMonitor<S, T, R> m2;
+    private final boolean parallel;
+    private final ForkJoinBranches branches;
 
     public SpatialTemporalMonitorBinaryOperator(
             SpatialTemporalMonitor<S, T, R> m1,
             BinaryOperator<R> op,
             SpatialTemporalMonitor<S, T, R> m2) {
+        this(m1, op, m2, false);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     */
+    public SpatialTemporalMonitorBinaryOperator(
+            SpatialTemporalMonitor<S, T, R> m1,
+            BinaryOperator<R> op,
+            SpatialTemporalMonitor<S, T, R> m2,
+            boolean parallel) {
+        this(m1, op, m2, parallel, ForkJoinBranches.SEQUENTIAL);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     * @param branches strategy to evaluate the two arguments
+     */
+    public SpatialTemporalMonitorBinaryOperator(
+            SpatialTemporalMonitor<S, T, R> m1,
+            BinaryOperator<R> op,
+            SpatialTemporalMonitor<S, T, R> m2,
+            boolean parallel,
+            ForkJoinBranches branches) {
         this.m1 = m1;
         this.op = op;
         this.m2 = m2;
+        this.parallel = parallel;
+        this.branches = branches;
     }
 
     @Override
     public SpatialTemporalSignal<R> monitor(LocationService<Double, S> locationService,
                                             SpatialTemporalSignal<T> signal) {
-        var left = m1.monitor(locationService, signal);
-        var right = m2.monitor(locationService, signal);
-        return left.apply(op, right);
+        List<SpatialTemporalSignal<R>> arguments = branches.evaluate(List.of(
+                () -> m1.monitor(locationService, signal),
+                () -> m2.monitor(locationService, signal)));
+        var left = arguments.get(0);
+        var right = arguments.get(1);
+        return left.apply(op, right, parallel);
     }
 
 }
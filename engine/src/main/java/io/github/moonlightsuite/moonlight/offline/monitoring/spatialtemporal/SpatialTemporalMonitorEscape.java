@@ -20,9 +20,10 @@
 
 package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 
-import io.github.moonlightsuite.moonlight.core.algorithms.EscapeAlgorithm;
+import io.github.moonlightsuite.moonlight.core.algorithms.SpatialAlgorithms;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.offline.algorithms.SpatialOp;
@@ -44,14 +45,39 @@ public class SpatialTemporalMonitorEscape<S, T, R>
     private final SpatialTemporalMonitor<S, T, R> m;
     private final Function<SpatialModel<S>, DistanceStructure<S, ?>> distance;
     private final SignalDomain<R> domain;
+    private final boolean parallel;
+    private final boolean parallelOverTime;
 
     public SpatialTemporalMonitorEscape(SpatialTemporalMonitor<S, T, R> m,
                                         Function<SpatialModel<S>,
                                                 DistanceStructure<S, ?>> distance,
                                         SignalDomain<R> domain) {
+        this(m, distance, domain, false);
+    }
+
+    public SpatialTemporalMonitorEscape(SpatialTemporalMonitor<S, T, R> m,
+                                        Function<SpatialModel<S>,
+                                                DistanceStructure<S, ?>> distance,
+                                        SignalDomain<R> domain,
+                                        boolean parallel) {
+        this(m, distance, domain, parallel, false);
+    }
+
+    /**
+     * @param parallelOverTime whether the time points are evaluated in
+     *                         parallel, see {@link SpatialOp}
+     */
+    public SpatialTemporalMonitorEscape(SpatialTemporalMonitor<S, T, R> m,
+                                        Function<SpatialModel<S>,
+                                                DistanceStructure<S, ?>> distance,
+                                        SignalDomain<R> domain,
+                                        boolean parallel,
+                                        boolean parallelOverTime) {
         this.m = m;
         this.distance = distance;
         this.domain = domain;
+        this.parallel = parallel;
+        this.parallelOverTime = parallelOverTime;
     }
 
     @Override
@@ -59,12 +85,14 @@ public class SpatialTemporalMonitorEscape<S, T, R>
                                             SpatialTemporalSignal<T> signal) {
         SpatialOp<S, R> sc = new SpatialOp<>(locationService,
                 distance,
-                this::escapeOp);
+                this::escapeOp,
+                parallelOverTime);
         return sc.computeUnary(m.monitor(locationService, signal));
     }
 
     private IntFunction<R> escapeOp(IntFunction<R> spatialSignal,
                                     DistanceStructure<S, ?> ds) {
-        return new EscapeAlgorithm<>(ds, domain, spatialSignal).compute();
+        return SpatialAlgorithms.escape(domain, spatialSignal, ds, parallel,
+                                        DistanceStructureCache.of(distance));
     }
 }
@@ -23,6 +23,7 @@ package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 import io.github.moonlightsuite.moonlight.core.algorithms.SpatialAlgorithms;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.offline.algorithms.SpatialOp;
@@ -45,29 +46,46 @@ public class SpatialTemporalMonitorEverywhere<S, T, R>
     private final Function<SpatialModel<S>, DistanceStructure<S, ?>> distance;
     private final SignalDomain<R> domain;
     private final boolean parallel;
+    private final boolean parallelOverTime;
 
     public SpatialTemporalMonitorEverywhere(SpatialTemporalMonitor<S, T, R> m,
                                             Function<SpatialModel<S>,
                                                     DistanceStructure<S, ?>> distance,
                                             SignalDomain<R> domain,
                                             boolean isParallel) {
+        this(m, distance, domain, isParallel, false);
+    }
+
+    /**
+     * @param isParallelOverTime whether the time points are evaluated in
+     *                           parallel, see {@link SpatialOp}
+     */
+    public SpatialTemporalMonitorEverywhere(SpatialTemporalMonitor<S, T, R> m,
+                                            Function<SpatialModel<S>,
+                                                    DistanceStructure<S, ?>> distance,
+                                            SignalDomain<R> domain,
+                                            boolean isParallel,
+                                            boolean isParallelOverTime) {
         this.m = m;
         this.distance = distance;
         this.domain = domain;
         this.parallel = isParallel;
+        this.parallelOverTime = isParallelOverTime;
     }
 
     @Override
     public SpatialTemporalSignal<R> monitor(
             LocationService<Double, S> locationService,
             SpatialTemporalSignal<T> signal) {
-        var sp = new SpatialOp<>(locationService, distance, this::everywhereOp);
+        var sp = new SpatialOp<>(locationService, distance, this::everywhereOp,
+                                 parallelOverTime);
         return sp.computeUnary(m.monitor(locationService, signal));
     }
 
     private IntFunction<R> everywhereOp(IntFunction<R> spatialSignal,
                                         DistanceStructure<S, ?> ds) {
-        return new SpatialAlgorithms<>(ds, domain, parallel)
+        return new SpatialAlgorithms<>(ds, domain, parallel, true,
+                                       DistanceStructureCache.of(distance))
                 .everywhere(spatialSignal);
     }
 }
@@ -23,8 +23,10 @@ package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 import java.util.function.BinaryOperator;
 
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.offline.algorithms.TemporalOp;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
 /**
@@ -43,6 +45,9 @@ public class SpatialTemporalMonitorPastOperator<S, T, R>
 	private final Interval interval;
 	private final BinaryOperator<R> op;
 	private final R init;
+	private final SignalDomain<R> domain;
+	private final boolean isConjunction;
+	private final boolean parallel;
 
 	public SpatialTemporalMonitorPastOperator(SpatialTemporalMonitor<S, T, R> m,
 											  Interval interval,
@@ -53,6 +58,32 @@ public class SpatialTemporalMonitorPastOperator<S, T, R>
 		this.interval = interval;
 		this.op = op;
 		this.init = init;
+		this.domain = null;
+		this.isConjunction = false;
+		this.parallel = false;
+	}
+
+	/**
+	 * Operator aggregating by the conjunction or by the disjunction of the
+	 * domain, that runs on primitive values when the domain allows it.
+	 *
+	 * @param isConjunction <code>true</code> for the conjunction of the
+	 *                      domain, <code>false</code> for the disjunction
+	 * @param parallel whether locations are processed in parallel
+	 */
+	public SpatialTemporalMonitorPastOperator(SpatialTemporalMonitor<S, T, R> m,
+											  Interval interval,
+											  SignalDomain<R> domain,
+											  boolean isConjunction,
+											  boolean parallel)
+	{
+		this.m = m;
+		this.interval = interval;
+		this.op = isConjunction ? domain::conjunction : domain::disjunction;
+		this.init = isConjunction ? domain.max() : domain.min();
+		this.domain = domain;
+		this.isConjunction = isConjunction;
+		this.parallel = parallel;
 	}
 
 	@Override
@@ -60,7 +91,15 @@ public class SpatialTemporalMonitorPastOperator<S, T, R>
 											SpatialTemporalSignal<T> signal)
 	{
 		return m.monitor(locationService, signal).applyToSignal(
-				s -> TemporalOp.computePastSignal(s, interval, op,init));
+				this::pastSignal, parallel);
+	}
+
+	private Signal<R> pastSignal(Signal<R> s) {
+		if (domain == null) {
+			return TemporalOp.computePastSignal(s, interval, op, init);
+		}
+		return TemporalOp.computePastSignal(domain, s, interval, isConjunction,
+				false);
 	}
 
 }
@@ -25,8 +25,10 @@ import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 
@@ -44,16 +46,30 @@ public class SpatialTemporalMonitorReach<S, T, R>
     private final Function<SpatialModel<S>, DistanceStructure<S, ?>> distance;
     private final SpatialTemporalMonitor<S, T, R> m2;
     private final SignalDomain<R> domain;
+    private final ForkJoinBranches branches;
 
     public SpatialTemporalMonitorReach(SpatialTemporalMonitor<S, T, R> m1,
                                        Function<SpatialModel<S>,
                                                DistanceStructure<S, ?>> distance,
                                        SpatialTemporalMonitor<S, T, R> m2,
                                        SignalDomain<R> domain) {
+        this(m1, distance, m2, domain, ForkJoinBranches.SEQUENTIAL);
+    }
+
+    /**
+     * @param branches strategy to evaluate the two arguments
+     */
+    public SpatialTemporalMonitorReach(SpatialTemporalMonitor<S, T, R> m1,
+                                       Function<SpatialModel<S>,
+                                               DistanceStructure<S, ?>> distance,
+                                       SpatialTemporalMonitor<S, T, R> m2,
+                                       SignalDomain<R> domain,
+                                       ForkJoinBranches branches) {
         this.m1 = m1;
         this.distance = distance;
         this.m2 = m2;
         this.domain = domain;
+        this.branches = branches;
     }
 
     @Override
@@ -62,8 +78,10 @@ public class SpatialTemporalMonitorReach<S, T, R>
         SpatialBinaryOp<S, R> sp = new SpatialBinaryOp<>(locationService,
                 distance,
                 domain);
-        return sp.computeReach(m1.monitor(locationService, signal),
-                m2.monitor(locationService, signal));
+        List<SpatialTemporalSignal<R>> arguments = branches.evaluate(List.of(
+                () -> m1.monitor(locationService, signal),
+                () -> m2.monitor(locationService, signal)));
+        return sp.computeReach(arguments.get(0), arguments.get(1));
     }
 
     private IntFunction<R> reachOp(IntFunction<R> leftSignal,
@@ -0,0 +1,65 @@
+package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
+
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.space.LocationService;
+import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitorShared;
+import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Strategy to interpret a subformula that is the argument of several
+ * operators: its signal is computed once per run and handed to each of
+ * them.
+ * <p>
+ * The signals are memoized in a map that belongs to a single run, where
+ * all the monitors read the same input (location service and signal), as
+ * in {@link TemporalMonitorShared}.
+ *
+ * @param <S> Spatial Graph Edge Type
+ * @param <T> Signal Trace Type
+ * @param <R> Semantic Interpretation Semiring Type
+ * @see SpatialTemporalMonitor
+ */
+public class SpatialTemporalMonitorShared<S, T, R>
+        implements SpatialTemporalMonitor<S, T, R> {
+    private final SpatialTemporalMonitor<S, T, R> m;
+    private final Formula f;
+    private final Map<Formula, CompletableFuture<SpatialTemporalSignal<R>>> run;
+
+    /**
+     * @param m   monitor of the shared subformula
+     * @param f   the shared subformula
+     * @param run the signals of the shared subformulas in the current run
+     */
+    public SpatialTemporalMonitorShared(
+            SpatialTemporalMonitor<S, T, R> m, Formula f,
+            Map<Formula, CompletableFuture<SpatialTemporalSignal<R>>> run) {
+        this.m = m;
+        this.f = f;
+        this.run = run;
+    }
+
+    @Override
+    public SpatialTemporalSignal<R> monitor(
+            LocationService<Double, S> locationService,
+            SpatialTemporalSignal<T> signal) {
+        CompletableFuture<SpatialTemporalSignal<R>> own =
+                new CompletableFuture<>();
+        CompletableFuture<SpatialTemporalSignal<R>> first =
+                run.putIfAbsent(f, own);
+        if (first != null) {
+            return TemporalMonitorShared.join(first);
+        }
+        try {
+            SpatialTemporalSignal<R> output = m.monitor(locationService,
+                                                        signal);
+            own.complete(output);
+            return output;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
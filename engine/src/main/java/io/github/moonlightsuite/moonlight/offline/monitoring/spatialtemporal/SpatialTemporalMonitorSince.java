@@ -24,8 +24,11 @@ import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.offline.algorithms.TemporalOp;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
 
+import java.util.List;
+
 /**
  * Strategy to interpret the Since temporal logic operator.
  *
@@ -40,24 +43,56 @@ public class SpatialTemporalMonitorSince<S, T, R>
     private final SpatialTemporalMonitor<S, T, R> m2;
     private final Interval interval;
     private final SignalDomain<R> domain;
+    private final boolean parallel;
+    private final ForkJoinBranches branches;
 
     public SpatialTemporalMonitorSince(SpatialTemporalMonitor<S, T, R> m1,
                                        Interval interval,
                                        SpatialTemporalMonitor<S, T, R> m2,
                                        SignalDomain<R> domain) {
+        this(m1, interval, m2, domain, false);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     */
+    public SpatialTemporalMonitorSince(SpatialTemporalMonitor<S, T, R> m1,
+                                       Interval interval,
+                                       SpatialTemporalMonitor<S, T, R> m2,
+                                       SignalDomain<R> domain,
+                                       boolean parallel) {
+        this(m1, interval, m2, domain, parallel, ForkJoinBranches.SEQUENTIAL);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     * @param branches strategy to evaluate the two arguments
+     */
+    public SpatialTemporalMonitorSince(SpatialTemporalMonitor<S, T, R> m1,
+                                       Interval interval,
+                                       SpatialTemporalMonitor<S, T, R> m2,
+                                       SignalDomain<R> domain,
+                                       boolean parallel,
+                                       ForkJoinBranches branches) {
         this.m1 = m1;
         this.m2 = m2;
         this.interval = interval;
         this.domain = domain;
+        this.parallel = parallel;
+        this.branches = branches;
     }
 
     @Override
     public SpatialTemporalSignal<R> monitor(LocationService<Double, S> locationService,
                                             SpatialTemporalSignal<T> signal) {
-        var left = m1.monitor(locationService, signal);
-        var right = m2.monitor(locationService, signal);
+        List<SpatialTemporalSignal<R>> arguments = branches.evaluate(List.of(
+                () -> m1.monitor(locationService, signal),
+                () -> m2.monitor(locationService, signal)));
+        var left = arguments.get(0);
+        var right = arguments.get(1);
         return left.applyToSignal(
-                right, (s1, s2) -> TemporalOp.computeSince(domain, s1, interval, s2)
+                right, (s1, s2) -> TemporalOp.computeSince(domain, s1, interval, s2),
+                parallel
         );
     }
 
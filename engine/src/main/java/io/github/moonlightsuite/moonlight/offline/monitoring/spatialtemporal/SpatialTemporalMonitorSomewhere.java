@@ -23,6 +23,7 @@ package io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal;
 import io.github.moonlightsuite.moonlight.core.algorithms.SpatialAlgorithms;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.offline.algorithms.SpatialOp;
@@ -45,28 +46,44 @@ public class SpatialTemporalMonitorSomewhere<S, T, R> implements SpatialTemporal
     private final Function<SpatialModel<S>, DistanceStructure<S, ?>> distance;
     private final SignalDomain<R> domain;
     private final boolean parallel;
+    private final boolean parallelOverTime;
 
     public SpatialTemporalMonitorSomewhere(SpatialTemporalMonitor<S, T, R> m,
                                            Function<SpatialModel<S>, DistanceStructure<S, ?>> distance,
                                            SignalDomain<R> domain,
                                            boolean parallel) {
+        this(m, distance, domain, parallel, false);
+    }
+
+    /**
+     * @param parallelOverTime whether the time points are evaluated in
+     *                         parallel, see {@link SpatialOp}
+     */
+    public SpatialTemporalMonitorSomewhere(SpatialTemporalMonitor<S, T, R> m,
+                                           Function<SpatialModel<S>, DistanceStructure<S, ?>> distance,
+                                           SignalDomain<R> domain,
+                                           boolean parallel,
+                                           boolean parallelOverTime) {
         this.m = m;
         this.distance = distance;
         this.domain = domain;
         this.parallel = parallel;
+        this.parallelOverTime = parallelOverTime;
     }
 
     @Override
     public SpatialTemporalSignal<R> monitor(LocationService<Double, S> locationService, SpatialTemporalSignal<T> signal) {
         SpatialOp<S, R> sp = new SpatialOp<>(locationService,
                 distance,
-                this::somewhereOp);
+                this::somewhereOp,
+                parallelOverTime);
         return sp.computeUnary(m.monitor(locationService, signal));
     }
 
     private IntFunction<R> somewhereOp(IntFunction<R> spatialSignal,
                                        DistanceStructure<S, ?> ds) {
-        return new SpatialAlgorithms<>(ds, domain, parallel)
+        return new SpatialAlgorithms<>(ds, domain, parallel, true,
+                                       DistanceStructureCache.of(distance))
                 .somewhere(spatialSignal);
     }
 }
@@ -39,20 +39,33 @@ public class SpatialTemporalMonitorUnaryOperator<S, T, R>
 {
 	private final SpatialTemporalMonitor<S, T, R> m;
 	private final UnaryOperator<R> op;
+	private final boolean parallel;
 
 	public SpatialTemporalMonitorUnaryOperator(
 			SpatialTemporalMonitor<S, T, R> m,
 			UnaryOperator<R> op)
+	{
+		this(m, op, false);
+	}
+
+	/**
+	 * @param parallel whether locations are processed in parallel
+	 */
+	public SpatialTemporalMonitorUnaryOperator(
+			SpatialTemporalMonitor<S, T, R> m,
+			UnaryOperator<R> op,
+			boolean parallel)
 	{
 		this.m = m;
 		this.op = op;
+		this.parallel = parallel;
 	}
 
 	@Override
 	public SpatialTemporalSignal<R> monitor(LocationService<Double, S> locationService,
 											SpatialTemporalSignal<T> signal)
 	{
-		return m.monitor(locationService, signal).apply(op);
+		return m.monitor(locationService, signal).apply(op, parallel);
 	}
 
 }
@@ -20,10 +20,14 @@
 
 package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
 /**
@@ -48,6 +52,8 @@ import io.github.moonlightsuite.moonlight.offline.signal.Signal;
  * @see TemporalMonitorUntil
  * @see TemporalMonitorPastOperator
  * @see TemporalMonitorSince
+ * @see TemporalMonitorShared
+ * @see TemporalMonitorFused
  */
 public interface TemporalMonitor<T, R> {
 
@@ -57,6 +63,26 @@ public interface TemporalMonitor<T, R> {
 		return new TemporalMonitorAtomic<>(atomic);
 	}
 
+	/**
+	 * Atomic monitor whose output signals use the most compact
+	 * representation available for the given domain.
+	 *
+	 * @see Signal#factory(SignalDomain)
+	 */
+	static <T, R> TemporalMonitor<T, R> atomicMonitor(Function<T, R> atomic, SignalDomain<R> domain) {
+		return new TemporalMonitorAtomic<>(atomic, Signal.factory(domain));
+	}
+
+	/**
+	 * Atomic monitor that only reads the input signal over the given
+	 * time range.
+	 *
+	 * @see io.github.moonlightsuite.moonlight.formula.FormulaHorizon
+	 */
+	static <T, R> TemporalMonitor<T, R> atomicMonitor(Function<T, R> atomic, SignalDomain<R> domain, Interval horizon) {
+		return new TemporalMonitorAtomic<>(atomic, Signal.factory(domain), horizon);
+	}
+
 	static <T, R> TemporalMonitor<T, R> andMonitor(TemporalMonitor<T, R> m1, SignalDomain<R> domain, TemporalMonitor<T, R> m2) {
 		return new TemporalMonitorBinaryOperator<>(m1, domain::conjunction, m2);
 	}
@@ -74,19 +100,19 @@ public interface TemporalMonitor<T, R> {
 	}
 
 	static <T, R> TemporalMonitor<T, R> eventuallyMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain) {
-		return new TemporalMonitorFutureOperator<>(m, domain::disjunction, domain.min());
+		return new TemporalMonitorFutureOperator<>(m, domain, false, null, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> eventuallyMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain, Interval interval) {
-		return new TemporalMonitorFutureOperator<>(m, domain::disjunction, domain.min(), interval);
+		return new TemporalMonitorFutureOperator<>(m, domain, false, interval, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> globallyMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain) {
-		return new TemporalMonitorFutureOperator<>(m, domain::conjunction, domain.max());
+		return new TemporalMonitorFutureOperator<>(m, domain, true, null, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> globallyMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain, Interval interval) {
-		return new TemporalMonitorFutureOperator<>(m, domain::conjunction, domain.max(), interval);
+		return new TemporalMonitorFutureOperator<>(m, domain, true, interval, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> untilMonitor(TemporalMonitor<T, R> m1, TemporalMonitor<T, R> m2, SignalDomain<R> domain) {
@@ -97,20 +123,28 @@ public interface TemporalMonitor<T, R> {
 		return new TemporalMonitorUntil<>(m1, interval, m2, domain);
 	}
 
+	/**
+	 * Until monitor whose arguments are evaluated by the given strategy;
+	 * the interval is <code>null</code> for the unbounded operator.
+	 */
+	static <T, R> TemporalMonitor<T, R> untilMonitor(TemporalMonitor<T, R> m1, Interval interval, TemporalMonitor<T, R> m2, SignalDomain<R> domain, ForkJoinBranches branches) {
+		return new TemporalMonitorUntil<>(m1, interval, m2, domain, branches);
+	}
+
 	static <T, R> TemporalMonitor<T, R> historicallyMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain) {
-		return new TemporalMonitorPastOperator<>(m, domain::conjunction, domain.max());
+		return new TemporalMonitorPastOperator<>(m, domain, true, null, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> historicallyMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain, Interval interval) {
-		return new TemporalMonitorPastOperator<>(m, domain::conjunction, domain.max(), interval);
+		return new TemporalMonitorPastOperator<>(m, domain, true, interval, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> onceMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain) {
-		return new TemporalMonitorPastOperator<>(m, domain::disjunction, domain.min());
+		return new TemporalMonitorPastOperator<>(m, domain, false, null, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> onceMonitor(TemporalMonitor<T, R> m, SignalDomain<R> domain, Interval interval) {
-		return new TemporalMonitorPastOperator<>(m, domain::disjunction, domain.min(), interval);
+		return new TemporalMonitorPastOperator<>(m, domain, false, interval, false);
 	}
 
 	static <T, R> TemporalMonitor<T, R> sinceMonitor(TemporalMonitor<T, R> m1, TemporalMonitor<T, R> m2, SignalDomain<R> domain) {
@@ -120,4 +154,20 @@ public interface TemporalMonitor<T, R> {
 	static <T, R> TemporalMonitor<T, R> sinceMonitor(TemporalMonitor<T, R> m1, Interval interval, TemporalMonitor<T, R> m2, SignalDomain<R> domain) {
 		return new TemporalMonitorSince<>(m1, interval, m2, domain);
 	}
+
+	/**
+	 * Since monitor whose arguments are evaluated by the given strategy;
+	 * the interval is <code>null</code> for the unbounded operator.
+	 */
+	static <T, R> TemporalMonitor<T, R> sinceMonitor(TemporalMonitor<T, R> m1, Interval interval, TemporalMonitor<T, R> m2, SignalDomain<R> domain, ForkJoinBranches branches) {
+		return new TemporalMonitorSince<>(m1, interval, m2, domain, branches);
+	}
+
+	/**
+	 * Monitor of a subformula whose signal is read by several operators,
+	 * which computes it once for all of them in the given run.
+	 */
+	static <T, R> TemporalMonitor<T, R> sharedMonitor(TemporalMonitor<T, R> m, Formula f, Map<Formula, CompletableFuture<Signal<R>>> run) {
+		return new TemporalMonitorShared<>(m, f, run);
+	}
 }
@@ -21,8 +21,10 @@
 package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
 
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.offline.algorithms.BooleanOp;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
@@ -37,14 +39,38 @@ import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 public class TemporalMonitorAtomic<T, R> implements TemporalMonitor<T, R> {
 
 	private final Function<T, R> atomic;
+	private final Supplier<Signal<R>> outputFactory;
+	private final Interval horizon;
 
 	public TemporalMonitorAtomic(Function<T, R> atomic) {
+		this(atomic, Signal::new);
+	}
+
+	public TemporalMonitorAtomic(Function<T, R> atomic,
+								 Supplier<Signal<R>> outputFactory)
+	{
+		this(atomic, outputFactory, null);
+	}
+
+	/**
+	 * @param horizon the time range of the input signal to read,
+	 *                or <code>null</code> for the whole signal
+	 */
+	public TemporalMonitorAtomic(Function<T, R> atomic,
+								 Supplier<Signal<R>> outputFactory,
+								 Interval horizon)
+	{
 		this.atomic = atomic;
+		this.outputFactory = outputFactory;
+		this.horizon = horizon;
 	}
 
 	@Override
 	public Signal<R> monitor(Signal<T> signal) {
-		BooleanOp<T, R> booleanOp = new BooleanOp<>();
+		if (horizon != null) {
+			signal = signal.slice(horizon.getStart(), horizon.getEnd());
+		}
+		BooleanOp<T, R> booleanOp = new BooleanOp<>(true, outputFactory);
 		return booleanOp.applyUnary(signal, atomic);
 	}
 
@@ -21,7 +21,12 @@
 package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
 
 import io.github.moonlightsuite.moonlight.offline.algorithms.BooleanOp;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
+import io.github.moonlightsuite.moonlight.offline.signal.BooleanSignal;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+
+import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
 /**
@@ -38,20 +43,44 @@ public class TemporalMonitorBinaryOperator<T, R>
 	private final TemporalMonitor<T, R> m1;
 	private final BinaryOperator<R> op;
 	private final TemporalMonitor<T, R> m2;
+	private final ForkJoinBranches branches;
 
 	public TemporalMonitorBinaryOperator(TemporalMonitor<T, R> m1,
 										 BinaryOperator<R> op,
 										 TemporalMonitor<T, R> m2)
+	{
+		this(m1, op, m2, ForkJoinBranches.SEQUENTIAL);
+	}
+
+	/**
+	 * @param branches strategy to evaluate the two arguments
+	 */
+	public TemporalMonitorBinaryOperator(TemporalMonitor<T, R> m1,
+										 BinaryOperator<R> op,
+										 TemporalMonitor<T, R> m2,
+										 ForkJoinBranches branches)
 	{
 		this.m1 = m1;
 		this.op = op;
 		this.m2 = m2;
+		this.branches = branches;
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Signal<R> monitor(Signal<T> signal) {
-		BooleanOp<R, R> booleanOp = new BooleanOp<>();
-		return booleanOp.applyBinary(m1.monitor(signal), op, m2.monitor(signal));
+		List<Signal<R>> arguments = branches.evaluate(List.of(
+				() -> m1.monitor(signal),
+				() -> m2.monitor(signal)));
+		Signal<R> left = arguments.get(0);
+		Signal<R> right = arguments.get(1);
+		if (left instanceof BooleanSignal l && right instanceof BooleanSignal r) {
+			// Boolean signals are merged directly on their switching times
+			var booleanOperator = (BiFunction<Boolean, Boolean, Boolean>) op;
+			return (Signal<R>) BooleanSignal.apply(l, booleanOperator, r);
+		}
+		BooleanOp<R, R> booleanOp = new BooleanOp<>(true, left::emptyCopy);
+		return booleanOp.applyBinary(left, op, right);
 	}
 
 }
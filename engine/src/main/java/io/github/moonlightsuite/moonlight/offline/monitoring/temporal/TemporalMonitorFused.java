@@ -0,0 +1,107 @@
+package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.offline.algorithms.BooleanOp;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+
+/**
+ * Strategy to interpret a tree of non-temporal operators (and atomic
+ * predicates) as a single operator, which scans its arguments once and
+ * builds no intermediate signal.
+ * <p>
+ * The fused operator reads the current value of the i-th argument, or
+ * the current value of the input signal for {@link #INPUT}.
+ *
+ * @param <T> Signal Trace Type
+ * @param <R> Semantic Interpretation Semiring Type
+ *
+ * @see TemporalMonitor
+ */
+public class TemporalMonitorFused<T, R> implements TemporalMonitor<T, R> {
+
+	/**
+	 * Index of the input signal among the values read by the operator.
+	 */
+	public static final int INPUT = -1;
+
+	private final List<TemporalMonitor<T, R>> arguments;
+	private final boolean readsInput;
+	private final Function<IntFunction<Object>, R> op;
+	private final Supplier<Signal<R>> outputFactory;
+	private final ForkJoinBranches branches;
+	private final Interval horizon;
+
+	/**
+	 * @param arguments monitors of the arguments of the operator
+	 * @param readsInput whether the operator reads the input signal
+	 * @param op the fused operator
+	 * @param outputFactory generator of the (empty) output signals
+	 */
+	public TemporalMonitorFused(List<TemporalMonitor<T, R>> arguments,
+								boolean readsInput,
+								Function<IntFunction<Object>, R> op,
+								Supplier<Signal<R>> outputFactory)
+	{
+		this(arguments, readsInput, op, outputFactory,
+			 ForkJoinBranches.SEQUENTIAL);
+	}
+
+	/**
+	 * @param branches strategy to evaluate the arguments
+	 */
+	public TemporalMonitorFused(List<TemporalMonitor<T, R>> arguments,
+								boolean readsInput,
+								Function<IntFunction<Object>, R> op,
+								Supplier<Signal<R>> outputFactory,
+								ForkJoinBranches branches)
+	{
+		this(arguments, readsInput, op, outputFactory, branches, null);
+	}
+
+	/**
+	 * @param horizon the time range of the input signal read by the
+	 *                operator, or <code>null</code> for the whole signal
+	 */
+	public TemporalMonitorFused(List<TemporalMonitor<T, R>> arguments,
+								boolean readsInput,
+								Function<IntFunction<Object>, R> op,
+								Supplier<Signal<R>> outputFactory,
+								ForkJoinBranches branches,
+								Interval horizon)
+	{
+		this.arguments = List.copyOf(arguments);
+		this.readsInput = readsInput;
+		this.op = op;
+		this.outputFactory = outputFactory;
+		this.branches = branches;
+		this.horizon = horizon;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Signal<R> monitor(Signal<T> signal) {
+		List<Supplier<Signal<Object>>> evaluations = new ArrayList<>();
+		for (TemporalMonitor<T, R> m : arguments) {
+			evaluations.add(() -> (Signal<Object>) m.monitor(signal));
+		}
+		List<Signal<Object>> signals = new ArrayList<>(branches.evaluate(evaluations));
+		if (readsInput && horizon != null) {
+			signals.add((Signal<Object>) signal.slice(horizon.getStart(),
+													  horizon.getEnd()));
+		} else if (readsInput) {
+			signals.add((Signal<Object>) signal);
+		}
+		int input = arguments.size();
+		BooleanOp<Object, R> booleanOp = new BooleanOp<>(true, outputFactory);
+		return booleanOp.applyNary(signals, values ->
+				op.apply(i -> values.apply(i == INPUT ? input : i)));
+	}
+
+}
@@ -24,6 +24,7 @@ import java.util.function.BinaryOperator;
 
 import static io.github.moonlightsuite.moonlight.offline.algorithms.TemporalOp.computeFutureSignal;
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
 /**
@@ -41,6 +42,9 @@ public class TemporalMonitorFutureOperator<T, R>
 	private final BinaryOperator<R>  op;
 	private final R init;
 	private final Interval interval;
+	private final SignalDomain<R> domain;
+	private final boolean isConjunction;
+	private final boolean parallel;
 
 	public TemporalMonitorFutureOperator(TemporalMonitor<T, R> m,
 										 BinaryOperator<R> op, R init,
@@ -50,6 +54,30 @@ public class TemporalMonitorFutureOperator<T, R>
 		this.op = op;
 		this.init = init;
 		this.interval = interval;
+		this.domain = null;
+		this.isConjunction = false;
+		this.parallel = false;
+	}
+
+	/**
+	 * Operator aggregating by the conjunction or by the disjunction of the
+	 * domain, that runs on primitive values when the domain allows it.
+	 *
+	 * @param isConjunction <code>true</code> for the conjunction of the
+	 *                      domain, <code>false</code> for the disjunction
+	 * @param parallel whether long signals are slid in parallel chunks
+	 */
+	public TemporalMonitorFutureOperator(TemporalMonitor<T, R> m,
+										 SignalDomain<R> domain, boolean isConjunction,
+										 Interval interval, boolean parallel)
+	{
+		this.m = m;
+		this.op = isConjunction ? domain::conjunction : domain::disjunction;
+		this.init = isConjunction ? domain.max() : domain.min();
+		this.interval = interval;
+		this.domain = domain;
+		this.isConjunction = isConjunction;
+		this.parallel = parallel;
 	}
 
 	public TemporalMonitorFutureOperator(TemporalMonitor<T, R> m,
@@ -60,7 +88,11 @@ public class TemporalMonitorFutureOperator<T, R>
 
 	@Override
 	public Signal<R> monitor(Signal<T> signal) {
-		return computeFutureSignal(m.monitor(signal), interval, op, init);
+		if (domain == null) {
+			return computeFutureSignal(m.monitor(signal), interval, op, init);
+		}
+		return computeFutureSignal(domain, m.monitor(signal), interval,
+				isConjunction, parallel);
 	}
 
 }
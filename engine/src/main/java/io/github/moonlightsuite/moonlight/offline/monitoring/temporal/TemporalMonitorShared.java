@@ -0,0 +1,79 @@
+package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
+
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Strategy to interpret a subformula that is the argument of several
+ * operators: its signal is computed once per run and handed to each of
+ * them.
+ * <p>
+ * The signals are memoized in a map that belongs to a single run, where
+ * all the monitors read the same input signal; the first operator that
+ * asks for the signal computes it, the others wait for it, also when they
+ * are evaluated concurrently.
+ *
+ * @param <T> Signal Trace Type
+ * @param <R> Semantic Interpretation Semiring Type
+ *
+ * @see TemporalMonitor
+ */
+public class TemporalMonitorShared<T, R> implements TemporalMonitor<T, R> {
+
+	private final TemporalMonitor<T, R> m;
+	private final Formula f;
+	private final Map<Formula, CompletableFuture<Signal<R>>> run;
+
+	/**
+	 * @param m monitor of the shared subformula
+	 * @param f the shared subformula
+	 * @param run the signals of the shared subformulas in the current run
+	 */
+	public TemporalMonitorShared(TemporalMonitor<T, R> m, Formula f,
+								 Map<Formula, CompletableFuture<Signal<R>>> run)
+	{
+		this.m = m;
+		this.f = f;
+		this.run = run;
+	}
+
+	@Override
+	public Signal<R> monitor(Signal<T> signal) {
+		CompletableFuture<Signal<R>> own = new CompletableFuture<>();
+		CompletableFuture<Signal<R>> first = run.putIfAbsent(f, own);
+		if (first != null) {
+			return join(first);
+		}
+		try {
+			Signal<R> output = m.monitor(signal);
+			own.complete(output);
+			return output;
+		} catch (RuntimeException | Error e) {
+			own.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the value of the future, rethrowing the failure of the
+	 * operator that computed it as is
+	 */
+	public static <V> V join(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+}
@@ -23,8 +23,11 @@ package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
 import io.github.moonlightsuite.moonlight.offline.algorithms.TemporalOp;
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
+import java.util.List;
+
 /**
  * Strategy to interpret the Since temporal logic operator.
  *
@@ -39,6 +42,7 @@ public class TemporalMonitorSince<T, R> implements TemporalMonitor<T, R> {
 	private final Interval interval;
 	private final TemporalMonitor<T, R> m2;
 	private final SignalDomain<R> domain;
+	private final ForkJoinBranches branches;
 
 	public TemporalMonitorSince(TemporalMonitor<T, R> m1,
 								TemporalMonitor<T, R> m2,
@@ -51,17 +55,33 @@ public class TemporalMonitorSince<T, R> implements TemporalMonitor<T, R> {
 								Interval interval,
 								TemporalMonitor<T, R> m2,
 								SignalDomain<R> domain)
+	{
+		this(m1, interval, m2, domain, ForkJoinBranches.SEQUENTIAL);
+	}
+
+	/**
+	 * @param branches strategy to evaluate the two arguments
+	 */
+	public TemporalMonitorSince(TemporalMonitor<T, R> m1,
+								Interval interval,
+								TemporalMonitor<T, R> m2,
+								SignalDomain<R> domain,
+								ForkJoinBranches branches)
 	{
 		this.m1 = m1;
 		this.interval = interval;
 		this.m2 = m2;
 		this.domain = domain;
+		this.branches = branches;
 	}
 
 	@Override
 	public Signal<R> monitor(Signal<T> signal) {
-		return TemporalOp.computeSince(domain, m1.monitor(signal),
-							interval, m2.monitor(signal));
+		List<Signal<R>> arguments = branches.evaluate(List.of(
+				() -> m1.monitor(signal),
+				() -> m2.monitor(signal)));
+		return TemporalOp.computeSince(domain, arguments.get(0), interval,
+								   arguments.get(1));
 	}
 
 
@@ -20,9 +20,11 @@
 
 package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
 
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
 import io.github.moonlightsuite.moonlight.offline.algorithms.BooleanOp;
+import io.github.moonlightsuite.moonlight.offline.signal.BooleanSignal;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
 /**
@@ -44,9 +46,16 @@ public class TemporalMonitorUnaryOperator<T, R> implements TemporalMonitor<T, R>
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Signal<R> monitor(Signal<T> signal) {
-		BooleanOp<R, R> booleanOp = new BooleanOp<>();
-		return booleanOp.applyUnary(m.monitor(signal), op);
+		Signal<R> argument = m.monitor(signal);
+		if (argument instanceof BooleanSignal s) {
+			var booleanOperator = (Function<Boolean, Boolean>) op;
+			return (Signal<R>) BooleanSignal.apply(s, booleanOperator);
+		}
+		BooleanOp<R, R> booleanOp = new BooleanOp<>(true,
+													argument::emptyCopy);
+		return booleanOp.applyUnary(argument, op);
 	}
 
 
@@ -23,8 +23,11 @@ package io.github.moonlightsuite.moonlight.offline.monitoring.temporal;
 import io.github.moonlightsuite.moonlight.offline.algorithms.TemporalOp;
 import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.offline.monitoring.ForkJoinBranches;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
 
+import java.util.List;
+
 /**
  * Strategy to interpret the Until operator
  *
@@ -39,6 +42,7 @@ public class TemporalMonitorUntil<T, R> implements TemporalMonitor<T, R> {
 	private final Interval interval;
 	private final TemporalMonitor<T, R> m2;
 	private final SignalDomain<R> domain;
+	private final ForkJoinBranches branches;
 
 	public TemporalMonitorUntil(TemporalMonitor<T, R> m1,
 								TemporalMonitor<T, R> m2,
@@ -51,18 +55,33 @@ public class TemporalMonitorUntil<T, R> implements TemporalMonitor<T, R> {
 								Interval interval,
 								TemporalMonitor<T, R> m2,
 								SignalDomain<R> domain)
+	{
+		this(m1, interval, m2, domain, ForkJoinBranches.SEQUENTIAL);
+	}
+
+	/**
+	 * @param branches strategy to evaluate the two arguments
+	 */
+	public TemporalMonitorUntil(TemporalMonitor<T, R> m1,
+								Interval interval,
+								TemporalMonitor<T, R> m2,
+								SignalDomain<R> domain,
+								ForkJoinBranches branches)
 	{
 		this.m1 = m1;
 		this.interval = interval;
 		this.m2 = m2;
 		this.domain = domain;
+		this.branches = branches;
 	}
 
 	@Override
 	public Signal<R> monitor(Signal<T> signal) {
-		Signal<R> s1 = m1.monitor(signal);
-		Signal<R> s2 = m2.monitor(signal);
-		return TemporalOp.computeUntil(domain, s1, interval, s2);
+		List<Signal<R>> arguments = branches.evaluate(List.of(
+				() -> m1.monitor(signal),
+				() -> m2.monitor(signal)));
+		return TemporalOp.computeUntil(domain, arguments.get(0), interval,
+								   arguments.get(1));
 	}
 
 }
@@ -0,0 +1,204 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Base class of the offline signals that store their segments in arrays
+ * instead of a linked list of {@link Segment}s.
+ * <p>
+ * Implementors only have to expose the starting time and the value of each
+ * segment by index: look-ups, sampling and cursors are then implemented by
+ * binary search over segment starts.
+ *
+ * @param <T> type of the values of the signal
+ *
+ * @see DoubleSignal
+ * @see BooleanSignal
+ */
+public abstract class ArraySignal<T> extends Signal<T> {
+
+    /**
+     * @param i index of the segment, starting from 0
+     * @return the starting time of the i-th segment
+     */
+    public abstract double getTimeAt(int i);
+
+    /**
+     * @param i index of the segment, starting from 0
+     * @return the value of the i-th segment
+     */
+    public abstract T getValueAtIndex(int i);
+
+    @Override
+    public abstract int size();
+
+    @Override
+    public abstract double getEnd();
+
+    @Override
+    public abstract void endAt(double end);
+
+    @Override
+    public double getStart() {
+        return isEmpty() ? Double.NaN : getTimeAt(0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @param i index of the segment, starting from 0
+     * @return the time at which the i-th segment ends
+     */
+    double getSegmentEnd(int i) {
+        return i < size() - 1 ? getTimeAt(i + 1) : getEnd();
+    }
+
+    /**
+     * Binary search of the segment containing the given time.
+     *
+     * @param t time to look for
+     * @return the index of the segment containing <code>t</code>,
+     *         or -1 if <code>t</code> is outside the signal
+     */
+    public int indexOf(double t) {
+        if (isEmpty() || t < getTimeAt(0) || t > getEnd() || Double.isNaN(t)) {
+            return -1;
+        }
+        int low = 0;
+        int high = size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (getTimeAt(mid) <= t) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    void badEnding(double t) {
+        throw new IllegalArgumentException("Trying to define an illegal " +
+                                           "ending time:" + t + "; which is " +
+                                           "before the current " +
+                                           "end of the signal: " + getEnd());
+    }
+
+    @Override
+    public T getValueAt(Double time) {
+        int i = indexOf(time);
+        return i < 0 ? null : getValueAtIndex(i);
+    }
+
+    @Override
+    public <R> void fill(double[] timePoints, R[] data, Function<T, R> f) {
+        if (isEmpty()) {
+            throw new IllegalStateException("No array can be generated from an empty signal is empty!");
+        }
+        for (int i = 0; i < timePoints.length; i++) {
+            int index = indexOf(timePoints[i]);
+            if (index < 0) {
+                throw new IllegalArgumentException("Time " + timePoints[i] +
+                                                   " is outside the signal");
+            }
+            data[i] = f.apply(getValueAtIndex(index));
+        }
+    }
+
+    @Override
+    public Signal<T> suffix(double from) {
+        if (isEmpty() || !(getStart() < from)) {
+            return this;
+        }
+        Signal<T> suffix = emptyCopy();
+        int i = indexOf(from);
+        if (i < 0) {
+            return suffix;
+        }
+        suffix.add(from, getValueAtIndex(i));
+        for (i++; i < size(); i++) {
+            suffix.add(getTimeAt(i), getValueAtIndex(i));
+        }
+        suffix.endAt(getEnd());
+        return suffix;
+    }
+
+    @Override
+    public Signal<T> slice(double from, double to) {
+        if (isEmpty() || (getStart() >= from && getEnd() <= to)) {
+            return this;
+        }
+        Signal<T> slice = emptyCopy();
+        if (from > getEnd() || to < getStart() || from > to) {
+            return slice;
+        }
+        double start = Math.max(from, getStart());
+        for (int i = indexOf(start); i < size() && getTimeAt(i) <= to; i++) {
+            slice.add(Math.max(start, getTimeAt(i)), getValueAtIndex(i));
+        }
+        slice.endAt(Math.min(to, getEnd()));
+        return slice;
+    }
+
+    @Override
+    public SignalCursor<Double, T> getIterator(boolean forward) {
+        return new ArraySignalCursor<>(this, forward);
+    }
+
+    @Override
+    public double[][] arrayOf(ToDoubleFunction<T> f) {
+        int size = size();
+        if (size == 0) {
+            return new double[][] {};
+        }
+        boolean isAPoint = getTimeAt(size - 1) == getEnd();
+        double[][] toReturn = new double[isAPoint ? size : size + 1][2];
+        for (int i = 0; i < size; i++) {
+            toReturn[i][0] = getTimeAt(i);
+            toReturn[i][1] = f.applyAsDouble(getValueAtIndex(i));
+        }
+        if (!isAPoint) {
+            toReturn[size][0] = getEnd();
+            toReturn[size][1] = f.applyAsDouble(getValueAtIndex(size - 1));
+        }
+        return toReturn;
+    }
+
+    @Override
+    public double[][] arrayOf(double[] timePoints, ToDoubleFunction<T> f) {
+        if (isEmpty()) {
+            return new double[][] {};
+        }
+        double[][] toReturn = new double[timePoints.length][2];
+        boolean inside = true;
+        double value = Double.NaN;
+        for (int i = 0; i < timePoints.length; i++) {
+            if (inside) {
+                int index = indexOf(timePoints[i]);
+                inside = index >= 0;
+                if (inside) {
+                    value = f.applyAsDouble(getValueAtIndex(index));
+                }
+            }
+            toReturn[i][0] = timePoints[i];
+            toReturn[i][1] = value;
+        }
+        return toReturn;
+    }
+
+    @Override
+    public Set<Double> getTimeSet() {
+        HashSet<Double> timeSet = new HashSet<>();
+        for (int i = 0; i < size(); i++) {
+            timeSet.add(getTimeAt(i));
+        }
+        timeSet.add(getEnd());
+        return timeSet;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+/**
+ * Cursor over an {@link ArraySignal}.
+ * It follows the same contract of {@link OfflineSignalCursor}, but it scans
+ * the segments of the signal by index, and it moves to arbitrary
+ * time points by binary search.
+ *
+ * @param <T> type of the values of the signal
+ */
+public class ArraySignalCursor<T> implements SignalCursor<Double, T> {
+    private static final int NONE = -1;
+
+    private final ArraySignal<T> signal;
+    private int current;
+    private int previous = NONE;
+    private double time;
+
+    public ArraySignalCursor(ArraySignal<T> signal, boolean forward) {
+        this.signal = signal;
+        if (signal.isEmpty()) {
+            current = NONE;
+            time = Double.NaN;
+        } else if (forward) {
+            current = 0;
+            time = signal.getTimeAt(0);
+        } else {
+            current = signal.size() - 1;
+            time = signal.getSegmentEnd(current);
+        }
+    }
+
+    /**
+     * @return the index of the current segment of the signal
+     */
+    protected int getCurrentIndex() {
+        return current;
+    }
+
+    @Override
+    public Double getCurrentTime() {
+        return time;
+    }
+
+    @Override
+    public T getCurrentValue() {
+        return (current != NONE ? signal.getValueAtIndex(current) : null);
+    }
+
+    @Override
+    public void forward() {
+        if (current != NONE) {
+            previous = current;
+            if (isLast(current) && time < signal.getEnd()) {
+                time = signal.getEnd();
+            } else {
+                current = isLast(current) ? NONE : current + 1;
+                time = (current != NONE ? signal.getTimeAt(current) :
+                                          Double.NaN);
+            }
+        }
+    }
+
+    @Override
+    public void backward() {
+        if (current != NONE) {
+            previous = current;
+            if (time > signal.getTimeAt(current)) {
+                time = signal.getTimeAt(current);
+            } else {
+                current--;
+                time = (current != NONE ? signal.getTimeAt(current) :
+                                          Double.NaN);
+            }
+        }
+    }
+
+    @Override
+    public void revert() {
+        if (previous != NONE) {
+            current = previous;
+        } else
+            throw new UnsupportedOperationException("Nothing to revert");
+    }
+
+    @Override
+    public void move(Double t) {
+        if (current != NONE) {
+            current = signal.indexOf(t);
+            time = t;
+        }
+    }
+
+    @Override
+    public Double nextTime() {
+        if (current != NONE) {
+            if (!isLast(current)) {
+                return signal.getTimeAt(current + 1);
+            }
+            return time < signal.getEnd() ? signal.getEnd() : Double.NaN;
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public Double previousTime() {
+        if (current != NONE) {
+            if (signal.getTimeAt(current) < time) {
+                return signal.getTimeAt(current);
+            } else {
+                return current > 0 ? signal.getTimeAt(current - 1) :
+                                     Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return (current != NONE) && !isLast(current);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return (current != NONE) && (current > 0);
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return (current == NONE);
+    }
+
+    private boolean isLast(int index) {
+        return index == signal.size() - 1;
+    }
+}
@@ -0,0 +1,345 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Offline signal specialized for Boolean values.
+ * <p>
+ * Since consecutive segments always have different values, a Boolean
+ * signal is fully described by its starting time, its initial value and
+ * the sorted array of the times at which its value switches.
+ * No value is ever stored: the value of the i-th segment is the initial
+ * one when i is even and its negation otherwise.
+ * <p>
+ * Boolean connectives are computed directly on this representation
+ * by linear merges of the switching times, see
+ * {@link #and(BooleanSignal, BooleanSignal)},
+ * {@link #or(BooleanSignal, BooleanSignal)} and {@link #not(BooleanSignal)}.
+ */
+public class BooleanSignal extends ArraySignal<Boolean> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double start = Double.NaN;
+    private double end = Double.NaN;
+    private boolean initial;
+    private double[] switches;
+    private int head;
+    private int count;
+
+    public BooleanSignal() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity expected number of value switches of the signal
+     */
+    public BooleanSignal(int capacity) {
+        this.switches = new double[Math.max(capacity, 1)];
+    }
+
+    @Override
+    public BooleanSignal emptyCopy() {
+        return new BooleanSignal();
+    }
+
+    @Override
+    public double getEnd() {
+        return end;
+    }
+
+    @Override
+    public int size() {
+        return Double.isNaN(start) ? 0 : count + 1;
+    }
+
+    /**
+     * @return the value of the signal at its starting time
+     */
+    public boolean getInitialValue() {
+        return initial;
+    }
+
+    @Override
+    public double getTimeAt(int i) {
+        return i == 0 ? start : switches[head + i - 1];
+    }
+
+    @Override
+    public Boolean getValueAtIndex(int i) {
+        return getBooleanValueAt(i);
+    }
+
+    /**
+     * @param i index of the segment, starting from 0
+     * @return the value of the i-th segment, without boxing it
+     */
+    public boolean getBooleanValueAt(int i) {
+        return initial ^ (i % 2 == 1);
+    }
+
+    @Override
+    public void add(double t, Boolean value) {
+        add(t, value.booleanValue());
+    }
+
+    /**
+     * Add (t, value) to the sample set, without boxing the value
+     *
+     * @param t the time to add
+     * @param value the value to add
+     */
+    public void add(double t, boolean value) {
+        if (isEmpty()) {
+            startWith(t, value);
+            return;
+        }
+        if (end > t) {
+            badEnding(t);
+        }
+        boolean last = getBooleanValueAt(count);
+        if (getTimeAt(count) == t) {
+            if (last != value) {
+                overwriteLast(value);
+            }
+        } else if (last != value) {
+            ensureCapacityAfter();
+            switches[head + count] = t;
+            count++;
+            end = t;
+        } else {
+            end = t;
+        }
+    }
+
+    /**
+     * Replaces the value of the last segment, that then merges with the
+     * previous one, if any.
+     */
+    private void overwriteLast(boolean value) {
+        if (count == 0) {
+            initial = value;
+        } else {
+            count--;
+        }
+    }
+
+    @Override
+    public void addBefore(double t, Boolean value) {
+        addBefore(t, value.booleanValue());
+    }
+
+    /**
+     * Add (t, value) at the beginning of the sample set,
+     * without boxing the value
+     *
+     * @param t the time to add
+     * @param value the value to add
+     */
+    public void addBefore(double t, boolean value) {
+        if (isEmpty()) {
+            startWith(t, value);
+            return;
+        }
+        if (start <= t) {
+            throw new IllegalArgumentException("Trying to add time: " + t +
+                                               ". Expected < " + start);
+        }
+        if (initial != value) {
+            ensureCapacityBefore();
+            head--;
+            switches[head] = start;
+            count++;
+            initial = value;
+        }
+        start = t;
+    }
+
+    private void startWith(double t, boolean value) {
+        start = t;
+        end = t;
+        initial = value;
+    }
+
+    private void ensureCapacityAfter() {
+        if (head + count == switches.length) {
+            resize(head, switches.length * 2);
+        }
+    }
+
+    private void ensureCapacityBefore() {
+        if (head == 0) {
+            int gap = Math.max(count, INITIAL_CAPACITY);
+            resize(gap, switches.length + gap);
+        }
+    }
+
+    private void resize(int newHead, int capacity) {
+        double[] newSwitches = new double[capacity];
+        System.arraycopy(switches, head, newSwitches, newHead, count);
+        switches = newSwitches;
+        head = newHead;
+    }
+
+    @Override
+    public void endAt(double end) {
+        if (isEmpty() || this.end > end) {
+            badEnding(end);
+        }
+        this.end = end;
+    }
+
+    @Override
+    public int indexOf(double t) {
+        if (isEmpty() || t < start || t > end || Double.isNaN(t)) {
+            return -1;
+        }
+        int found = Arrays.binarySearch(switches, head, head + count, t);
+        if (found < 0) {
+            found = -found - 1;
+        } else {
+            found++;
+        }
+        return found - head;
+    }
+
+    /**
+     * @param s1 first operand
+     * @param s2 second operand
+     * @return the pointwise conjunction of the two signals,
+     *         defined on the intersection of their domains
+     */
+    public static BooleanSignal and(BooleanSignal s1, BooleanSignal s2) {
+        return merge(s1, s2, false, false, false, true);
+    }
+
+    /**
+     * @param s1 first operand
+     * @param s2 second operand
+     * @return the pointwise disjunction of the two signals,
+     *         defined on the intersection of their domains
+     */
+    public static BooleanSignal or(BooleanSignal s1, BooleanSignal s2) {
+        return merge(s1, s2, false, true, true, true);
+    }
+
+    /**
+     * @param s1 first operand
+     * @param op any Boolean binary operator
+     * @param s2 second operand
+     * @return the pointwise application of <code>op</code> to the two
+     *         signals, defined on the intersection of their domains
+     */
+    public static BooleanSignal apply(BooleanSignal s1,
+                                      BiFunction<Boolean, Boolean, Boolean> op,
+                                      BooleanSignal s2)
+    {
+        return merge(s1, s2,
+                     op.apply(false, false), op.apply(false, true),
+                     op.apply(true, false), op.apply(true, true));
+    }
+
+    /**
+     * @param s the operand
+     * @return the pointwise negation of the signal
+     */
+    public static BooleanSignal not(BooleanSignal s) {
+        return copy(s, true);
+    }
+
+    /**
+     * @param s the operand
+     * @param op any Boolean unary operator
+     * @return the pointwise application of <code>op</code> to the signal
+     */
+    public static BooleanSignal apply(BooleanSignal s,
+                                      Function<Boolean, Boolean> op)
+    {
+        boolean onFalse = op.apply(false);
+        boolean onTrue = op.apply(true);
+        if (onFalse != onTrue) {
+            return copy(s, onFalse);
+        }
+        BooleanSignal result = new BooleanSignal(1);
+        if (!s.isEmpty()) {
+            result.startWith(s.start, onTrue);
+            result.end = s.end;
+        }
+        return result;
+    }
+
+    private static BooleanSignal copy(BooleanSignal s, boolean negate) {
+        BooleanSignal result = new BooleanSignal(s.count);
+        if (!s.isEmpty()) {
+            System.arraycopy(s.switches, s.head, result.switches, 0, s.count);
+            result.count = s.count;
+            result.start = s.start;
+            result.end = s.end;
+            result.initial = s.initial ^ negate;
+        }
+        return result;
+    }
+
+    /**
+     * Linear merge of the switching times of the two signals, where the
+     * Boolean operator is given by its truth table.
+     */
+    private static BooleanSignal merge(BooleanSignal s1, BooleanSignal s2,
+                                       boolean ff, boolean ft,
+                                       boolean tf, boolean tt)
+    {
+        BooleanSignal result = new BooleanSignal(s1.count + s2.count);
+        if (s1.isEmpty() || s2.isEmpty()) {
+            return result;
+        }
+        double from = Math.max(s1.start, s2.start);
+        double to = Math.min(s1.end, s2.end);
+        int i1 = s1.indexOf(from);
+        int i2 = s2.indexOf(from);
+        if (i1 < 0 || i2 < 0 || from > to) {
+            return result;
+        }
+        boolean v1 = s1.getBooleanValueAt(i1);
+        boolean v2 = s2.getBooleanValueAt(i2);
+        boolean value = truth(v1, v2, ff, ft, tf, tt);
+        result.startWith(from, value);
+        int last1 = s1.size() - 1;
+        int last2 = s2.size() - 1;
+        while (i1 < last1 || i2 < last2) {
+            double t1 = i1 < last1 ? s1.getTimeAt(i1 + 1) :
+                                     Double.POSITIVE_INFINITY;
+            double t2 = i2 < last2 ? s2.getTimeAt(i2 + 1) :
+                                     Double.POSITIVE_INFINITY;
+            double t = Math.min(t1, t2);
+            if (t > to) {
+                break;
+            }
+            if (t1 == t) {
+                i1++;
+                v1 = !v1;
+            }
+            if (t2 == t) {
+                i2++;
+                v2 = !v2;
+            }
+            boolean next = truth(v1, v2, ff, ft, tf, tt);
+            if (next != value) {
+                result.switches[result.count++] = t;
+                value = next;
+            }
+        }
+        result.end = to;
+        return result;
+    }
+
+    private static boolean truth(boolean v1, boolean v2,
+                                 boolean ff, boolean ft,
+                                 boolean tf, boolean tt)
+    {
+        if (v1) {
+            return v2 ? tt : tf;
+        }
+        return v2 ? ft : ff;
+    }
+}
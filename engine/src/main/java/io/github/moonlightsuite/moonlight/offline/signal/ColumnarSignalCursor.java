@@ -0,0 +1,195 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Cursor over a {@link ColumnarSpatialTemporalSignal}.
+ * <p>
+ * Since all the locations share the same time axis, the cursor only keeps
+ * track of the current sample, hence each step costs O(1), regardless of
+ * the number of locations. The cursors of single locations, see
+ * {@link #getCursors()}, are views of this cursor: moving one of them moves
+ * all the locations.
+ *
+ * @param <V> type of the values of the signal
+ */
+public class ColumnarSignalCursor<V> extends ParallelSignalCursor<V> {
+    private static final int NONE = -1;
+
+    private final ColumnarSpatialTemporalSignal<V> signal;
+    private List<SignalCursor<Double, V>> views;
+    private int current;
+    private double time;
+
+    public ColumnarSignalCursor(ColumnarSpatialTemporalSignal<V> signal,
+                                boolean forward) {
+        super(0, l -> null);
+        this.signal = signal;
+        int samples = signal.getNumberOfSamples();
+        if (samples == 0) {
+            current = NONE;
+            time = Double.NaN;
+        } else {
+            current = forward ? 0 : samples - 1;
+            time = signal.getTimeAt(current);
+        }
+    }
+
+    @Override
+    public boolean areSynchronized() {
+        return !Double.isNaN(time);
+    }
+
+    @Override
+    public Double getCurrentTime() {
+        return time;
+    }
+
+    @Override
+    public double syncCursors() {
+        return time;
+    }
+
+    @Override
+    public void move(Double t) {
+        if (current != NONE) {
+            current = signal.indexOf(t);
+            time = t;
+        }
+    }
+
+    @Override
+    public Double nextTime() {
+        if (current == NONE) {
+            return Double.NaN;
+        }
+        if (!isLast()) {
+            return signal.getTimeAt(current + 1);
+        }
+        return time < signal.end() ? signal.end() : Double.NaN;
+    }
+
+    @Override
+    public Double previousTime() {
+        if (current == NONE) {
+            return Double.NaN;
+        }
+        if (signal.getTimeAt(current) < time) {
+            return signal.getTimeAt(current);
+        }
+        return current > 0 ? signal.getTimeAt(current - 1) : Double.NaN;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return current != NONE && !isLast();
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return current != NONE && current > 0;
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return current == NONE;
+    }
+
+    @Override
+    public IntFunction<V> getCurrentValue() {
+        int sample = current;
+        return l -> sample == NONE ? null : signal.getValueAt(l, sample);
+    }
+
+    @Override
+    protected SignalCursor<Double, V> getCursorAtLocation(int location) {
+        return getCursors().get(location);
+    }
+
+    /**
+     * @return the cursors of the single locations, that share the current
+     * sample of this cursor
+     */
+    @Override
+    public List<SignalCursor<Double, V>> getCursors() {
+        if (views == null) {
+            views = IntStream.range(0, signal.getNumberOfLocations())
+                    .<SignalCursor<Double, V>>mapToObj(LocationView::new)
+                    .toList();
+        }
+        return views;
+    }
+
+    private boolean isLast() {
+        return current == signal.getNumberOfSamples() - 1;
+    }
+
+    /**
+     * Cursor of a single location, that reads and moves the enclosing one.
+     */
+    private class LocationView implements SignalCursor<Double, V> {
+        private final int location;
+
+        LocationView(int location) {
+            this.location = location;
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return ColumnarSignalCursor.this.isCompleted();
+        }
+
+        @Override
+        public Double getCurrentTime() {
+            return ColumnarSignalCursor.this.getCurrentTime();
+        }
+
+        @Override
+        public V getCurrentValue() {
+            return current == NONE ? null : signal.getValueAt(location,
+                                                              current);
+        }
+
+        @Override
+        public void forward() {
+            ColumnarSignalCursor.this.forward();
+        }
+
+        @Override
+        public void backward() {
+            ColumnarSignalCursor.this.backward();
+        }
+
+        @Override
+        public void revert() {
+            ColumnarSignalCursor.this.revert();
+        }
+
+        @Override
+        public void move(Double t) {
+            ColumnarSignalCursor.this.move(t);
+        }
+
+        @Override
+        public Double nextTime() {
+            return ColumnarSignalCursor.this.nextTime();
+        }
+
+        @Override
+        public Double previousTime() {
+            return ColumnarSignalCursor.this.previousTime();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return ColumnarSignalCursor.this.hasNext();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return ColumnarSignalCursor.this.hasPrevious();
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import io.github.moonlightsuite.moonlight.core.base.MoonLightRecord;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Offline spatio-temporal signal whose locations are all sampled on a
+ * common time grid.
+ * <p>
+ * Instead of one list of segments per location, it stores a single shared
+ * <code>double[]</code> time axis and a dense <code>double[]</code> block
+ * holding, sample after sample, the encoded values of all the locations.
+ * Values are converted from and to doubles by a {@link Codec}.
+ * Samples can either be kept on the heap, and added as for any other
+ * spatio-temporal signal, or be read from any other {@link SampleColumns},
+ * e.g. a file mapped in memory.
+ * <p>
+ * The temporal signal of each location is a read-only view over the
+ * block, and the cursor returned by {@link #getSignalCursor(boolean)}
+ * moves all the locations at once, in constant time per step.
+ *
+ * @param <T> type of the values of the signal
+ */
+public class ColumnarSpatialTemporalSignal<T> extends SpatialTemporalSignal<T> {
+    private final Layout<T> layout;
+
+    /**
+     * Builds an `empty` columnar spatio-temporal signal
+     *
+     * @param size number of locations of the signal
+     * @param codec conversion of values from and to doubles
+     */
+    public ColumnarSpatialTemporalSignal(int size, Codec<T> codec) {
+        this(new Layout<>(new HeapColumns(size, codec.width()), codec));
+    }
+
+    /**
+     * Builds a read-only signal over the given samples
+     *
+     * @param columns the samples of the signal
+     * @param codec conversion of values from doubles
+     */
+    public ColumnarSpatialTemporalSignal(SampleColumns columns, Codec<T> codec) {
+        this(new Layout<>(columns, codec));
+    }
+
+    private ColumnarSpatialTemporalSignal(Layout<T> layout) {
+        super(layout.columns.getNumberOfLocations(), layout::signalAt);
+        if (layout.columns.getWidth() != layout.codec.width()) {
+            throw new IllegalArgumentException("Values of width " +
+                    layout.codec.width() + " expected, found " +
+                    layout.columns.getWidth());
+        }
+        this.layout = layout;
+    }
+
+    @Override
+    public void add(double t, IntFunction<T> f) {
+        if (!(layout.columns instanceof HeapColumns heap)) {
+            throw new UnsupportedOperationException("The signal is read-only");
+        }
+        heap.add(t, layout.codec, f);
+    }
+
+    /**
+     * @return the samples of the signal
+     */
+    public SampleColumns getColumns() {
+        return layout.columns;
+    }
+
+    /**
+     * @return the number of samples of the signal
+     */
+    public int getNumberOfSamples() {
+        return layout.columns.getNumberOfSamples();
+    }
+
+    /**
+     * @param sample index of the sample
+     * @return the time of the given sample
+     */
+    public double getTimeAt(int sample) {
+        return layout.columns.getTime(sample);
+    }
+
+    /**
+     * @param location a location of the signal
+     * @param sample index of the sample
+     * @return the value of the signal at the given location and sample
+     */
+    public T getValueAt(int location, int sample) {
+        return layout.valueAt(location, sample);
+    }
+
+    @Override
+    public ColumnarSignalCursor<T> getSignalCursor(boolean forward) {
+        return new ColumnarSignalCursor<>(this, forward);
+    }
+
+    @Override
+    public double start() {
+        return getNumberOfSamples() == 0 ? Double.NaN : getTimeAt(0);
+    }
+
+    @Override
+    public double end() {
+        return layout.end();
+    }
+
+    @Override
+    public double[] getTimeArray() {
+        double[] times = new double[getNumberOfSamples()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = getTimeAt(i);
+        }
+        return times;
+    }
+
+    /**
+     * @param t a time point
+     * @return the index of the sample containing <code>t</code>,
+     *         or -1 if <code>t</code> is outside the signal
+     */
+    int indexOf(double t) {
+        return layout.indexOf(t);
+    }
+
+    /**
+     * Conversion of the values of a signal from and to
+     * fixed-size blocks of doubles.
+     *
+     * @param <T> type of the values
+     */
+    public interface Codec<T> {
+
+        /**
+         * @return number of doubles used to encode a value
+         */
+        int width();
+
+        void encode(T value, double[] block, int offset);
+
+        T decode(SampleColumns columns, long offset);
+
+        static Codec<Double> reals() {
+            return new Codec<>() {
+                @Override
+                public int width() {
+                    return 1;
+                }
+
+                @Override
+                public void encode(Double value, double[] block, int offset) {
+                    block[offset] = value;
+                }
+
+                @Override
+                public Double decode(SampleColumns columns, long offset) {
+                    return columns.getValue(offset);
+                }
+            };
+        }
+
+        /**
+         * Records are encoded variable by variable, by the double
+         * representation given by the data handler of each variable.
+         */
+        static Codec<MoonLightRecord> records(RecordHandler handler) {
+            return new Codec<>() {
+                @Override
+                public int width() {
+                    return handler.size();
+                }
+
+                @Override
+                public void encode(MoonLightRecord value, double[] block,
+                                   int offset) {
+                    for (int i = 0; i < handler.size(); i++) {
+                        block[offset + i] = value.getDoubleOf(i);
+                    }
+                }
+
+                @Override
+                public MoonLightRecord decode(SampleColumns columns,
+                                              long offset) {
+                    double[] values = new double[handler.size()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = columns.getValue(offset + i);
+                    }
+                    return handler.fromDoubleArray(values);
+                }
+            };
+        }
+    }
+
+    /**
+     * The samples together with their decoding, shared by the signal and
+     * by the views of its locations.
+     */
+    private record Layout<T>(SampleColumns columns, Codec<T> codec) {
+
+        T valueAt(int location, int sample) {
+            return codec.decode(columns, columns.offsetOf(location, sample));
+        }
+
+        double end() {
+            int samples = columns.getNumberOfSamples();
+            return samples == 0 ? Double.NaN : columns.getTime(samples - 1);
+        }
+
+        int indexOf(double t) {
+            int samples = columns.getNumberOfSamples();
+            if (samples == 0 || t < columns.getTime(0) || t > end() ||
+                Double.isNaN(t))
+            {
+                return -1;
+            }
+            int low = 0;
+            int high = samples - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (columns.getTime(mid) <= t) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        Signal<T> signalAt(int location) {
+            return new LocationSignal<>(this, location);
+        }
+    }
+
+    /**
+     * Samples stored on the heap, in growable arrays.
+     */
+    private static class HeapColumns implements SampleColumns {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int locations;
+        private final int width;
+        private final int rowSize;
+        private double[] times;
+        private double[] values;
+        private int samples;
+
+        HeapColumns(int locations, int width) {
+            this.locations = locations;
+            this.width = width;
+            this.rowSize = locations * width;
+            this.times = new double[INITIAL_CAPACITY];
+            this.values = new double[INITIAL_CAPACITY * rowSize];
+        }
+
+        <T> void add(double t, Codec<T> codec, IntFunction<T> f) {
+            int sample = samples;
+            if (samples > 0 && times[samples - 1] >= t) {
+                if (times[samples - 1] > t) {
+                    throw new IllegalArgumentException(
+                            "Trying to add time: " + t + ". Expected >= " +
+                            times[samples - 1]);
+                }
+                sample = samples - 1;
+            } else {
+                ensureCapacity();
+                times[sample] = t;
+                samples++;
+            }
+            int offset = sample * rowSize;
+            for (int l = 0; l < locations; l++) {
+                codec.encode(f.apply(l), values, offset + l * width);
+            }
+        }
+
+        private void ensureCapacity() {
+            if (samples == times.length) {
+                times = Arrays.copyOf(times, times.length * 2);
+                values = Arrays.copyOf(values, times.length * rowSize);
+            }
+        }
+
+        @Override
+        public int getNumberOfLocations() {
+            return locations;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getNumberOfSamples() {
+            return samples;
+        }
+
+        @Override
+        public double getTime(int sample) {
+            return times[sample];
+        }
+
+        @Override
+        public double getValue(long index) {
+            return values[(int) index];
+        }
+    }
+
+    /**
+     * Read-only view of the temporal signal of a single location.
+     */
+    private static class LocationSignal<T> extends ArraySignal<T> {
+        private final Layout<T> layout;
+        private final int location;
+
+        LocationSignal(Layout<T> layout, int location) {
+            this.layout = layout;
+            this.location = location;
+        }
+
+        @Override
+        public double getTimeAt(int i) {
+            return layout.columns.getTime(i);
+        }
+
+        @Override
+        public T getValueAtIndex(int i) {
+            return layout.valueAt(location, i);
+        }
+
+        @Override
+        public int size() {
+            return layout.columns.getNumberOfSamples();
+        }
+
+        @Override
+        public double getEnd() {
+            return layout.end();
+        }
+
+        @Override
+        public int indexOf(double t) {
+            return layout.indexOf(t);
+        }
+
+        @Override
+        public void add(double t, T value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBefore(double t, T value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void endAt(double end) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException(
+                    "Locations of a columnar signal can only be updated " +
+                    "through the spatio-temporal signal");
+        }
+    }
+}
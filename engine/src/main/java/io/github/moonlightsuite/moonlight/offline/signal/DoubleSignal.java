@@ -0,0 +1,202 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import java.util.Arrays;
+
+/**
+ * Offline signal specialized for real values.
+ * <p>
+ * Instead of a linked list of boxed {@link Segment}s, it keeps the starting
+ * times and the values of the segments in two parallel, growable
+ * <code>double[]</code> columns. Its semantics is the same of
+ * {@link Signal}: consecutive samples with the same value are merged into
+ * a single segment, and the last segment is closed at the end of the signal.
+ * <p>
+ * Columns can grow on both sides, so that both {@link #add(double, double)}
+ * and {@link #addBefore(double, double)} run in amortized constant time.
+ *
+ * @see DoubleSignalCursor for the corresponding cursor
+ */
+public class DoubleSignal extends ArraySignal<Double> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] times;
+    private double[] values;
+    private int head;
+    private int size;
+    private double end = Double.NaN;
+
+    public DoubleSignal() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity expected number of segments of the signal
+     */
+    public DoubleSignal(int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.times = new double[initial];
+        this.values = new double[initial];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    @Override
+    public DoubleSignal emptyCopy() {
+        return new DoubleSignal();
+    }
+
+    @Override
+    public double getEnd() {
+        return end;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(double t, Double value) {
+        add(t, value.doubleValue());
+    }
+
+    /**
+     * Add (t, value) to the sample set, without boxing the value
+     *
+     * @param t the time to add
+     * @param value the value to add
+     */
+    public void add(double t, double value) {
+        if (size == 0) {
+            startWith(t, value);
+            return;
+        }
+        if (end > t) {
+            badEnding(t);
+        }
+        int last = head + size - 1;
+        if (times[last] == t) {
+            values[last] = value;
+        } else if (sameValue(values[last], value)) {
+            end = t;
+        } else {
+            ensureCapacityAfter();
+            times[head + size] = t;
+            values[head + size] = value;
+            size++;
+            end = t;
+        }
+    }
+
+    @Override
+    public void addBefore(double t, Double value) {
+        addBefore(t, value.doubleValue());
+    }
+
+    /**
+     * Add (t, value) at the beginning of the sample set,
+     * without boxing the value
+     *
+     * @param t the time to add
+     * @param value the value to add
+     */
+    public void addBefore(double t, double value) {
+        if (size == 0) {
+            startWith(t, value);
+            return;
+        }
+        if (times[head] <= t) {
+            throw new IllegalArgumentException("Trying to add time: " + t +
+                                               ". Expected < " + times[head]);
+        }
+        if (sameValue(values[head], value)) {
+            times[head] = t;
+        } else {
+            ensureCapacityBefore();
+            head--;
+            times[head] = t;
+            values[head] = value;
+            size++;
+        }
+    }
+
+    private void startWith(double t, double value) {
+        times[head] = t;
+        values[head] = value;
+        size = 1;
+        end = t;
+    }
+
+    /**
+     * Same notion of equality used by {@link Segment} for boxed values.
+     */
+    private static boolean sameValue(double v1, double v2) {
+        return Double.doubleToLongBits(v1) == Double.doubleToLongBits(v2);
+    }
+
+    private void ensureCapacityAfter() {
+        if (head + size == times.length) {
+            resize(head, times.length * 2);
+        }
+    }
+
+    private void ensureCapacityBefore() {
+        if (head == 0) {
+            int gap = Math.max(size, INITIAL_CAPACITY);
+            resize(gap, times.length + gap);
+        }
+    }
+
+    private void resize(int newHead, int capacity) {
+        double[] newTimes = new double[capacity];
+        double[] newValues = new double[capacity];
+        System.arraycopy(times, head, newTimes, newHead, size);
+        System.arraycopy(values, head, newValues, newHead, size);
+        times = newTimes;
+        values = newValues;
+        head = newHead;
+    }
+
+    @Override
+    public void endAt(double end) {
+        if (size == 0 || this.end > end) {
+            badEnding(end);
+        }
+        this.end = end;
+    }
+
+    @Override
+    public double getTimeAt(int i) {
+        return times[head + i];
+    }
+
+    @Override
+    public Double getValueAtIndex(int i) {
+        return values[head + i];
+    }
+
+    /**
+     * @param i index of the segment, starting from 0
+     * @return the value of the i-th segment, without boxing it
+     */
+    public double getDoubleValueAt(int i) {
+        return values[head + i];
+    }
+
+    @Override
+    public int indexOf(double t) {
+        if (size == 0 || t < times[head] || t > end || Double.isNaN(t)) {
+            return -1;
+        }
+        int found = Arrays.binarySearch(times, head, head + size, t);
+        if (found < 0) {
+            found = -found - 2;
+        }
+        return found - head;
+    }
+
+    @Override
+    public DoubleSignalCursor getIterator(boolean forward) {
+        return new DoubleSignalCursor(this, forward);
+    }
+}
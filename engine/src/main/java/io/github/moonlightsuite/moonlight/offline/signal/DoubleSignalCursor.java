@@ -0,0 +1,21 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+/**
+ * Cursor over a {@link DoubleSignal}, that can also read the current value
+ * without boxing it.
+ */
+public class DoubleSignalCursor extends ArraySignalCursor<Double> {
+    private final DoubleSignal signal;
+
+    public DoubleSignalCursor(DoubleSignal signal, boolean forward) {
+        super(signal, forward);
+        this.signal = signal;
+    }
+
+    /**
+     * @return the current value, without boxing it
+     */
+    public double getCurrentDoubleValue() {
+        return signal.getDoubleValueAt(getCurrentIndex());
+    }
+}
@@ -8,13 +8,32 @@ public class OfflineSignalCursor<T> implements SignalCursor<Double, T> {
     private Segment<T> current;
     private double time;
     private Segment<T> previous = null;
+    private final Signal<T> signal;
 
     public OfflineSignalCursor(boolean forward, Segment<T> first,
                                Segment<T> last)
+    {
+        this(forward, first, last, null);
+    }
+
+    /**
+     * Cursor over the segments of the given signal, that uses the index of
+     * the signal to {@link #move(Double)} to arbitrary time points.
+     *
+     * @param forward direction of the cursor
+     * @param signal the signal to scan
+     */
+    public OfflineSignalCursor(boolean forward, Signal<T> signal) {
+        this(forward, signal.getFirst(), signal.getLast(), signal);
+    }
+
+    private OfflineSignalCursor(boolean forward, Segment<T> first,
+                                Segment<T> last, Signal<T> signal)
     {
         this.forward = forward;
         this.first = first;
         this.last = last;
+        this.signal = signal;
         current = setCurrent();
         time = setTime();
     }
@@ -82,7 +101,8 @@ public class OfflineSignalCursor<T> implements SignalCursor<Double, T> {
     @Override
     public void move(Double t) {
         if (current != null) {
-            current = current.jump(t);
+            current = (signal != null ? signal.seek(current, t) :
+                                        current.jump(t));
             time = t;
         }
     }
@@ -268,12 +268,22 @@ public class RecordHandler implements DataHandler<MoonLightRecord> {
 
     public static SpatialTemporalSignal<MoonLightRecord> buildSpatioTemporalSignal(int size, RecordHandler handler, double[] time,
                                                                                    String[][][] signal) {
-        return new SpatialTemporalSignal<>(size, i -> buildTemporalSignal(handler, time, signal[i]));
+        var toReturn = new ColumnarSpatialTemporalSignal<>(size, ColumnarSpatialTemporalSignal.Codec.records(handler));
+        for (int j = 0; j < time.length; j++) {
+            int sample = j;
+            toReturn.add(time[j], i -> handler.fromStringArray(signal[i][sample]));
+        }
+        return toReturn;
     }
 
     public static SpatialTemporalSignal<MoonLightRecord> buildSpatioTemporalSignal(int size, RecordHandler handler, double[] time,
                                                                                    double[][][] signal) {
-    	return new SpatialTemporalSignal<>(size, i -> buildTemporalSignal(handler, time, signal[i]));
+        var toReturn = new ColumnarSpatialTemporalSignal<>(size, ColumnarSpatialTemporalSignal.Codec.records(handler));
+        for (int j = 0; j < time.length; j++) {
+            int sample = j;
+            toReturn.add(time[j], i -> handler.fromDoubleArray(signal[i][sample]));
+        }
+        return toReturn;
     }
 
     @Override
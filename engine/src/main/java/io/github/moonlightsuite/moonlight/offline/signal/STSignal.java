@@ -10,9 +10,25 @@ public abstract class STSignal<T> {
     private final List<Signal<T>> signals;
 
     protected STSignal(int size, IntFunction<Signal<T>> f) {
-        this.signals = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            getSignals().add(i, f.apply(i));
+        this(size, f, false);
+    }
+
+    /**
+     * @param size     number of locations of the signal
+     * @param f        mapping from locations to temporal signals
+     * @param parallel whether <code>f</code> is applied to the locations
+     *                 in parallel, in which case it must be thread-safe
+     */
+    protected STSignal(int size, IntFunction<Signal<T>> f, boolean parallel) {
+        if (parallel) {
+            this.signals = new ArrayList<>(IntStream.range(0, size).parallel()
+                    .mapToObj(f)
+                    .toList());
+        } else {
+            this.signals = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                getSignals().add(i, f.apply(i));
+            }
         }
     }
 
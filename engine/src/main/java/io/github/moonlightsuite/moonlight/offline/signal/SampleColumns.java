@@ -0,0 +1,44 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+/**
+ * Read access to the samples of a spatio-temporal signal stored as columns
+ * of doubles: a time axis shared by all the locations, and a block of
+ * values where each value is encoded by {@link #getWidth()} doubles,
+ * location after location and sample after sample.
+ *
+ * @see ColumnarSpatialTemporalSignal
+ */
+public interface SampleColumns {
+
+    int getNumberOfLocations();
+
+    /**
+     * @return number of doubles encoding a single value
+     */
+    int getWidth();
+
+    int getNumberOfSamples();
+
+    /**
+     * @param sample index of the sample
+     * @return the time of the given sample
+     */
+    double getTime(int sample);
+
+    /**
+     * @param index position in the block of values
+     * @return the double stored at the given position
+     */
+    double getValue(long index);
+
+    /**
+     * @param location a location of the signal
+     * @param sample index of the sample
+     * @return the position in the block of values of the first double
+     *         encoding the value of <code>location</code> at
+     *         <code>sample</code>
+     */
+    default long offsetOf(int location, int sample) {
+        return ((long) sample * getNumberOfLocations() + location) * getWidth();
+    }
+}
@@ -23,14 +23,18 @@ package io.github.moonlightsuite.moonlight.offline.signal;
 import io.github.moonlightsuite.moonlight.online.signal.TimeChain;
 import io.github.moonlightsuite.moonlight.online.signal.Update;
 
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.signal.TimeSignal;
 import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 
 /**
@@ -40,6 +44,7 @@ public class Signal<T> implements TimeSignal<Double, T> {
     private Segment<T> first;
     private Segment<T> last;
     private int size;
+    private volatile Segment<T>[] index;
 
     public Signal() {
         this.first = null;
@@ -47,6 +52,36 @@ public class Signal<T> implements TimeSignal<Double, T> {
         this.size = 0;
     }
 
+    /**
+     * Selects the most compact signal representation for the given domain:
+     * real-valued signals are stored in primitive columns, Boolean signals
+     * as lists of switching times, any other signal as a list of segments.
+     *
+     * @param domain the signal domain of the values to store
+     * @param <R> type of the values of the signal
+     * @return a supplier of empty signals suitable for the given domain
+     *
+     * @see DoubleSignal
+     * @see BooleanSignal
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> Supplier<Signal<R>> factory(SignalDomain<R> domain) {
+        if (domain instanceof DoubleDomain) {
+            return () -> (Signal<R>) (Signal<?>) new DoubleSignal();
+        }
+        if (domain instanceof BooleanDomain) {
+            return () -> (Signal<R>) (Signal<?>) new BooleanSignal();
+        }
+        return Signal::new;
+    }
+
+    /**
+     * @return a new empty signal with the same representation of this one
+     */
+    public Signal<T> emptyCopy() {
+        return new Signal<>();
+    }
+
     /**
      * @return the start time of the signal
      */
@@ -144,24 +179,165 @@ public class Signal<T> implements TimeSignal<Double, T> {
         }
         Segment<T> current = first;
         for (int i = 0; i < timePoints.length; i++) {
-            current = current.jump(timePoints[i]);
+            current = seek(current, timePoints[i]);
+            if (current == null) {
+                throw new IllegalArgumentException("Time " + timePoints[i] +
+                                                   " is outside the signal");
+            }
             data[i] = f.apply(current.getValue());
         }
     }
 
+    /**
+     * Restriction of the signal to the times after the given one.
+     * The segments are reached backward from the end of the signal, so that
+     * the cost only depends on the length of the suffix.
+     *
+     * @param from the first time of the suffix
+     * @return a new signal defined on <code>[from, end]</code>, or this
+     *         signal when it does not start before <code>from</code>
+     */
+    public Signal<T> suffix(double from) {
+        if (isEmpty() || !(getStart() < from)) {
+            return this;
+        }
+        Signal<T> suffix = emptyCopy();
+        if (from > getEnd()) {
+            return suffix;
+        }
+        Segment<T> current = last;
+        while (current.getStart() > from) {
+            current = current.getPrevious();
+        }
+        suffix.add(from, current.getValue());
+        for (current = current.getNext(); current != null;
+             current = current.getNext()) {
+            suffix.add(current.getStart(), current.getValue());
+        }
+        suffix.endAt(getEnd());
+        return suffix;
+    }
+
+    /**
+     * Restriction of the signal to the given time range.
+     *
+     * @param from the first time of the range
+     * @param to the last time of the range
+     * @return a new signal defined on the intersection of
+     *         <code>[from, to]</code> with the signal, or this signal when
+     *         it is already contained in the range
+     */
+    public Signal<T> slice(double from, double to) {
+        if (isEmpty() || (getStart() >= from && getEnd() <= to)) {
+            return this;
+        }
+        Signal<T> slice = emptyCopy();
+        if (from > getEnd() || to < getStart() || from > to) {
+            return slice;
+        }
+        double start = Math.max(from, getStart());
+        for (Segment<T> current = segmentAt(start);
+             current != null && current.getStart() <= to;
+             current = current.getNext()) {
+            slice.add(Math.max(start, current.getStart()), current.getValue());
+        }
+        slice.endAt(Math.min(to, getEnd()));
+        return slice;
+    }
+
+    /**
+     * Finds the segment containing the given time, starting from a segment
+     * that is likely to be close to it.
+     * The segment itself and the following one are checked first, so that
+     * sequential scans take constant time per step; otherwise the segment
+     * is found by binary search.
+     *
+     * @param from a segment of this signal
+     * @param t the time to look for
+     * @return the segment containing <code>t</code>, or <code>null</code>
+     *         if <code>t</code> is outside the signal
+     */
+    Segment<T> seek(Segment<T> from, double t) {
+        if (from.contains(t)) {
+            return from;
+        }
+        Segment<T> next = from.getNext();
+        if (next != null && next.contains(t)) {
+            return next;
+        }
+        return segmentAt(t);
+    }
+
+    /**
+     * Binary search of the segment containing the given time.
+     *
+     * @param t the time to look for
+     * @return the segment containing <code>t</code>, or <code>null</code>
+     *         if <code>t</code> is outside the signal
+     */
+    Segment<T> segmentAt(double t) {
+        if (size == 0 || Double.isNaN(t)) {
+            return null;
+        }
+        Segment<T>[] segments = index();
+        int low = 0;
+        int high = segments.length - 1;
+        if (t < segments[low].getStart()) {
+            return null;
+        }
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments[mid].getStart() <= t) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments[low].contains(t) ? segments[low] : null;
+    }
+
+    /**
+     * The index is an array of the segments of the signal, built on the first
+     * random access and rebuilt when new segments are added.
+     * Since segments are only added at the two ends of the signal, the index
+     * is still valid as long as the number of segments does not change.
+     */
+    @SuppressWarnings("unchecked")
+    private Segment<T>[] index() {
+        Segment<T>[] segments = index;
+        if (segments == null || segments.length != size) {
+            segments = (Segment<T>[]) new Segment<?>[size];
+            Segment<T> current = first;
+            for (int i = 0; i < size; i++) {
+                segments[i] = current;
+                current = current.getNext();
+            }
+            index = segments;
+        }
+        return segments;
+    }
+
     /**
      * @return a new <code>SignalCursor</code>
      *
      * @see SignalCursor
      */
     public SignalCursor<Double, T> getIterator(boolean forward) {
-        return new OfflineSignalCursor<>(forward, first, last);
+        return new OfflineSignalCursor<>(forward, this);
     }
 
     public int size() {
         return size;
     }
 
+    Segment<T> getFirst() {
+        return first;
+    }
+
+    Segment<T> getLast() {
+        return last;
+    }
+
 
     @Override
     public String toString() {
@@ -183,7 +359,8 @@ public class Signal<T> implements TimeSignal<Double, T> {
 
     @Override
     public T getValueAt(Double time) {
-        return (first == null ? null : first.getValueAt(time));
+        Segment<T> segment = segmentAt(time);
+        return (segment == null ? null : segment.getValue());
     }
 
     public double[][] arrayOf(ToDoubleFunction<T> f) {
@@ -225,7 +402,7 @@ public class Signal<T> implements TimeSignal<Double, T> {
         double value = Double.NaN;
         for (int i = 0; i < timePoints.length; i++) {
             if (current != null) {
-                current = current.jump(timePoints[i]);
+                current = seek(current, timePoints[i]);
             }
             if (current != null) {
                 value = f.applyAsDouble(current.getValue());
@@ -59,19 +59,39 @@ public class SpatialTemporalSignal<T> extends MfrSignal<T> {
         super(size, f);
     }
 
+    /**
+     * @param size     number of locations of the signal
+     * @param f        mapping from locations to temporal signals
+     * @param parallel whether <code>f</code> is applied to the locations
+     *                 in parallel, in which case it must be thread-safe
+     */
+    public SpatialTemporalSignal(int size, IntFunction<Signal<T>> f,
+                                 boolean parallel) {
+        super(size, f, parallel);
+    }
+
     public <R> SpatialTemporalSignal<R> apply(BiFunction<T, T, R> f,
                                               SpatialTemporalSignal<T> s) {
-        BooleanOp<T, R> op = new BooleanOp<>();
-        return generate(s, i -> op.applyBinary(
+        return apply(f, s, false);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     */
+    public <R> SpatialTemporalSignal<R> apply(BiFunction<T, T, R> f,
+                                              SpatialTemporalSignal<T> s,
+                                              boolean parallel) {
+        return generate(s, i -> new BooleanOp<T, R>().applyBinary(
                 getSignalAtLocation(i),
                 f,
-                s.getSignalAtLocation(i)));
+                s.getSignalAtLocation(i)), parallel);
     }
 
     private <R> SpatialTemporalSignal<R> generate(SpatialTemporalSignal<T> s,
-                                                  IntFunction<Signal<R>> f) {
+                                                  IntFunction<Signal<R>> f,
+                                                  boolean parallel) {
         checkSize(s.getNumberOfLocations());
-        return new SpatialTemporalSignal<>(getNumberOfLocations(), f);
+        return new SpatialTemporalSignal<>(getNumberOfLocations(), f, parallel);
     }
 
     @Override
@@ -82,9 +102,19 @@ public class SpatialTemporalSignal<T> extends MfrSignal<T> {
     public <R> SpatialTemporalSignal<R> applyToSignal(
             SpatialTemporalSignal<T> s,
             BiFunction<Signal<T>, Signal<T>, Signal<R>> f) {
+        return applyToSignal(s, f, false);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     */
+    public <R> SpatialTemporalSignal<R> applyToSignal(
+            SpatialTemporalSignal<T> s,
+            BiFunction<Signal<T>, Signal<T>, Signal<R>> f,
+            boolean parallel) {
         return generate(s, i -> f.apply(
                 getSignalAtLocation(i),
-                s.getSignalAtLocation(i)));
+                s.getSignalAtLocation(i)), parallel);
     }
 
     public void add(double t, T[] values) {
@@ -105,9 +135,17 @@ public class SpatialTemporalSignal<T> extends MfrSignal<T> {
 
     @Override
     public <R> SpatialTemporalSignal<R> apply(Function<T, R> f) {
-        BooleanOp<T, R> booleanOp = new BooleanOp<>();
+        return apply(f, false);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     */
+    public <R> SpatialTemporalSignal<R> apply(Function<T, R> f,
+                                              boolean parallel) {
         return new SpatialTemporalSignal<>(getNumberOfLocations(),
-                i -> booleanOp.applyUnary(getSignalAtLocation(i), f));
+                i -> new BooleanOp<T, R>().applyUnary(getSignalAtLocation(i), f),
+                parallel);
     }
 
     public <R> MfrSignal<R> selectApply(Function<T, R> f, int[] filter) {
@@ -125,8 +163,16 @@ public class SpatialTemporalSignal<T> extends MfrSignal<T> {
 
     public <R> SpatialTemporalSignal<R> applyToSignal(Function<Signal<T>,
             Signal<R>> f) {
+        return applyToSignal(f, false);
+    }
+
+    /**
+     * @param parallel whether locations are processed in parallel
+     */
+    public <R> SpatialTemporalSignal<R> applyToSignal(Function<Signal<T>,
+            Signal<R>> f, boolean parallel) {
         return new SpatialTemporalSignal<>(getNumberOfLocations(),
-                (i -> f.apply(getSignalAtLocation(i))));
+                (i -> f.apply(getSignalAtLocation(i))), parallel);
     }
 
     @Override
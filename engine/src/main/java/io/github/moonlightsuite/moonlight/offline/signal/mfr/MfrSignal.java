@@ -14,7 +14,12 @@ public class MfrSignal<T> extends STSignal<T> {
     private final int[] locations;
 
     public MfrSignal(int size, IntFunction<Signal<T>> generator) {
-        super(size, generator);
+        this(size, generator, false);
+    }
+
+    protected MfrSignal(int size, IntFunction<Signal<T>> generator,
+                        boolean parallel) {
+        super(size, generator, parallel);
         this.locations = IntStream.range(1, size).toArray();
     }
 
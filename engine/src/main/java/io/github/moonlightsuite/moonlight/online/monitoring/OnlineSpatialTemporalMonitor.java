@@ -29,6 +29,7 @@ import io.github.moonlightsuite.moonlight.core.formula.UnaryFormula;
 import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
 import io.github.moonlightsuite.moonlight.core.signal.SpaceTimeSignal;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructureCache;
 import io.github.moonlightsuite.moonlight.core.space.LocationService;
 import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.domain.BoxDomain;
@@ -72,6 +73,7 @@ public class OnlineSpatialTemporalMonitor<S, V, R extends Comparable<R>> {
 
     private final boolean parallel;
     private final int size;
+    private final DistanceStructureCache<S> cache;
 
 
     public OnlineSpatialTemporalMonitor(
@@ -95,6 +97,26 @@ public class OnlineSpatialTemporalMonitor<S, V, R extends Comparable<R>> {
             Map<String, Function<SpatialModel<S>,
                     DistanceStructure<S, ?>>> distanceFunctions,
             boolean parallel) {
+        this(formula, size, interpretation, locationService,
+                atomicPropositions, distanceFunctions, parallel,
+                new DistanceStructureCache<>());
+    }
+
+    /**
+     * The given cache of distance structures is shared by all the spatial
+     * operators of the monitor.
+     */
+    public OnlineSpatialTemporalMonitor(
+            Formula formula,
+            int size,
+            SignalDomain<R> interpretation,
+            LocationService<Double, S> locationService,
+            Map<String, Function<V, Box<R>>> atomicPropositions,
+            Map<String, Function<SpatialModel<S>,
+                    DistanceStructure<S, ?>>> distanceFunctions,
+            boolean parallel,
+            DistanceStructureCache<S> cache) {
+        this.cache = cache;
         this.atoms = atomicPropositions;
         this.formula = formula;
         this.interpretation = interpretation;
@@ -236,7 +258,8 @@ public class OnlineSpatialTemporalMonitor<S, V, R extends Comparable<R>> {
 
         String distF = ((SpatialFormula) f).getDistanceFunctionId();
 
-        Function<SpatialModel<S>, DistanceStructure<S, ?>> d = dist.get(distF);
+        Function<SpatialModel<S>, DistanceStructure<S, ?>> d =
+                cache.memoize(dist.get(distF));
 
         SpatialOp<Double, S, Box<R>> sc =
                 new SpatialOp<>(locSvc, d, op);
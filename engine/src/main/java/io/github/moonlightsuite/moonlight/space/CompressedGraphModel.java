@@ -0,0 +1,352 @@
+package io.github.moonlightsuite.moonlight.space;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable graph stored in compressed sparse row (CSR) format.
+ * <p>
+ * Outgoing and incoming edges are kept in two sets of flat arrays:
+ * the edges of location <code>l</code> are the indices in
+ * <code>[nextStart(l), nextEnd(l))</code> (respectively
+ * <code>[previousStart(l), previousEnd(l))</code>), sorted by the location
+ * at the other end. Algorithms can walk them with plain <code>int</code>
+ * loops, and when edge labels are numbers their <code>double</code> value
+ * is also available without unboxing.
+ * <p>
+ * The {@link SpatialModel} views returned by {@link #next(int)} and
+ * {@link #previous(int)} are read-only and backed by the same arrays.
+ *
+ * @param <E> Type of edge labels
+ * @see Builder to create instances
+ */
+public class CompressedGraphModel<E> implements SpatialModel<E> {
+    private final int size;
+    private final Edges<E> out;
+    private final Edges<E> in;
+
+    private CompressedGraphModel(int size, Edges<E> out, Edges<E> in) {
+        this.size = size;
+        this.out = out;
+        this.in = in;
+    }
+
+    /**
+     * @param size number of locations of the graph
+     * @param <E>  type of edge labels
+     * @return a builder for a graph with the given number of locations
+     */
+    public static <E> Builder<E> builder(int size) {
+        return new Builder<>(size);
+    }
+
+    /**
+     * @param model any spatial model
+     * @param <E>   type of edge labels
+     * @return a compressed copy of the given model
+     */
+    public static <E> CompressedGraphModel<E> of(SpatialModel<E> model) {
+        if (model instanceof CompressedGraphModel<E> compressed) {
+            return compressed;
+        }
+        Builder<E> builder = new Builder<>(model.size());
+        for (int l = 0; l < model.size(); l++) {
+            for (Pair<Integer, E> edge : model.next(l)) {
+                builder.add(l, edge.getSecond(), edge.getFirst());
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public E get(int source, int target) {
+        int edge = Arrays.binarySearch(out.locations, out.offsets[source],
+                                       out.offsets[source + 1], target);
+        return edge < 0 ? null : out.values[edge];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the total number of edges of the graph
+     */
+    public int edges() {
+        return out.locations.length;
+    }
+
+    /**
+     * @return <code>true</code> when all edge labels are numbers, so that
+     * {@link #nextWeight(int)} and {@link #previousWeight(int)} can be used
+     */
+    public boolean hasWeights() {
+        return out.weights != null;
+    }
+
+    @Override
+    public List<Pair<Integer, E>> next(int location) {
+        return out.view(location);
+    }
+
+    @Override
+    public List<Pair<Integer, E>> previous(int location) {
+        return in.view(location);
+    }
+
+    /**
+     * @param location a location
+     * @return the index of the first edge exiting from the location
+     */
+    public int nextStart(int location) {
+        return out.offsets[location];
+    }
+
+    /**
+     * @param location a location
+     * @return the index after the last edge exiting from the location
+     */
+    public int nextEnd(int location) {
+        return out.offsets[location + 1];
+    }
+
+    /**
+     * @param edge index of an outgoing edge
+     * @return the target of the edge
+     */
+    public int nextLocation(int edge) {
+        return out.locations[edge];
+    }
+
+    /**
+     * @param edge index of an outgoing edge
+     * @return the label of the edge
+     */
+    public E nextValue(int edge) {
+        return out.values[edge];
+    }
+
+    /**
+     * @param edge index of an outgoing edge
+     * @return the label of the edge, as a double
+     * @throws UnsupportedOperationException when labels are not numbers
+     */
+    public double nextWeight(int edge) {
+        return out.weight(edge);
+    }
+
+    /**
+     * @param location a location
+     * @return the index of the first edge entering the location
+     */
+    public int previousStart(int location) {
+        return in.offsets[location];
+    }
+
+    /**
+     * @param location a location
+     * @return the index after the last edge entering the location
+     */
+    public int previousEnd(int location) {
+        return in.offsets[location + 1];
+    }
+
+    /**
+     * @param edge index of an incoming edge
+     * @return the source of the edge
+     */
+    public int previousLocation(int edge) {
+        return in.locations[edge];
+    }
+
+    /**
+     * @param edge index of an incoming edge
+     * @return the label of the edge
+     */
+    public E previousValue(int edge) {
+        return in.values[edge];
+    }
+
+    /**
+     * @param edge index of an incoming edge
+     * @return the label of the edge, as a double
+     * @throws UnsupportedOperationException when labels are not numbers
+     */
+    public double previousWeight(int edge) {
+        return in.weight(edge);
+    }
+
+    /**
+     * Edges grouped by one of their ends: the ones of location <code>l</code>
+     * are stored in <code>[offsets[l], offsets[l + 1])</code>,
+     * <code>locations</code> holds the other end of each edge.
+     */
+    private record Edges<E>(int[] offsets, int[] locations, E[] values,
+                            double[] weights) {
+
+        double weight(int edge) {
+            if (weights == null) {
+                throw new UnsupportedOperationException(
+                        "Edge labels are not numeric");
+            }
+            return weights[edge];
+        }
+
+        List<Pair<Integer, E>> view(int location) {
+            int start = offsets[location];
+            int end = offsets[location + 1];
+            return new AbstractList<>() {
+                @Override
+                public Pair<Integer, E> get(int index) {
+                    if (index < 0 || index >= end - start) {
+                        throw new IndexOutOfBoundsException(index);
+                    }
+                    return new Pair<>(locations[start + index],
+                                      values[start + index]);
+                }
+
+                @Override
+                public int size() {
+                    return end - start;
+                }
+            };
+        }
+    }
+
+    /**
+     * Collects the edges of a {@link CompressedGraphModel}.
+     * As in {@link GraphModel}, self-loops are ignored;
+     * when the same edge is added twice, the last label wins.
+     *
+     * @param <E> Type of edge labels
+     */
+    public static class Builder<E> {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final int size;
+        private int[] sources = new int[INITIAL_CAPACITY];
+        private int[] targets = new int[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int count;
+
+        private Builder(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Negative size: " + size);
+            }
+            this.size = size;
+        }
+
+        public Builder<E> add(int src, E value, int trg) {
+            if (src < 0 || src >= size || trg < 0 || trg >= size) {
+                throw new ArrayIndexOutOfBoundsException(
+                        "Unable to add the edge " + src + " -> " + trg);
+            }
+            if (src == trg) {
+                return this;
+            }
+            if (count == sources.length) {
+                int capacity = count * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            sources[count] = src;
+            targets[count] = trg;
+            values[count] = value;
+            count++;
+            return this;
+        }
+
+        public CompressedGraphModel<E> build() {
+            int[] order = sortBy(sources, targets);
+            int edges = removeDuplicates(order);
+            int[] byTarget = sortBy(targets, sources, order, edges);
+            return new CompressedGraphModel<>(size,
+                                              group(sources, targets, order,
+                                                    edges),
+                                              group(targets, sources,
+                                                    byTarget, edges));
+        }
+
+        /**
+         * Stable sort of the added edges by (key, other), obtained by two
+         * passes of counting sort.
+         */
+        private int[] sortBy(int[] key, int[] other) {
+            int[] identity = new int[count];
+            for (int i = 0; i < count; i++) {
+                identity[i] = i;
+            }
+            return sortBy(key, other, identity, count);
+        }
+
+        private int[] sortBy(int[] key, int[] other, int[] edges, int n) {
+            return countingSort(key, countingSort(other, edges, n), n);
+        }
+
+        private int[] countingSort(int[] key, int[] edges, int n) {
+            int[] offsets = new int[size + 1];
+            for (int i = 0; i < n; i++) {
+                offsets[key[edges[i]] + 1]++;
+            }
+            for (int l = 0; l < size; l++) {
+                offsets[l + 1] += offsets[l];
+            }
+            int[] sorted = new int[n];
+            for (int i = 0; i < n; i++) {
+                sorted[offsets[key[edges[i]]]++] = edges[i];
+            }
+            return sorted;
+        }
+
+        /**
+         * Keeps only the last added occurrence of each edge, compacting
+         * <code>order</code> in place.
+         *
+         * @return the number of distinct edges
+         */
+        private int removeDuplicates(int[] order) {
+            int n = 0;
+            for (int i = 0; i < order.length; i++) {
+                int e = order[i];
+                if (n > 0 && sources[order[n - 1]] == sources[e]
+                        && targets[order[n - 1]] == targets[e]) {
+                    order[n - 1] = e;
+                } else {
+                    order[n++] = e;
+                }
+            }
+            return n;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Edges<E> group(int[] key, int[] other, int[] order, int n) {
+            int[] offsets = new int[size + 1];
+            int[] locations = new int[n];
+            E[] labels = (E[]) new Object[n];
+            double[] weights = new double[n];
+            boolean numeric = true;
+            for (int i = 0; i < n; i++) {
+                int e = order[i];
+                offsets[key[e] + 1]++;
+                locations[i] = other[e];
+                labels[i] = (E) values[e];
+                if (labels[i] instanceof Number number) {
+                    weights[i] = number.doubleValue();
+                } else {
+                    numeric = false;
+                }
+            }
+            for (int l = 0; l < size; l++) {
+                offsets[l + 1] += offsets[l];
+            }
+            return new Edges<>(offsets, locations, labels,
+                               numeric ? weights : null);
+        }
+    }
+}
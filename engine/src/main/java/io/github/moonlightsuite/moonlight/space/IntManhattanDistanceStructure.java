@@ -6,21 +6,20 @@ import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.domain.IntegerDomain;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
 import java.util.function.Function;
-import java.util.function.IntFunction;
-import java.util.stream.IntStream;
 
+/**
+ * Manhattan distance structure over a {@link RegularGridModel} with unit
+ * steps. The neighbourhood of a location contains the locations reachable
+ * by a walk whose length is within bounds; it is enumerated on demand by a
+ * {@link ManhattanNeighbourhood}, so no per-location data is stored.
+ */
 public class IntManhattanDistanceStructure
         implements DistanceStructure<Integer, Integer> {
     private final int lowerBound;
-
-    private final boolean parallel;
     private final int upperBound;
     private final RegularGridModel<Integer> model;
-    private final int cappedUpperBound;
-    private int[][] distanceMatrix;
-    private int[][] oneStepDistanceMatrix;
+    private final ManhattanNeighbourhood neighbourhood;
 
     /**
      * @param lowerBound lower bound of the distance
@@ -29,90 +28,39 @@ public class IntManhattanDistanceStructure
      */
     public IntManhattanDistanceStructure(int lowerBound, int upperBound,
                                          @NotNull RegularGridModel<Integer> model) {
-        this(false, lowerBound, upperBound, model);
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.model = model;
+        this.neighbourhood = ManhattanNeighbourhood.ofWalks(model, lowerBound,
+                                                            upperBound);
     }
 
     /**
-     * @param parallel   if true, the distance matrix is computed in parallel
+     * @param parallel   ignored
      * @param lowerBound lower bound of the distance
      * @param upperBound upper bound of the distance, inclusive
      * @param model      the spatial model
+     * @deprecated neighbourhoods are enumerated on demand, so there is
+     * nothing to compute in parallel: use
+     * {@link #IntManhattanDistanceStructure(int, int, RegularGridModel)}
      */
+    @Deprecated
     public IntManhattanDistanceStructure(
             boolean parallel,
             int lowerBound,
             int upperBound,
             @NotNull RegularGridModel<Integer> model) {
-        this.lowerBound = lowerBound;
-        this.upperBound = upperBound;
-        this.model = model;
-        this.parallel = parallel;
-        cappedUpperBound = Math.min(model.size(), upperBound + 1);
-        computeDistanceMatrix();
-    }
-
-    private void computeDistanceMatrix() {
-        distanceMatrix = new int[model.size()][0];
-        prepareOneStepDistanceMatrix();
-        computeReachableSets();
-    }
-
-    private void prepareOneStepDistanceMatrix() {
-        oneStepDistanceMatrix = new int[model.size()][4];
-        IntStream.range(0, model.size())
-                .forEach(i -> oneStepDistanceMatrix[i] =
-                        model.getNeighboursArray(i));
-
-    }
-
-    private void computeReachableSets() {
-        if (parallel)
-            IntStream.range(0, model.size()).parallel()
-                    .forEach(this::computeLocationReachableSet);
-        else
-            IntStream.range(0, model.size())
-                    .forEach(this::computeLocationReachableSet);
-    }
-
-    private void computeLocationReachableSet(int location) {
-        IntStream.range(lowerBound, cappedUpperBound)
-                .forEach(distance -> addAll(location, distance));
-    }
-
-    private void addAll(int location, int distance) {
-        switch (distance) {
-            case 0 -> addDistanceSet(new int[]{location}, location);
-            case 1 -> addDistanceSet(oneStepDistanceMatrix[location], location);
-            default -> addDistanceSet(computeDistanceSet(location), location);
-        }
-    }
-
-    private int[] computeDistanceSet(int location) {
-        int[] previous = distanceMatrix[location];
-        IntFunction<IntStream> next = i ->
-                Arrays.stream(oneStepDistanceMatrix[i]);
-
-        return Arrays.stream(previous).flatMap(next).toArray();
-    }
-
-    private void addDistanceSet(int[] set, int target) {
-        int[] oldNeighbours = distanceMatrix[target];
-        int[] result = Arrays.copyOf(oldNeighbours,
-                oldNeighbours.length + set.length);
-        System.arraycopy(set, 0, result,
-                oldNeighbours.length, set.length);
-        result = Arrays.stream(result).distinct().toArray();
-        distanceMatrix[target] = result;
+        this(lowerBound, upperBound, model);
     }
 
     @Override
     public int[] getNeighbourhood(int location) {
-        return distanceMatrix[location];
+        return neighbourhood.apply(location);
     }
 
     @Override
     public boolean areWithinBounds(int from, int to) {
-        return Arrays.stream(distanceMatrix[from]).anyMatch(x -> x == to);
+        return neighbourhood.admits(getIntDistance(from, to));
     }
 
     @Override
@@ -13,6 +13,7 @@ public class IntManhattanDistanceStructureLazy
     private final int lowerBound;
     private final int upperBound;
     private final RegularGridModel<Integer> model;
+    private final ManhattanNeighbourhood neighbourhood;
 
     public IntManhattanDistanceStructureLazy(
             int lowerBound,
@@ -21,6 +22,13 @@ public class IntManhattanDistanceStructureLazy
         this.lowerBound = lowerBound;
         this.upperBound = upperBound;
         this.model = model;
+        this.neighbourhood = new ManhattanNeighbourhood(model, lowerBound,
+                                                        upperBound);
+    }
+
+    @Override
+    public int[] getNeighbourhood(int location) {
+        return neighbourhood.apply(location);
     }
 
     @Override
@@ -0,0 +1,125 @@
+package io.github.moonlightsuite.moonlight.space;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Enumerates the locations of a {@link RegularGridModel} whose Manhattan
+ * distance from a given location is within bounds, directly from the grid
+ * coordinates.
+ * <p>
+ * Nothing is stored per location: cells far enough from the borders share
+ * a single template of relative offsets, while the neighbourhoods of the
+ * other cells are clipped row by row. In both cases, locations are
+ * returned in increasing order.
+ */
+public class ManhattanNeighbourhood {
+    private final int rows;
+    private final int columns;
+    private final int radius;
+    private final IntPredicate admits;
+    private final int[] template;
+
+    /**
+     * @param grid       the grid
+     * @param lowerBound lower bound of the distance
+     * @param upperBound upper bound of the distance, inclusive
+     */
+    public ManhattanNeighbourhood(RegularGridModel<?> grid,
+                                  int lowerBound, int upperBound) {
+        this(grid, upperBound, d -> d >= lowerBound);
+    }
+
+    private ManhattanNeighbourhood(RegularGridModel<?> grid, int upperBound,
+                                   IntPredicate admits) {
+        this.rows = grid.getRows();
+        this.columns = grid.getColumns();
+        this.radius = Math.min(upperBound, rows + columns - 2);
+        this.admits = admits;
+        this.template = 2 * radius < Math.min(rows, columns)
+                ? enumerate(0, 0, -radius, radius, -radius, radius)
+                : null;
+    }
+
+    /**
+     * Neighbourhoods of the locations that can be reached by a walk of
+     * unit steps whose length is within bounds. Walks can go back and
+     * forth, so when the lower bound is positive a location closer than
+     * the lower bound is included if a walk of the right parity fits
+     * within the bounds.
+     *
+     * @param grid       the grid
+     * @param lowerBound lower bound of the length of the walks
+     * @param upperBound upper bound of the length of the walks, inclusive
+     * @return the neighbourhoods of the walks within bounds
+     */
+    public static ManhattanNeighbourhood ofWalks(RegularGridModel<?> grid,
+                                                 int lowerBound,
+                                                 int upperBound) {
+        boolean canStep = grid.size() > 1;
+        return new ManhattanNeighbourhood(grid, upperBound, d ->
+                d >= lowerBound || canStep && upperBound >= lowerBound
+                        && (upperBound > lowerBound
+                            || (lowerBound - d) % 2 == 0));
+    }
+
+    /**
+     * @param location a location of the grid
+     * @return the locations within bounds, in increasing order
+     */
+    public int[] apply(int location) {
+        int x = location % columns;
+        int y = location / columns;
+        if (template != null && isInterior(x, y)) {
+            int[] result = new int[template.length];
+            for (int i = 0; i < template.length; i++) {
+                result[i] = location + template[i];
+            }
+            return result;
+        }
+        return enumerate(x, y, -x, columns - 1 - x, -y, rows - 1 - y);
+    }
+
+    /**
+     * @param distance a Manhattan distance
+     * @return <code>true</code> when locations at the given distance belong
+     * to each other's neighbourhoods
+     */
+    public boolean admits(int distance) {
+        return distance <= radius && admits.test(distance);
+    }
+
+    private boolean isInterior(int x, int y) {
+        return x >= radius && x < columns - radius
+                && y >= radius && y < rows - radius;
+    }
+
+    /**
+     * @return the locations around <code>(x, y)</code> within bounds,
+     * restricted to the offsets in <code>[minX, maxX]</code> and
+     * <code>[minY, maxY]</code>.
+     */
+    private int[] enumerate(int x, int y,
+                            int minX, int maxX, int minY, int maxY) {
+        int fromY = Math.max(-radius, minY);
+        int toY = Math.min(radius, maxY);
+        if (radius < 0 || toY < fromY) {
+            return new int[0];
+        }
+        long capacity = Math.min(2L * radius * (radius + 1) + 1,
+                                 (long) (toY - fromY + 1) * (maxX - minX + 1));
+        int[] result = new int[(int) capacity];
+        int n = 0;
+        for (int dy = fromY; dy <= toY; dy++) {
+            int width = radius - Math.abs(dy);
+            int base = (y + dy) * columns + x;
+            for (int dx = Math.max(-width, minX);
+                 dx <= Math.min(width, maxX); dx++) {
+                if (admits.test(Math.abs(dx) + Math.abs(dy))) {
+                    result[n++] = base + dx;
+                }
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -149,14 +149,7 @@ public class SignalStatistics<T extends SpatialTemporalSignal<?>> {
     private float computeAverage(TimeSignal<Double, ?> s, float value,
                                  double t)
     {
-        if (s.getValueAt(t) instanceof Double) {
-            value += ((Double) s.getValueAt(t)).floatValue();
-        } else if (s.getValueAt(t) instanceof Boolean) {
-            value += Boolean.TRUE.equals(s.getValueAt(t)) ? 1 : 0;
-        } else
-            throw new InvalidParameterException("Unknown Signal Domain");
-
-        return value;
+        return value + valueAt(s, t);
     }
 
     /**
@@ -194,16 +187,21 @@ public class SignalStatistics<T extends SpatialTemporalSignal<?>> {
                                   float avg, float value,
                                   double t)
     {
-        if (s.getValueAt(t) instanceof Double) {
-            float v = ((Double) s.getValueAt(t)).floatValue();
-            value += Math.pow((v - avg), 2);
-        } else if (s.getValueAt(t) instanceof Boolean) {
-            float v = Boolean.TRUE.equals(s.getValueAt(t)) ? 1 : 0;
-            value += Math.pow((v - avg), 2);
+        return (float) (value + Math.pow((valueAt(s, t) - avg), 2));
+    }
+
+    /**
+     * Each signal is sampled only once per time point,
+     * since random access costs a binary search over its segments.
+     */
+    private static float valueAt(TimeSignal<Double, ?> s, double t) {
+        Object value = s.getValueAt(t);
+        if (value instanceof Double d) {
+            return d.floatValue();
+        } else if (value instanceof Boolean b) {
+            return b ? 1 : 0;
         } else
             throw new InvalidParameterException("Unknown Signal Domain");
-
-        return value;
     }
 
     public Collection<T> getResults() {
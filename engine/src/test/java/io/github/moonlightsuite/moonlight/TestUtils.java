@@ -4,10 +4,12 @@ import io.github.moonlightsuite.moonlight.core.signal.Sample;
 import io.github.moonlightsuite.moonlight.online.signal.TimeChain;
 import io.github.moonlightsuite.moonlight.online.signal.TimeSegment;
 import io.github.moonlightsuite.moonlight.online.signal.Update;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 public class TestUtils {
     /**
@@ -40,4 +42,27 @@ public class TestUtils {
 
         return result;
     }
+
+    /**
+     * @param seed      seed of the random generator
+     * @param size      number of locations
+     * @param edges     number of edges, possibly loops or duplicates
+     * @param minWeight smallest weight of an edge
+     * @param weights   number of distinct weights, that are
+     *                  <code>minWeight</code>, <code>minWeight + 1</code>,
+     *                  and so on
+     * @return a graph with random edges between its locations
+     */
+    public static GraphModel<Double> randomGraph(long seed, int size,
+                                                 int edges, double minWeight,
+                                                 int weights)
+    {
+        Random random = new Random(seed);
+        GraphModel<Double> model = new GraphModel<>(size);
+        for (int i = 0; i < edges; i++) {
+            model.add(random.nextInt(size), minWeight + random.nextInt(weights),
+                      random.nextInt(size));
+        }
+        return model;
+    }
 }
@@ -0,0 +1,89 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.space.DefaultDistanceStructure;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static io.github.moonlightsuite.moonlight.TestUtils.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BooleanSpatialAlgorithmsTest {
+    private static final int SIZE = 90;
+
+    private static IntFunction<Boolean> randomSignal(long seed) {
+        boolean[] values = new boolean[SIZE];
+        Random random = new Random(seed);
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = random.nextInt(4) != 0;
+        }
+        return i -> values[i];
+    }
+
+    private static void assertSameValues(IntFunction<Boolean> expected,
+                                         IntFunction<Boolean> actual) {
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.apply(i), actual.apply(i), "at " + i);
+        }
+    }
+
+    @Test
+    void somewhereAndEverywhereMatchTheGenericAlgorithms() {
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                1.0, 3.0, randomGraph(11, SIZE, 2 * SIZE, 1.0, 3));
+        var signal = randomSignal(1);
+        var generic = new SpatialAlgorithms<>(ds, new BooleanDomain(),
+                                              false, false);
+        var bitset = new BooleanSpatialAlgorithms<>(ds, true);
+
+        assertSameValues(generic.somewhere(signal), bitset.somewhere(signal));
+        assertSameValues(generic.everywhere(signal), bitset.everywhere(signal));
+    }
+
+    @Test
+    void reachMatchesTheGenericAlgorithm() {
+        var model = CompressedGraphModel.of(
+                randomGraph(11, SIZE, 2 * SIZE, 1.0, 1));
+        var left = randomSignal(2);
+        IntFunction<Boolean> right = i -> i % 13 == 4;
+
+        for (double[] bounds : new double[][]{{0, 3}, {1, 2}, {2, 2}}) {
+            var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                    bounds[0], bounds[1], model);
+            assertTrue(new BooleanSpatialAlgorithms<>(ds, false).isReachApplicable());
+
+            var expected = new ReachAlgorithm<>(ds, new BooleanDomain(),
+                    left, right).compute();
+            var actual = new BooleanSpatialAlgorithms<>(ds, false)
+                    .reach(left, right);
+
+            assertSameValues(expected, actual);
+        }
+    }
+
+    @Test
+    void reachNeedsUniformDistances() {
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                0.0, 3.0, randomGraph(11, SIZE, 2 * SIZE, 1.0, 3));
+
+        assertFalse(new BooleanSpatialAlgorithms<>(ds, false).isReachApplicable());
+    }
+
+    @Test
+    void escapeMatchesTheGenericAlgorithm() {
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                3.0, 5.0, randomGraph(11, SIZE, 2 * SIZE, 1.0, 3));
+        var signal = randomSignal(3);
+
+        var expected = new EscapeAlgorithm<>(ds, new BooleanDomain(), signal)
+                .compute();
+        var actual = SpatialAlgorithms.escape(new BooleanDomain(), signal,
+                                              ds, true);
+
+        assertSameValues(expected, actual);
+    }
+}
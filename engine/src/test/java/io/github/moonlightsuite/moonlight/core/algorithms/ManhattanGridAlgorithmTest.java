@@ -0,0 +1,78 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructure;
+import io.github.moonlightsuite.moonlight.space.IntManhattanDistanceStructureLazy;
+import io.github.moonlightsuite.moonlight.space.RegularGridModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManhattanGridAlgorithmTest {
+
+    private static void assertDiamonds(int rows, int columns, int radius,
+                                       boolean parallel) {
+        var grid = new RegularGridModel<>(rows, columns, 1);
+        var ds = new IntManhattanDistanceStructureLazy(0, radius, grid);
+        double[] values = new Random(rows * 31 + columns).doubles(grid.size())
+                .toArray();
+        var algorithm = new ManhattanGridAlgorithm<Double>(ds, parallel);
+
+        var max = algorithm.compute(Math::max, Double.NEGATIVE_INFINITY,
+                                    i -> values[i]);
+        var min = algorithm.compute(Math::min, Double.POSITIVE_INFINITY,
+                                    i -> values[i]);
+
+        for (int i = 0; i < grid.size(); i++) {
+            double expectedMax = Double.NEGATIVE_INFINITY;
+            double expectedMin = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < grid.size(); j++) {
+                if (ds.areWithinBounds(i, j)) {
+                    expectedMax = Math.max(expectedMax, values[j]);
+                    expectedMin = Math.min(expectedMin, values[j]);
+                }
+            }
+            assertEquals(expectedMax, max.apply(i).doubleValue(), "max at " + i);
+            assertEquals(expectedMin, min.apply(i).doubleValue(), "min at " + i);
+        }
+    }
+
+    @Test
+    void diamondsMatchTheNeighbourhoods() {
+        assertDiamonds(9, 12, 3, false);
+        assertDiamonds(12, 9, 5, true);
+        assertDiamonds(1, 15, 2, false);
+        assertDiamonds(7, 7, 20, false);
+    }
+
+    @Test
+    void spatialAlgorithmsUseTheGridAlgorithmOnlyWhenWorthwhile() {
+        var grid = new RegularGridModel<>(30, 30, 1);
+
+        assertTrue(ManhattanGridAlgorithm.isApplicable(
+                new IntManhattanDistanceStructure(0, 5, grid)));
+        assertFalse(ManhattanGridAlgorithm.isApplicable(
+                new IntManhattanDistanceStructure(0, 0, grid)));
+        assertFalse(ManhattanGridAlgorithm.isApplicable(
+                new IntManhattanDistanceStructureLazy(2, 5, grid)));
+    }
+
+    @Test
+    void somewhereOnGridIsUnchanged() {
+        var grid = new RegularGridModel<>(20, 20, 1);
+        var ds = new IntManhattanDistanceStructure(0, 4, grid);
+        var lazy = new IntManhattanDistanceStructureLazy(0, 4, grid);
+        double[] values = new Random(1).doubles(grid.size()).toArray();
+
+        var expected = new SpatialAlgorithms<>(lazy, new DoubleDomain())
+                .somewhere(i -> values[i]);
+        var actual = new SpatialAlgorithms<>(ds, new DoubleDomain(), true)
+                .somewhere(i -> values[i]);
+
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.space.DefaultDistanceStructure;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static io.github.moonlightsuite.moonlight.TestUtils.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixEscapeAlgorithmTest {
+    private static final int SIZE = 70;
+
+    @Test
+    void doubleEscapeMatchesTheGenericAlgorithm() {
+        var model = randomGraph(3, SIZE, 2 * SIZE, 1.0, 3);
+        double[] values = new Random(5).doubles(SIZE, -5, 5).toArray();
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                2.0, 6.0, model);
+
+        var expected = new EscapeAlgorithm<>(ds, new DoubleDomain(),
+                i -> values[i]).compute();
+        var actual = new MatrixEscapeAlgorithm<>(ds, new DoubleDomain(),
+                i -> values[i], true).compute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+
+    @Test
+    void booleanEscapeMatchesTheGenericAlgorithm() {
+        var model = CompressedGraphModel.of(
+                randomGraph(3, SIZE, 2 * SIZE, 1.0, 3));
+        IntFunction<Boolean> s = i -> i % 4 != 0;
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                3.0, Double.MAX_VALUE, model);
+
+        var expected = new EscapeAlgorithm<>(ds, new BooleanDomain(), s)
+                .compute();
+        var actual = SpatialAlgorithms.escape(new BooleanDomain(), s, ds,
+                                              false);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+
+    @Test
+    void routeValueIsTheMinimumAlongTheRoute() {
+        // 5 -1-> 5 -1-> 1, only the last location is far enough
+        var model = new GraphModel<Double>(3);
+        model.add(0, 1.0, 1);
+        model.add(1, 1.0, 2);
+        double[] values = {5.0, 5.0, 1.0};
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                2.0, 2.0, model);
+
+        var generic = new EscapeAlgorithm<>(ds, new DoubleDomain(),
+                i -> values[i]).compute();
+        var matrix = new MatrixEscapeAlgorithm<>(ds, new DoubleDomain(),
+                i -> values[i], false).compute();
+
+        assertEquals(1.0, generic.apply(0));
+        assertEquals(1.0, matrix.apply(0));
+    }
+}
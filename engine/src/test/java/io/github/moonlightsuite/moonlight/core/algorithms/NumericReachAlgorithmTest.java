@@ -0,0 +1,87 @@
+package io.github.moonlightsuite.moonlight.core.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.space.DefaultDistanceStructure;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static io.github.moonlightsuite.moonlight.TestUtils.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumericReachAlgorithmTest {
+    private static final int SIZE = 40;
+
+    private static double[] randomValues(long seed) {
+        return new Random(seed).doubles(SIZE, -5, 5).toArray();
+    }
+
+    @Test
+    void doubleReachMatchesTheGenericAlgorithm() {
+        var model = randomGraph(7, SIZE, 3 * SIZE, 0.0, 3);
+        double[] left = randomValues(1);
+        double[] right = randomValues(2);
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                0.0, 5.0, model);
+
+        var expected = new ReachAlgorithm<>(ds, new DoubleDomain(),
+                i -> left[i], i -> right[i]).compute();
+        var actual = new NumericReachAlgorithm<>(ds, new DoubleDomain(),
+                i -> left[i], i -> right[i]).compute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+
+    @Test
+    void booleanReachMatchesTheGenericAlgorithm() {
+        var model = CompressedGraphModel.of(
+                randomGraph(7, SIZE, 3 * SIZE, 1.0, 3));
+        IntFunction<Boolean> left = i -> i % 5 != 0;
+        IntFunction<Boolean> right = i -> i % 11 == 3;
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                0.0, 4.0, model);
+
+        var expected = new ReachAlgorithm<>(ds, new BooleanDomain(),
+                left, right).compute();
+        var actual = SpatialAlgorithms.reach(new BooleanDomain(),
+                left, right, ds);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+
+    @Test
+    void positiveLowerBoundsAreLeftToTheGenericAlgorithm() {
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                1.0, 5.0, randomGraph(7, SIZE, 3 * SIZE, 1.0, 3));
+
+        assertFalse(NumericReachAlgorithm.isApplicable(ds,
+                                                       new DoubleDomain()));
+    }
+
+    @Test
+    void negativeDistancesFallBackToTheGenericAlgorithm() {
+        var model = new GraphModel<Double>(3);
+        model.add(1, -1.0, 0);
+        model.add(2, 2.0, 1);
+        var ds = new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                -10.0, 10.0, model);
+        double[] values = {3.0, 2.0, 1.0};
+
+        var expected = new ReachAlgorithm<>(ds, new DoubleDomain(),
+                i -> values[i], i -> values[i]).compute();
+        var actual = new NumericReachAlgorithm<>(ds, new DoubleDomain(),
+                i -> values[i], i -> values[i]).compute();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+}
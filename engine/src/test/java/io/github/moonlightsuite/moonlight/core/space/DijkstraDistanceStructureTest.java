@@ -0,0 +1,84 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import io.github.moonlightsuite.moonlight.core.algorithms.SpatialAlgorithms;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.CompressedGraphModel;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static io.github.moonlightsuite.moonlight.TestUtils.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DijkstraDistanceStructureTest {
+    private static final double LOWER = 1.0;
+    private static final double UPPER = 6.0;
+
+    @Test
+    void distancesWithinBoundsMatchTheDefaultStructure() {
+        var model = randomGraph(42, 40, 120, 1.0, 4);
+        var expected = new DefaultDistanceStructure<>(x -> x,
+                new DoubleDomain(), LOWER, UPPER, model);
+        var actual = new DijkstraDistanceStructure<>(x -> x,
+                LOWER, UPPER, model);
+
+        for (int i = 0; i < model.size(); i++) {
+            for (int j = 0; j < model.size(); j++) {
+                double d = expected.getDistance(i, j);
+                if (d <= UPPER) {
+                    assertEquals(d, actual.getDistance(i, j), 1e-9);
+                } else {
+                    assertEquals(Double.POSITIVE_INFINITY,
+                                 actual.getDistance(i, j));
+                }
+                assertEquals(expected.areWithinBounds(i, j),
+                             actual.areWithinBounds(i, j));
+            }
+        }
+    }
+
+    @Test
+    void neighbourhoodsAreSortedLocationsWithinBounds() {
+        var model = randomGraph(42, 40, 120, 1.0, 4);
+        var ds = new DijkstraDistanceStructure<>(true, x -> x,
+                LOWER, UPPER, CompressedGraphModel.of(model));
+
+        for (int i = 0; i < model.size(); i++) {
+            int source = i;
+            int[] expected = IntStream.range(0, model.size())
+                    .filter(j -> ds.areWithinBounds(source, j))
+                    .toArray();
+            assertArrayEquals(expected, ds.getNeighbourhood(i));
+        }
+    }
+
+    @Test
+    void somewhereUsesTheNeighbourhood() {
+        var model = randomGraph(42, 30, 80, 1.0, 4);
+        IntFunction<Boolean> s = i -> i % 7 == 0;
+        var expected = new SpatialAlgorithms<>(
+                new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                                               LOWER, UPPER, model),
+                new BooleanDomain()).somewhere(s);
+        var actual = new SpatialAlgorithms<>(
+                new DijkstraDistanceStructure<>(x -> x, LOWER, UPPER, model),
+                new BooleanDomain()).somewhere(s);
+
+        for (int i = 0; i < model.size(); i++) {
+            assertEquals(expected.apply(i), actual.apply(i));
+        }
+    }
+
+    @Test
+    void negativeDistancesAreRejected() {
+        var model = new GraphModel<Double>(2);
+        model.add(0, -1.0, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> new DijkstraDistanceStructure<>(x -> x,
+                                                           0.0, 1.0, model));
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import io.github.moonlightsuite.moonlight.space.LocationServiceList;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceStructureCacheTest {
+
+    private static GraphModel<Double> line(int size) {
+        GraphModel<Double> model = new GraphModel<>(size);
+        for (int i = 0; i < size - 1; i++) {
+            model.add(i, 1.0, i + 1);
+            model.add(i + 1, 1.0, i);
+        }
+        return model;
+    }
+
+    private static Function<SpatialModel<Double>, DistanceStructure<Double, ?>>
+    countingDistance(AtomicInteger counter) {
+        return m -> {
+            counter.incrementAndGet();
+            return new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                                                  0.0, 2.0, m);
+        };
+    }
+
+    @Test
+    void equalModelsShareTheirDistanceStructure() {
+        var counter = new AtomicInteger();
+        var cache = new DistanceStructureCache<Double>();
+        var distance = cache.memoize(countingDistance(counter));
+
+        var first = distance.apply(line(5));
+        var second = distance.apply(line(5));
+
+        assertSame(first, second);
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    void differentModelsOrFunctionsAreNotShared() {
+        var counter = new AtomicInteger();
+        var cache = new DistanceStructureCache<Double>();
+        var model = line(5);
+
+        cache.memoize(countingDistance(counter)).apply(model);
+        cache.memoize(countingDistance(counter)).apply(model);
+        cache.memoize(countingDistance(counter)).apply(line(6));
+
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    void leastRecentlyUsedStructuresAreEvicted() {
+        var counter = new AtomicInteger();
+        var cache = new DistanceStructureCache<Double>(2);
+        var distance = cache.memoize(countingDistance(counter));
+        var m3 = line(3);
+
+        distance.apply(m3);
+        distance.apply(line(4));
+        distance.apply(m3);
+        distance.apply(line(5));
+        distance.apply(m3);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    void derivedDataIsKeptWhileTheStructureIsCached() {
+        var counter = new AtomicInteger();
+        var cache = new DistanceStructureCache<Double>(1);
+        var distance = cache.memoize(countingDistance(new AtomicInteger()));
+        Object key = new Object();
+        Function<DistanceStructure<Double, ?>, Integer> size = ds -> {
+            counter.incrementAndGet();
+            return ds.getModel().size();
+        };
+        var structure = distance.apply(line(3));
+
+        assertSame(cache, DistanceStructureCache.of(distance));
+        assertEquals(3, (int) cache.derive(structure, key, size));
+        assertEquals(3, (int) cache.derive(structure, key, size));
+        assertEquals(1, counter.get());
+
+        distance.apply(line(4));
+        cache.derive(structure, key, size);
+
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    void lookupsByIdentityKeepTheStructureAndItsData() {
+        var counter = new AtomicInteger();
+        var cache = new DistanceStructureCache<Double>(2);
+        var distance = cache.memoize(countingDistance(new AtomicInteger()));
+        Object key = new Object();
+        Function<DistanceStructure<Double, ?>, Integer> size = ds -> {
+            counter.incrementAndGet();
+            return ds.getModel().size();
+        };
+        var hot = line(3);
+        var structure = distance.apply(hot);
+        cache.derive(structure, key, size);
+
+        for (int i = 4; i < 10; i++) {
+            distance.apply(line(i));
+            assertSame(structure, distance.apply(hot));
+            cache.derive(structure, key, size);
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    void spaceIteratorReusesTheStructureOfTheCurrentModel() {
+        var counter = new AtomicInteger();
+        var locations = new LocationServiceList<Double>();
+        locations.add(0.0, line(4));
+        var iterator = new SpaceIterator<>(locations,
+                                           countingDistance(counter));
+
+        iterator.init(0.0);
+        var first = iterator.generateDistanceStructure();
+        var second = iterator.generateDistanceStructure();
+
+        assertSame(first, second);
+        assertEquals(1, counter.get());
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.moonlightsuite.moonlight.core.space;
+
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import io.github.moonlightsuite.moonlight.util.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyDistanceStructureTest {
+
+    @Test
+    void distancesMatchTheDefaultStructure() {
+        var model = Utils.createGridModelAsGraph(5, 6, false, 1.0);
+        var expected = new DefaultDistanceStructure<>(x -> x,
+                new DoubleDomain(), 1.0, 3.0, model);
+        var actual = new LazyDistanceStructure<>(x -> x,
+                new DoubleDomain(), 1.0, 3.0, model);
+
+        for (int i = 0; i < model.size(); i++) {
+            int source = i;
+            for (int j = 0; j < model.size(); j++) {
+                assertEquals(expected.getDistance(i, j),
+                             actual.getDistance(i, j), 1e-9);
+                assertEquals(expected.areWithinBounds(i, j),
+                             actual.areWithinBounds(i, j));
+            }
+            assertArrayEquals(IntStream.range(0, model.size())
+                                      .filter(j -> expected
+                                              .areWithinBounds(source, j))
+                                      .toArray(),
+                              actual.getNeighbourhood(i));
+        }
+    }
+
+    @Test
+    void unreachableLocationsBehaveAsInTheDefaultStructure() {
+        var model = new GraphModel<Double>(3);
+        model.add(0, 1.0, 1);
+        var expected = new DefaultDistanceStructure<>(x -> x,
+                new DoubleDomain(), 1.0, Double.POSITIVE_INFINITY, model);
+        var actual = new LazyDistanceStructure<>(x -> x, new DoubleDomain(),
+                1.0, Double.POSITIVE_INFINITY, model);
+
+        for (int j = 0; j < model.size(); j++) {
+            assertEquals(expected.getDistance(0, j), actual.getDistance(0, j));
+            assertEquals(expected.areWithinBounds(0, j),
+                         actual.areWithinBounds(0, j));
+        }
+        assertArrayEquals(new int[]{1}, actual.getNeighbourhood(0));
+    }
+
+    @Test
+    void rowsAreComputedOnDemandAndEvictedWhenOverBudget() {
+        var model = Utils.createGridModelAsGraph(4, 4, false, 1.0);
+        var edgesVisited = new AtomicInteger();
+        var ds = new LazyDistanceStructure<Double, Double>(x -> {
+            edgesVisited.incrementAndGet();
+            return x;
+        }, new DoubleDomain(), 0.0, 2.0, model, 40);
+
+        assertEquals(0, ds.getStoredEntries());
+        ds.getDistance(0, 5);
+        int firstRow = edgesVisited.get();
+        ds.getDistance(0, 6);
+        assertEquals(firstRow, edgesVisited.get());
+
+        ds.getNeighbourhood(15);
+        assertTrue(ds.getStoredEntries() <= 40);
+        ds.getDistance(0, 5);
+        assertTrue(edgesVisited.get() > 2 * firstRow);
+    }
+}
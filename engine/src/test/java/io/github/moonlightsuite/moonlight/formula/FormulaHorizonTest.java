@@ -0,0 +1,90 @@
+package io.github.moonlightsuite.moonlight.formula;
+
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.formula.classic.AndFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.NegationFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.EventuallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.GloballyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.OnceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.UntilFormula;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormulaHorizonTest {
+    private final Formula a = new AtomicFormula("a");
+    private final Formula b = new AtomicFormula("b");
+
+    @Test
+    void boundedOperatorsShiftTheRange() {
+        // G[1,3] (F[0,2] a & O[1,4] !b)
+        Formula eventually = new EventuallyFormula(a, new Interval(0, 2));
+        Formula once = new OnceFormula(new NegationFormula(b),
+                                       new Interval(1, 4));
+        Formula f = new GloballyFormula(new AndFormula(eventually, once),
+                                        new Interval(1, 3));
+
+        FormulaHorizon horizon = new FormulaHorizon(f, new Interval(0, 10));
+
+        assertEquals(new Interval(0, 10), horizon.getOutput(f));
+        assertEquals(new Interval(0, 13), horizon.getOutput(eventually));
+        assertEquals(new Interval(0, 15), horizon.getOutput(a));
+        assertEquals(new Interval(-4, 13), horizon.getOutput(b));
+        assertEquals(new Interval(-4, 15), horizon.getInput(f));
+        assertEquals(new Interval(-4, 13), horizon.getInput(once));
+        assertNull(horizon.getOutput(new AtomicFormula("c")));
+    }
+
+    @Test
+    void sharedSubformulasCoverAllTheirParents() {
+        // F[0,2] a & O[0,1] a
+        Formula f = new AndFormula(new EventuallyFormula(a, new Interval(0, 2)),
+                                   new OnceFormula(a, new Interval(0, 1)));
+
+        FormulaHorizon horizon = new FormulaHorizon(f, new Interval(5, 6));
+
+        assertEquals(new Interval(4, 8), horizon.getOutput(a));
+    }
+
+    @Test
+    void untilNeedsTheWholeFuture() {
+        Formula f = new UntilFormula(a, b, new Interval(0, 1));
+
+        FormulaHorizon horizon = new FormulaHorizon(f, new Interval(2, 3));
+
+        assertEquals(2, horizon.getOutput(a).getStart().doubleValue());
+        assertEquals(Double.POSITIVE_INFINITY,
+                     horizon.getOutput(b).getEnd().doubleValue());
+    }
+
+    @Test
+    void rangesAreBoundedByTheDomainOverTheTrace() {
+        // F[1.5,2] O[0.5,2.5] a
+        Formula once = new OnceFormula(a, new Interval(0.5, 2.5));
+        Formula f = new EventuallyFormula(once, new Interval(1.5, 2));
+        Interval trace = new Interval(0, 10);
+
+        FormulaHorizon horizon = new FormulaHorizon(f, new Interval(7, 9),
+                                                    trace);
+        FormulaHorizon outside = new FormulaHorizon(f, new Interval(8.25, 9),
+                                                    trace);
+
+        assertEquals(new Interval(2.5, 8), horizon.getDomain(f));
+        assertEquals(new Interval(7, 8), horizon.getOutput(f));
+        assertEquals(new Interval(7, 10), horizon.getOutput(once));
+        assertEquals(new Interval(4.5, 10), horizon.getOutput(a));
+        assertNull(outside.getOutput(f));
+    }
+
+    @Test
+    void shortTracesAreNotRestricted() {
+        Formula f = new GloballyFormula(a, new Interval(0, 3));
+
+        FormulaHorizon horizon = new FormulaHorizon(f, new Interval(0, 1),
+                                                    new Interval(0, 2));
+
+        assertFalse(horizon.isRestrictable());
+        assertNull(horizon.getOutput(f));
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.moonlightsuite.moonlight.io;
+
+import io.github.moonlightsuite.moonlight.core.base.MoonLightRecord;
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.core.io.DataHandler;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.io.json.JSonSpatioTemporalSignalDeserializer;
+import io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal.SpatialTemporalMonitor;
+import io.github.moonlightsuite.moonlight.offline.signal.RecordHandler;
+import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import io.github.moonlightsuite.moonlight.space.LocationServiceList;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTraceStoreTest {
+
+    private static final String TRACE =
+            """
+                    LOCATIONS 3
+                    0.0;1.0;true;1.0;false;1.0;true
+                    1.0;2.0;true;3.0;true;4.0;false
+                    2.0;4.0;false;9.0;true;16.0;false
+                    3.0;8.0;false;27.0;false;64.0;true
+                    """;
+
+    private static final RecordHandler HANDLER =
+            new RecordHandler(DataHandler.REAL, DataHandler.BOOLEAN);
+
+    private static File tempFile() throws IOException {
+        File file = File.createTempFile("trace", ".bin");
+        file.deleteOnExit();
+        return file;
+    }
+
+    @Test
+    void convertedTraceHasTheSameSamples() throws Exception {
+        File csv = tempFile();
+        Files.writeString(csv.toPath(), TRACE);
+        File binary = tempFile();
+        var reader = new CsvSpatialTemporalSignalReader();
+
+        MappedTraceStore.convert(reader, HANDLER, csv, binary);
+        var expected = reader.load(HANDLER, TRACE);
+        var actual = MappedTraceStore.open(HANDLER, binary);
+
+        assertEquals(4, actual.getNumberOfSamples());
+        assertArrayEquals(expected.getTimeArray(), actual.getTimeArray());
+        for (int l = 0; l < 3; l++) {
+            for (double t = 0.0; t <= 3.0; t += 0.5) {
+                assertEquals(expected.getSignalAtLocation(l).getValueAt(t),
+                             actual.getSignalAtLocation(l).getValueAt(t));
+            }
+        }
+    }
+
+    @Test
+    void writtenTraceHasTheSameSamples() throws Exception {
+        File binary = tempFile();
+        SpatialTemporalSignal<MoonLightRecord> expected =
+                new CsvSpatialTemporalSignalReader().load(HANDLER, TRACE);
+
+        MappedTraceStore.write(HANDLER, expected, binary);
+        var actual = MappedTraceStore.open(HANDLER, binary);
+
+        assertArrayEquals(expected.getTimeArray(), actual.getTimeArray());
+        for (int l = 0; l < 3; l++) {
+            for (double t : expected.getTimeArray()) {
+                assertEquals(expected.getSignalAtLocation(l).getValueAt(t),
+                             actual.getSignalAtLocation(l).getValueAt(t));
+            }
+        }
+    }
+
+    @Test
+    void convertedJsonTraceHasTheSameSamples() throws Exception {
+        String json = """
+                {"trace_type": "spatialtemporal",
+                 "signal_type": {"x": "real"},
+                 "edge_type": {},
+                 "nodes": ["a", "b"],
+                 "signals": {"t": [0.0, 1.0, 2.0],
+                             "values": {"a": {"x": [1.0, 2.0, 3.0]},
+                                        "b": {"x": [4.0, 5.0, 6.0]}}},
+                 "space": []}
+                """;
+        RecordHandler signalHandler = RecordHandler.createFactory(
+                new Pair<>("x", DataHandler.REAL));
+        RecordHandler edgeHandler = RecordHandler.createFactory(
+                new Pair<>("w", DataHandler.REAL));
+        var deserializer = new JSonSpatioTemporalSignalDeserializer(
+                signalHandler, edgeHandler);
+        File binary = tempFile();
+
+        MappedTraceStore.convert(deserializer, signalHandler, json, binary);
+        var expected = deserializer.load(json).getSignal();
+        var actual = MappedTraceStore.open(signalHandler, binary);
+
+        assertArrayEquals(expected.getTimeArray(), actual.getTimeArray());
+        for (int l = 0; l < 2; l++) {
+            for (double t : expected.getTimeArray()) {
+                assertEquals(expected.getSignalAtLocation(l).getValueAt(t),
+                             actual.getSignalAtLocation(l).getValueAt(t));
+            }
+        }
+    }
+
+    @Test
+    void malformedRowsAreRejectedWhileConverting() throws Exception {
+        File csv = tempFile();
+        Files.writeString(csv.toPath(), TRACE + "4.0;1.0;true\n");
+
+        assertThrows(IllegalFileFormatException.class,
+                     () -> MappedTraceStore.convert(
+                             new CsvSpatialTemporalSignalReader(), HANDLER,
+                             csv, tempFile()));
+    }
+
+    @Test
+    void mappedTracesCanBeMonitored() throws Exception {
+        File binary = tempFile();
+        SpatialTemporalSignal<MoonLightRecord> signal =
+                new CsvSpatialTemporalSignalReader().load(HANDLER, TRACE);
+        MappedTraceStore.write(HANDLER, signal, binary);
+        var locations = new LocationServiceList<Double>();
+        locations.add(0.0, new GraphModel<>(3));
+        SpatialTemporalMonitor<Double, MoonLightRecord, Double> monitor =
+                SpatialTemporalMonitor.globallyMonitor(
+                        SpatialTemporalMonitor.atomicMonitor(
+                                r -> r.get(0, Double.class)),
+                        new DoubleDomain());
+
+        var expected = monitor.monitor(locations, signal);
+        var actual = monitor.monitor(locations,
+                                     MappedTraceStore.open(HANDLER, binary));
+
+        for (int l = 0; l < 3; l++) {
+            assertEquals(expected.getSignalAtLocation(l).getValueAt(0.0),
+                         actual.getSignalAtLocation(l).getValueAt(0.0));
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws Exception {
+        File file = tempFile();
+        Files.writeString(file.toPath(), TRACE);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> MappedTraceStore.open(HANDLER, file));
+    }
+}
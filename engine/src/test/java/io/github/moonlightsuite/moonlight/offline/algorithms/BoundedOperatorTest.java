@@ -0,0 +1,126 @@
+package io.github.moonlightsuite.moonlight.offline.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.offline.signal.ArraySignal;
+import io.github.moonlightsuite.moonlight.offline.signal.BooleanSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.DoubleSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedOperatorTest {
+    private static final Interval[] INTERVALS = {
+            new Interval(0, 1), new Interval(0, 3.5), new Interval(1, 2),
+            new Interval(0.5, 0.5), new Interval(2, 7), new Interval(3, 3)
+    };
+
+    private static DoubleSignal doubleSignal(Random random) {
+        DoubleSignal signal = new DoubleSignal();
+        double t = random.nextInt(5);
+        for (int i = 0; i < 40; i++) {
+            signal.add(t, (double) random.nextInt(5));
+            t += random.nextBoolean() ? 1 : 0.25 * (1 + random.nextInt(8));
+        }
+        signal.endAt(t + random.nextInt(2));
+        return signal;
+    }
+
+    private static BooleanSignal booleanSignal(Random random) {
+        BooleanSignal signal = new BooleanSignal();
+        double t = random.nextInt(5);
+        for (int i = 0; i < 40; i++) {
+            signal.add(t, random.nextInt(3) == 0);
+            t += 0.5 * (1 + random.nextInt(4));
+        }
+        signal.endAt(t);
+        return signal;
+    }
+
+    /**
+     * Bounded operator as the conjunction of the unbounded one with the
+     * sliding window over the second argument.
+     */
+    private static <T> Signal<T> threePasses(SignalDomain<T> domain,
+                                             Signal<T> s1, Interval interval,
+                                             Signal<T> s2, boolean isForward)
+    {
+        Signal<T> unbounded = new UnboundedOperator<>(domain)
+                .computeUnbounded(s1, s2, isForward);
+        Signal<T> window = new SlidingWindow<>(interval.getStart(),
+                                               interval.getEnd(),
+                                               domain::disjunction,
+                                               !isForward,
+                                               s2::emptyCopy).apply(s2);
+        return new BooleanOp<T, T>(true, s1::emptyCopy)
+                .applyBinary(unbounded, domain::conjunction, window);
+    }
+
+    private static <T> void assertSamePasses(SignalDomain<T> domain,
+                                             Signal<T> s1, Signal<T> s2)
+    {
+        BoundedOperator<T> operator = new BoundedOperator<>(domain);
+        for (Interval interval : INTERVALS) {
+            for (boolean isForward : new boolean[]{true, false}) {
+                String where = interval + ", " + isForward;
+                assertTrue(operator.isApplicable(s1, interval, s2, isForward),
+                           where);
+                var expected = (ArraySignal<T>) threePasses(domain, s1,
+                        interval, s2, isForward);
+                var actual = (ArraySignal<T>) operator.computeBounded(s1,
+                        interval, s2, isForward);
+
+                assertEquals(expected.size(), actual.size(), where);
+                assertEquals(expected.getEnd(), actual.getEnd(), where);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.getTimeAt(i), actual.getTimeAt(i),
+                                 where);
+                    assertEquals(expected.getValueAtIndex(i),
+                                 actual.getValueAtIndex(i), where);
+                }
+            }
+        }
+    }
+
+    @Test
+    void robustnessMatchesThreePasses() {
+        DoubleDomain domain = new DoubleDomain();
+        Random random = new Random(11);
+        for (int run = 0; run < 20; run++) {
+            assertSamePasses(domain, doubleSignal(random),
+                             doubleSignal(random));
+        }
+    }
+
+    @Test
+    void booleanSemanticsMatchesThreePasses() {
+        BooleanDomain domain = new BooleanDomain();
+        Random random = new Random(12);
+        for (int run = 0; run < 20; run++) {
+            assertSamePasses(domain, booleanSignal(random),
+                             booleanSignal(random));
+        }
+    }
+
+    @Test
+    void otherArgumentsAreLeftToThreePasses() {
+        DoubleDomain domain = new DoubleDomain();
+        BoundedOperator<Double> operator = new BoundedOperator<>(domain);
+        DoubleSignal signal = doubleSignal(new Random(13));
+        Signal<Double> segments = new Signal<>();
+        segments.add(0, 1.0);
+        segments.endAt(50);
+        Interval wide = new Interval(0, signal.getEnd());
+
+        assertFalse(operator.isApplicable(segments, INTERVALS[0], signal,
+                                          false));
+        assertFalse(operator.isApplicable(signal, INTERVALS[0], segments,
+                                          true));
+        assertFalse(operator.isApplicable(signal, wide, signal, false));
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.moonlightsuite.moonlight.offline.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.offline.signal.ArraySignal;
+import io.github.moonlightsuite.moonlight.offline.signal.BooleanSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.DoubleSignal;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveSlidingWindowTest {
+    private static final double[][] INTERVALS = {
+            {0, 1}, {0, 3.5}, {1, 2}, {0.5, 0.5}, {2, 7}, {0, 40}
+    };
+
+    private static DoubleSignal doubleSignal(Random random) {
+        DoubleSignal signal = new DoubleSignal();
+        double t = random.nextInt(3);
+        for (int i = 0; i < 60; i++) {
+            signal.add(t, (double) random.nextInt(5));
+            t += random.nextBoolean() ? 1 : 0.25 * (1 + random.nextInt(8));
+        }
+        signal.endAt(t + random.nextInt(2));
+        return signal;
+    }
+
+    private static BooleanSignal booleanSignal(Random random) {
+        BooleanSignal signal = new BooleanSignal();
+        double t = 0;
+        for (int i = 0; i < 60; i++) {
+            signal.add(t, random.nextInt(3) == 0);
+            t += 0.5 * (1 + random.nextInt(4));
+        }
+        signal.endAt(t);
+        return signal;
+    }
+
+    private static <R> void assertSameWindows(ArraySignal<R> signal,
+                                              SignalDomain<R> domain,
+                                              boolean isConjunction) {
+        assertTrue(PrimitiveSlidingWindow.isApplicable(signal, domain));
+        BinaryOperator<R> op = isConjunction ? domain::conjunction
+                                             : domain::disjunction;
+        for (double[] bounds : INTERVALS) {
+            for (boolean isFuture : new boolean[]{true, false}) {
+                var expected = new SlidingWindow<>(
+                        bounds[0], bounds[1], op, isFuture,
+                        signal::emptyCopy).apply(signal);
+                var actual = new PrimitiveSlidingWindow<>(
+                        bounds[0], bounds[1], domain, isConjunction,
+                        isFuture).apply(signal);
+
+                String where = bounds[0] + ", " + bounds[1] + ", " + isFuture;
+                assertSameSegments(expected, actual, where);
+            }
+        }
+    }
+
+    private static <R> void assertSameSegments(Signal<R> expectedSignal,
+                                               Signal<R> actualSignal,
+                                               String where) {
+        var expected = (ArraySignal<R>) expectedSignal;
+        var actual = (ArraySignal<R>) actualSignal;
+        assertEquals(expected.size(), actual.size(), where);
+        if (!expected.isEmpty()) {
+            assertEquals(expected.getEnd(), actual.getEnd(), where);
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getTimeAt(i), actual.getTimeAt(i), where);
+            assertEquals(expected.getValueAtIndex(i),
+                         actual.getValueAtIndex(i), where);
+        }
+    }
+
+    @Test
+    void minAndMaxMatchTheGenericWindow() {
+        DoubleDomain domain = new DoubleDomain();
+        Random random = new Random(7);
+        for (int run = 0; run < 20; run++) {
+            DoubleSignal signal = doubleSignal(random);
+            assertSameWindows(signal, domain, true);
+            assertSameWindows(signal, domain, false);
+        }
+    }
+
+    @Test
+    void conjunctionAndDisjunctionMatchTheGenericWindow() {
+        BooleanDomain domain = new BooleanDomain();
+        Random random = new Random(8);
+        for (int run = 0; run < 20; run++) {
+            BooleanSignal signal = booleanSignal(random);
+            assertSameWindows(signal, domain, true);
+            assertSameWindows(signal, domain, false);
+        }
+    }
+
+    @Test
+    void lastValueOfTheWindowLastsUpToTheNextSample() {
+        DoubleSignal signal = new DoubleSignal();
+        double[] times = {7.25, 9.25, 10.25, 11.25, 12.25, 13.25};
+        double[] values = {3, 1, 2, 1, 3, 4};
+        for (int i = 0; i < times.length; i++) {
+            signal.add(times[i], values[i]);
+        }
+        signal.endAt(14);
+
+        var expected = new SlidingWindow<Double>(0, 3.5, Math::max, true,
+                                                 signal::emptyCopy);
+        var actual = new PrimitiveSlidingWindow<>(0, 3.5, new DoubleDomain(),
+                                                  false, true);
+
+        // 3 is in [9.5, 13], 4 enters the window at 9.75
+        for (var window : List.of(expected.apply(signal),
+                                  actual.apply(signal))) {
+            assertEquals(3, window.getValueAt(9.5).doubleValue());
+            assertEquals(4, window.getValueAt(9.75).doubleValue());
+        }
+    }
+
+    @Test
+    void onlyArraySignalsOfTheirDomainAreSpecialized() {
+        Signal<Boolean> bool = booleanSignal(new Random(9));
+
+        assertFalse(PrimitiveSlidingWindow.isApplicable(new Signal<Double>(),
+                                                        new DoubleDomain()));
+        assertFalse(PrimitiveSlidingWindow.isApplicable(new Signal<Boolean>(),
+                                                        new BooleanDomain()));
+        assertTrue(PrimitiveSlidingWindow.isApplicable(bool,
+                                                       new BooleanDomain()));
+    }
+
+    @Test
+    void chunksMatchTheSequentialWindow() {
+        DoubleDomain doubles = new DoubleDomain();
+        BooleanDomain booleans = new BooleanDomain();
+        Random random = new Random(10);
+        for (int run = 0; run < 20; run++) {
+            DoubleSignal real = doubleSignal(random);
+            BooleanSignal bool = booleanSignal(random);
+            for (double[] bounds : INTERVALS) {
+                for (boolean isFuture : new boolean[]{true, false}) {
+                    var max = new PrimitiveSlidingWindow<>(bounds[0],
+                            bounds[1], doubles, false, isFuture);
+                    var and = new PrimitiveSlidingWindow<>(bounds[0],
+                            bounds[1], booleans, true, isFuture);
+                    for (int chunks = 2; chunks <= 9; chunks++) {
+                        String where = bounds[0] + ", " + bounds[1] + ", "
+                                + isFuture + ", " + chunks;
+                        assertSameSegments(max.apply(real),
+                                           max.apply(real, chunks), where);
+                        assertSameSegments(and.apply(bool),
+                                           and.apply(bool, chunks), where);
+                    }
+                }
+            }
+        }
+    }
+}
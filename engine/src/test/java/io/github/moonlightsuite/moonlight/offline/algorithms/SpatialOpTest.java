@@ -0,0 +1,80 @@
+package io.github.moonlightsuite.moonlight.offline.algorithms;
+
+import io.github.moonlightsuite.moonlight.core.algorithms.SpatialAlgorithms;
+import io.github.moonlightsuite.moonlight.core.space.DefaultDistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
+import io.github.moonlightsuite.moonlight.core.space.LocationService;
+import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.offline.signal.SpatialTemporalSignal;
+import io.github.moonlightsuite.moonlight.space.GraphModel;
+import io.github.moonlightsuite.moonlight.space.LocationServiceList;
+import io.github.moonlightsuite.moonlight.space.StaticLocationService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialOpTest {
+    private static final int SIZE = 3;
+
+    private static GraphModel<Double> line(double weight) {
+        GraphModel<Double> model = new GraphModel<>(SIZE);
+        for (int i = 0; i + 1 < SIZE; i++) {
+            model.add(i, weight, i + 1);
+            model.add(i + 1, weight, i);
+        }
+        return model;
+    }
+
+    private static SpatialTemporalSignal<Double> signal(int steps) {
+        SpatialTemporalSignal<Double> signal = new SpatialTemporalSignal<>(SIZE);
+        for (int t = 0; t < steps; t++) {
+            int time = t;
+            signal.add(t, l -> 10.0 * time + l);
+        }
+        return signal;
+    }
+
+    private static SpatialTemporalSignal<Double> somewhere(
+            LocationService<Double, Double> locations,
+            SpatialTemporalSignal<Double> signal,
+            boolean parallelOverTime) {
+        Function<SpatialModel<Double>, DistanceStructure<Double, ?>> distance =
+                m -> new DefaultDistanceStructure<>(x -> x, new DoubleDomain(),
+                        0.0, 1.0, m);
+        return new SpatialOp<Double, Double>(locations, distance,
+                (s, ds) -> new SpatialAlgorithms<>(ds, new DoubleDomain())
+                        .somewhere(s),
+                parallelOverTime).computeUnary(signal);
+    }
+
+    @Test
+    void valuesAreTakenAtTheirOwnTime() {
+        var result = somewhere(new StaticLocationService<>(line(1.0)),
+                               signal(4), false);
+
+        assertEquals(List.of(1.0, 2.0, 2.0), result.valuesAtT(0));
+        assertEquals(List.of(31.0, 32.0, 32.0), result.valuesAtT(3));
+    }
+
+    @Test
+    void parallelOverTimeMatchesTheSequentialComputation() {
+        var locations = new LocationServiceList<Double>();
+        locations.add(0, line(1.0));
+        locations.add(2.5, line(2.0));
+        locations.add(4, line(1.0));
+        var signal = signal(8);
+
+        var expected = somewhere(locations, signal, false);
+        var actual = somewhere(locations, signal, true);
+
+        assertEquals(9, expected.getTimeArray().length);
+        assertArrayEquals(expected.getTimeArray(), actual.getTimeArray());
+        for (double t : expected.getTimeArray()) {
+            assertEquals(expected.valuesAtT(t), actual.valuesAtT(t));
+        }
+    }
+}
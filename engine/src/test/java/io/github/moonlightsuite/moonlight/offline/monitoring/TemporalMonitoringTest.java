@@ -0,0 +1,459 @@
+package io.github.moonlightsuite.moonlight.offline.monitoring;
+
+import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.FormulaDag;
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
+import io.github.moonlightsuite.moonlight.domain.BooleanDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.formula.AtomicFormula;
+import io.github.moonlightsuite.moonlight.formula.Parameters;
+import io.github.moonlightsuite.moonlight.formula.classic.AndFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.NegationFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.OrFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.EventuallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.GloballyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.HistoricallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.OnceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.SinceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.UntilFormula;
+import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor;
+import io.github.moonlightsuite.moonlight.offline.signal.Signal;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemporalMonitoringTest {
+    private static final int SAMPLES = 10;
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final DoubleDomain domain = new DoubleDomain();
+
+    // (F[0,2] a) & ((F[0,2] a) | !a)
+    private final Formula a = new AtomicFormula("a");
+    private final Formula eventually =
+            new EventuallyFormula(a, new Interval(0, 2));
+    private final Formula formula = new AndFormula(eventually,
+            new OrFormula(new EventuallyFormula(new AtomicFormula("a"),
+                                                new Interval(0, 2)),
+                          new NegationFormula(a)));
+
+    private static Signal<Double> signal(int seed) {
+        Signal<Double> signal = new Signal<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            signal.add(i, (double) ((i * seed) % 7 - 3));
+        }
+        signal.endAt(SAMPLES - 1);
+        return signal;
+    }
+
+    private double countedAtom(double value) {
+        evaluations.incrementAndGet();
+        return value;
+    }
+
+    @Test
+    void dagMergesEqualSubformulas() {
+        FormulaDag dag = new FormulaDag(formula);
+
+        assertEquals(5, dag.size());
+        assertEquals(2, dag.getParents(a));
+        assertEquals(2, dag.getParents(eventually));
+        assertFalse(dag.isShared(formula));
+        assertEquals(2, dag.getSize(eventually));
+        assertEquals(8, dag.getSize(formula));
+    }
+
+    @Test
+    void sharedSubformulasAreEvaluatedOnce() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> this::countedAtom);
+        TemporalMonitoring<Double, Double> monitoring =
+                new TemporalMonitoring<>(atoms, domain);
+        TemporalMonitor<Double, Double> shared = monitoring.monitor(formula);
+        TemporalMonitor<Double, Double> tree = tree();
+
+        for (int seed = 1; seed <= 3; seed++) {
+            Signal<Double> input = signal(seed);
+            evaluations.set(0);
+            Signal<Double> actual = shared.monitor(input);
+            Signal<Double> expected = tree.monitor(input);
+
+            assertEquals(SAMPLES, evaluations.get());
+            assertSameSignal(expected, actual);
+        }
+    }
+
+    @Test
+    void failedRunsLeaveNoStateBehind() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> {
+            if (x.isNaN()) {
+                throw new IllegalArgumentException("NaN");
+            }
+            return x;
+        });
+        TemporalMonitor<Double, Double> shared =
+                new TemporalMonitoring<>(atoms, domain).monitor(formula);
+        Signal<Double> broken = new Signal<>();
+        broken.add(0, Double.NaN);
+        broken.endAt(1);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> shared.monitor(broken));
+        assertSameSignal(tree().monitor(signal(2)), shared.monitor(signal(2)));
+    }
+
+    @Test
+    void concurrentRunsOnDifferentTracesAreIndependent() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> x);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TemporalMonitor<Double, Double> shared =
+                    new TemporalMonitoring<>(atoms, domain,
+                            new ForkJoinBranches(pool, 1)).monitor(formula);
+
+            IntStream.rangeClosed(1, 40).parallel().forEach(seed -> {
+                Signal<Double> input = signal(seed);
+                assertSameSignal(tree().monitor(input), shared.monitor(input));
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return the monitor of the formula, without shared subformulas
+     */
+    private TemporalMonitor<Double, Double> tree() {
+        TemporalMonitor<Double, Double> atom =
+                atomicMonitor(x -> x, domain);
+        return andMonitor(
+                eventuallyMonitor(atom, domain, new Interval(0, 2)), domain,
+                orMonitor(eventuallyMonitor(atom, domain, new Interval(0, 2)),
+                          domain, notMonitor(atom, domain)));
+    }
+
+    private static void assertSameSignal(Signal<Double> expected,
+                                         Signal<Double> actual) {
+        assertEquals(expected.getStart(), actual.getStart());
+        assertEquals(expected.getEnd(), actual.getEnd());
+        for (double t = expected.getStart(); t <= expected.getEnd(); t += 0.5) {
+            assertEquals(expected.getValueAt(t).doubleValue(),
+                         actual.getValueAt(t).doubleValue(), "at " + t);
+        }
+    }
+
+    @Test
+    void nonTemporalSubtreesAreFused() {
+        // (a & b) | !(c & d)
+        Map<String, Function<Parameters, Function<Double, Boolean>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> x > 0);
+        atoms.put("b", p -> x -> x < 2);
+        atoms.put("c", p -> x -> x > -2);
+        atoms.put("d", p -> x -> x != 1);
+        Formula fused = new OrFormula(
+                new AndFormula(new AtomicFormula("a"), new AtomicFormula("b")),
+                new NegationFormula(new AndFormula(new AtomicFormula("c"),
+                                                   new AtomicFormula("d"))));
+        BooleanDomain booleans = new BooleanDomain();
+        TemporalMonitor<Double, Boolean> actual =
+                new TemporalMonitoring<>(atoms, booleans).monitor(fused);
+
+        TemporalMonitor<Double, Boolean> expected = orMonitor(
+                andMonitor(atomicMonitor(x -> x > 0, booleans), booleans,
+                           atomicMonitor(x -> x < 2, booleans)),
+                booleans,
+                notMonitor(andMonitor(atomicMonitor(x -> x > -2, booleans),
+                                      booleans,
+                                      atomicMonitor(x -> x != 1, booleans)),
+                           booleans));
+
+        Signal<Double> input = signal(3);
+        Signal<Boolean> result = actual.monitor(input);
+        Signal<Boolean> reference = expected.monitor(input);
+        assertEquals(reference.getEnd(), result.getEnd());
+        for (double t = 0; t <= SAMPLES - 1; t += 0.5) {
+            assertEquals(reference.getValueAt(t), result.getValueAt(t),
+                         "at " + t);
+        }
+    }
+
+    @Test
+    void wideConjunctionsMatchWhenBranchesAreForked() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        atoms.put("a", p -> x -> {
+            threads.add(Thread.currentThread());
+            return x;
+        });
+        Formula conjunction = null;
+        for (int i = 1; i <= 12; i++) {
+            Formula conjunct = new NegationFormula(new EventuallyFormula(
+                    new EventuallyFormula(new AtomicFormula("a"),
+                                          new Interval(0, i)),
+                    new Interval(0, 1)));
+            conjunction = conjunction == null ? conjunct
+                    : new AndFormula(conjunction, conjunct);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            var sequential = new TemporalMonitoring<>(atoms, domain)
+                    .monitor(conjunction);
+            var forked = new TemporalMonitoring<>(atoms, domain,
+                    new ForkJoinBranches(pool, 2)).monitor(conjunction);
+
+            Signal<Double> input = signal(5);
+            Signal<Double> expected = sequential.monitor(input);
+            threads.clear();
+            Signal<Double> actual = forked.monitor(input);
+
+            assertTrue(threads.stream()
+                               .anyMatch(t -> t instanceof ForkJoinWorkerThread
+                                       w && w.getPool() == pool));
+            for (double t = expected.getStart(); t <= expected.getEnd(); t += 0.5) {
+                assertEquals(expected.getValueAt(t).doubleValue(),
+                             actual.getValueAt(t).doubleValue(), "at " + t);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Monitors a trace that grows in steps, both incrementally and from
+     * scratch, and compares the samples of the two outputs.
+     */
+    private <R> void assertIncrementalMatches(
+            TemporalMonitoring<Double, R> monitoring, Formula f,
+            Function<R, Double> value)
+    {
+        Random random = new Random(42);
+        TemporalMonitor<Double, R> incremental = monitoring.incremental(f);
+        Signal<Double> input = new Signal<>();
+        double t = 0;
+        for (int step = 0; step < 12; step++) {
+            for (int i = 0; i < 15; i++) {
+                input.add(t, (double) random.nextInt(5) - 2);
+                t += 0.5 * (1 + random.nextInt(3));
+            }
+            input.endAt(t - 0.5);
+            double[][] expected = monitoring.monitor(f).monitor(input)
+                    .arrayOf(value::apply);
+            double[][] actual = incremental.monitor(input)
+                    .arrayOf(value::apply);
+
+            assertEquals(expected.length, actual.length, "step " + step);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i][0], actual[i][0], "step " + step);
+                assertEquals(expected[i][1], actual[i][1], "step " + step);
+            }
+        }
+    }
+
+    @Test
+    void incrementalMonitoringMatchesFullRuns() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> x);
+        atoms.put("b", p -> x -> 1 - x);
+        Formula b = new AtomicFormula("b");
+        // G[1,3] (F[0,2] a | H[0,1.5] !b) & O[1,2] (a U[0,1] b)
+        Formula f = new AndFormula(
+                new GloballyFormula(
+                        new OrFormula(eventually, new HistoricallyFormula(
+                                new NegationFormula(b), new Interval(0, 1.5))),
+                        new Interval(1, 3)),
+                new OnceFormula(new UntilFormula(a, b, new Interval(0, 1)),
+                                new Interval(1, 2)));
+
+        assertIncrementalMatches(new TemporalMonitoring<>(atoms, domain), f,
+                                 x -> x);
+    }
+
+    @Test
+    void incrementalBooleanMonitoringMatchesFullRuns() {
+        Map<String, Function<Parameters, Function<Double, Boolean>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> x > 0);
+        // F[0.5,2] (a & O[0,1] !a) | G[0,1] a
+        Formula f = new OrFormula(
+                new EventuallyFormula(new AndFormula(a, new OnceFormula(
+                        new NegationFormula(a), new Interval(0, 1))),
+                                      new Interval(0.5, 2)),
+                new GloballyFormula(a, new Interval(0, 1)));
+
+        assertIncrementalMatches(
+                new TemporalMonitoring<>(atoms, new BooleanDomain()), f,
+                v -> v ? 1.0 : 0.0);
+    }
+
+    @Test
+    void incrementalMonitoringOnlyReadsTheNewSamples() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> this::countedAtom);
+        TemporalMonitor<Double, Double> incremental =
+                new TemporalMonitoring<>(atoms, domain).incremental(formula);
+        Signal<Double> input = signal(3);
+        incremental.monitor(input);
+
+        evaluations.set(0);
+        input.add(SAMPLES, 1.0);
+        input.add(SAMPLES + 1, 2.0);
+        input.endAt(SAMPLES + 1);
+        Signal<Double> actual = incremental.monitor(input);
+        assertEquals(3, evaluations.get());
+
+        Signal<Double> expected = new TemporalMonitoring<>(atoms, domain)
+                .monitor(formula).monitor(input);
+        assertEquals(expected.getEnd(), actual.getEnd());
+        for (double t = expected.getStart(); t <= expected.getEnd(); t += 0.5) {
+            assertEquals(expected.getValueAt(t).doubleValue(),
+                         actual.getValueAt(t).doubleValue(), "at " + t);
+        }
+    }
+
+    @Test
+    void horizonMatchesTheSlicedMonitoring() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> x);
+        atoms.put("b", p -> x -> 1 - x);
+        TemporalMonitoring<Double, Double> monitoring =
+                new TemporalMonitoring<>(atoms, domain);
+        Random random = new Random(11);
+
+        for (int run = 0; run < 300; run++) {
+            Formula f = randomFormula(random, 3);
+            double first = random.nextInt(5);
+            Signal<Double> input = new Signal<>();
+            for (int i = 0; i < 40; i++) {
+                input.add(first + 0.5 * i, (double) random.nextInt(5) - 2);
+            }
+            input.endAt(first + 20);
+            double start = first - 5 + 0.25 * random.nextInt(120);
+            Interval output = new Interval(start,
+                                           start + 0.25 * random.nextInt(40));
+
+            assertSlicedMonitoring(monitoring, f, output, input);
+        }
+    }
+
+    @Test
+    void horizonOutsideTheDomainIsEmpty() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> x -> x);
+        TemporalMonitoring<Double, Double> monitoring =
+                new TemporalMonitoring<>(atoms, domain);
+        Signal<Double> input = new Signal<>();
+        for (int i = 0; i <= 10; i++) {
+            input.add(i, (double) i);
+        }
+        input.endAt(10);
+        // F[1.5,2] O[0.5,2.5] a, defined over [2.5,8]
+        Formula nested = new EventuallyFormula(
+                new OnceFormula(a, new Interval(0.5, 2.5)),
+                new Interval(1.5, 2));
+        // !G[1.5,2] a & a, defined over [0,8]
+        Formula negated = new AndFormula(
+                new NegationFormula(new GloballyFormula(a,
+                                                        new Interval(1.5, 2))),
+                a);
+
+        assertTrue(monitoring.monitor(nested, new Interval(8.25, 8.75))
+                           .monitor(input).isEmpty());
+        assertTrue(monitoring.monitor(negated, new Interval(9, 12))
+                           .monitor(input).isEmpty());
+        assertSlicedMonitoring(monitoring, nested, new Interval(7, 9), input);
+        assertSlicedMonitoring(monitoring, negated, new Interval(-1, 0), input);
+    }
+
+    @Test
+    void horizonRestrictsTheEvaluatedRange() {
+        Map<String, Function<Parameters, Function<Double, Double>>> atoms =
+                new HashMap<>();
+        atoms.put("a", p -> this::countedAtom);
+        TemporalMonitoring<Double, Double> monitoring =
+                new TemporalMonitoring<>(atoms, domain);
+        Signal<Double> input = new Signal<>();
+        for (int i = 0; i < 400; i++) {
+            input.add(0.5 * i, (double) (i % 5) - 2);
+        }
+        input.endAt(199.5);
+
+        monitoring.monitor(formula, new Interval(40, 47.5)).monitor(input);
+
+        assertTrue(evaluations.get() < 40);
+    }
+
+    private void assertSlicedMonitoring(TemporalMonitoring<Double, Double> m,
+                                        Formula f, Interval output,
+                                        Signal<Double> input)
+    {
+        String message = f + " over " + output;
+        Signal<Double> expected = m.monitor(f).monitor(input)
+                .slice(output.getStart(), output.getEnd());
+        Signal<Double> actual = m.monitor(f, output).monitor(input);
+
+        assertEquals(expected.isEmpty(), actual.isEmpty(), message);
+        if (expected.isEmpty()) {
+            return;
+        }
+        assertEquals(expected.getStart(), actual.getStart(), message);
+        assertEquals(expected.getEnd(), actual.getEnd(), message);
+        for (double t = expected.getStart(); t <= expected.getEnd(); t += 0.125) {
+            assertEquals(expected.getValueAt(t).doubleValue(),
+                         actual.getValueAt(t).doubleValue(),
+                         message + " at " + t);
+        }
+        assertEquals(expected.getValueAt(expected.getEnd()).doubleValue(),
+                     actual.getValueAt(actual.getEnd()).doubleValue(),
+                     message + " at the end");
+    }
+
+    /**
+     * @return a formula over the atoms a and b, whose temporal operators
+     * span at most 4 time units each
+     */
+    private static Formula randomFormula(Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            return new AtomicFormula(random.nextBoolean() ? "a" : "b");
+        }
+        Formula left = randomFormula(random, depth - 1);
+        Interval interval = random.nextInt(5) == 0 ? null :
+                new Interval(0.5 * random.nextInt(3),
+                             0.5 * random.nextInt(3) + 1.5 + 0.5 * random.nextInt(3));
+        return switch (random.nextInt(9)) {
+            case 0 -> new NegationFormula(left);
+            case 1 -> new AndFormula(left, randomFormula(random, depth - 1));
+            case 2 -> new OrFormula(left, randomFormula(random, depth - 1));
+            case 3 -> new EventuallyFormula(left, interval);
+            case 4 -> new GloballyFormula(left, interval);
+            case 5 -> new OnceFormula(left, interval);
+            case 6 -> new HistoricallyFormula(left, interval);
+            case 7 -> new UntilFormula(left, randomFormula(random, depth - 1),
+                                       interval);
+            default -> new SinceFormula(left, randomFormula(random, depth - 1),
+                                        interval);
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import io.github.moonlightsuite.moonlight.offline.algorithms.BooleanOp;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BooleanSignalTest {
+
+    private static void fill(Random random, double start, double end,
+                             Signal<Boolean> s1, Signal<Boolean> s2)
+    {
+        for (double t = start; t < end; t += random.nextInt(3) + 1) {
+            boolean value = random.nextBoolean();
+            s1.add(t, value);
+            s2.add(t, value);
+        }
+        s1.endAt(end);
+        s2.endAt(end);
+    }
+
+    private static void assertSameSignal(Signal<Boolean> expected,
+                                         Signal<Boolean> actual)
+    {
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        if (!expected.isEmpty()) {
+            assertEquals(expected.getStart(), actual.getStart());
+            assertEquals(expected.getEnd(), actual.getEnd());
+            for (double t = expected.getStart(); t <= expected.getEnd(); t += 0.5) {
+                assertEquals(expected.getValueAt(t), actual.getValueAt(t));
+            }
+        }
+    }
+
+    @Test
+    void onlySwitchesAreStored() {
+        var signal = new BooleanSignal();
+        signal.add(0.0, true);
+        signal.add(1.0, true);
+        signal.add(2.0, false);
+        signal.add(3.0, true);
+        signal.endAt(5.0);
+
+        assertEquals(3, signal.size());
+        assertTrue(signal.getInitialValue());
+        assertEquals(Boolean.FALSE, signal.getValueAt(2.0));
+        assertEquals(Boolean.TRUE, signal.getValueAt(4.0));
+        assertNull(signal.getValueAt(6.0));
+    }
+
+    @Test
+    void addBeforeBuildsTheSameSignal() {
+        var forward = new BooleanSignal();
+        var backward = new BooleanSignal(1);
+        double[] times = {0.0, 1.0, 2.0, 3.0, 4.0};
+        boolean[] values = {false, true, true, false, true};
+        for (int i = 0; i < times.length; i++) {
+            forward.add(times[i], values[i]);
+        }
+        for (int i = times.length - 1; i >= 0; i--) {
+            backward.addBefore(times[i], values[i]);
+        }
+
+        assertEquals(forward.size(), backward.size());
+        assertSameSignal(forward, backward);
+    }
+
+    @Test
+    void kernelsMatchPointwiseOperators() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            var b1 = new BooleanSignal();
+            var b2 = new BooleanSignal();
+            var s1 = new Signal<Boolean>();
+            var s2 = new Signal<Boolean>();
+            fill(random, random.nextInt(5), 20 + random.nextInt(10), b1, s1);
+            fill(random, random.nextInt(5), 20 + random.nextInt(10), b2, s2);
+            BooleanOp<Boolean, Boolean> op = new BooleanOp<>();
+
+            assertSameSignal(op.applyBinary(s1, (x, y) -> x && y, s2),
+                             BooleanSignal.and(b1, b2));
+            assertSameSignal(op.applyBinary(s1, (x, y) -> x || y, s2),
+                             BooleanSignal.or(b1, b2));
+            assertSameSignal(op.applyBinary(s1, (x, y) -> !x || y, s2),
+                             BooleanSignal.apply(b1, (x, y) -> !x || y, b2));
+            assertSameSignal(op.applyUnary(s1, x -> !x),
+                             BooleanSignal.not(b1));
+        }
+    }
+
+    @Test
+    void cursorVisitsTheSameSamplesOfBoxedCursor() {
+        var boxed = new Signal<Boolean>();
+        var compact = new BooleanSignal();
+        fill(new Random(7), 0.0, 15.0, compact, boxed);
+        var expected = boxed.getIterator(true);
+        var actual = compact.getIterator(true);
+
+        while (!expected.isCompleted()) {
+            assertEquals(expected.getCurrentTime(), actual.getCurrentTime());
+            assertEquals(expected.getCurrentValue(), actual.getCurrentValue());
+            assertEquals(expected.nextTime(), actual.nextTime());
+            expected.forward();
+            actual.forward();
+        }
+        assertTrue(actual.isCompleted());
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import io.github.moonlightsuite.moonlight.core.io.DataHandler;
+import io.github.moonlightsuite.moonlight.offline.signal.ColumnarSpatialTemporalSignal.Codec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSpatialTemporalSignalTest {
+
+    private static final int LOCATIONS = 3;
+    private static final double[] TIMES = {0.0, 1.0, 2.5, 4.0};
+
+    private static double valueOf(int location, int sample) {
+        return location * 10.0 + (sample % 2);
+    }
+
+    private static <S extends SpatialTemporalSignal<Double>> S fill(S signal) {
+        for (int j = 0; j < TIMES.length; j++) {
+            int sample = j;
+            signal.add(TIMES[j], l -> valueOf(l, sample));
+        }
+        return signal;
+    }
+
+    @Test
+    void locationsAreViewsOverTheColumns() {
+        var expected = fill(new SpatialTemporalSignal<Double>(LOCATIONS));
+        var actual = fill(new ColumnarSpatialTemporalSignal<>(LOCATIONS,
+                                                              Codec.reals()));
+
+        assertEquals(TIMES.length, actual.getNumberOfSamples());
+        assertArrayEquals(expected.getTimeArray(), actual.getTimeArray());
+        assertEquals(expected.start(), actual.start());
+        assertEquals(expected.end(), actual.end());
+        for (int l = 0; l < LOCATIONS; l++) {
+            for (double t = 0.0; t <= 4.0; t += 0.5) {
+                assertEquals(expected.getSignalAtLocation(l).getValueAt(t),
+                             actual.getSignalAtLocation(l).getValueAt(t));
+            }
+        }
+    }
+
+    @Test
+    void sameTimeOverwritesTheLastSample() {
+        var signal = new ColumnarSpatialTemporalSignal<>(LOCATIONS,
+                                                         Codec.reals());
+        signal.add(0.0, l -> 1.0);
+        signal.add(0.0, l -> 2.0);
+
+        assertEquals(1, signal.getNumberOfSamples());
+        assertEquals(2.0, signal.getValueAt(1, 0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> signal.add(-1.0, l -> 0.0));
+    }
+
+    @Test
+    void cursorMovesAllLocationsAtOnce() {
+        var expected = fill(new SpatialTemporalSignal<Double>(LOCATIONS))
+                .getSignalCursor(true);
+        var actual = fill(new ColumnarSpatialTemporalSignal<>(LOCATIONS,
+                                                              Codec.reals()))
+                .getSignalCursor(true);
+
+        double time = expected.getCurrentTime();
+        while (!Double.isNaN(time)) {
+            assertEquals(time, actual.getCurrentTime());
+            for (int l = 0; l < LOCATIONS; l++) {
+                assertEquals(expected.getCurrentValue().apply(l),
+                             actual.getCurrentValue().apply(l));
+            }
+            assertEquals(expected.hasNext(), actual.hasNext());
+            time = expected.forwardTime();
+            assertEquals(time, actual.forwardTime());
+        }
+    }
+
+    @Test
+    void locationCursorsFollowTheSharedCursor() {
+        var cursor = fill(new ColumnarSpatialTemporalSignal<>(LOCATIONS,
+                                                              Codec.reals()))
+                .getSignalCursor(true);
+        var locations = cursor.getCursors();
+
+        assertSame(locations, cursor.getCursors());
+        cursor.forward();
+        assertEquals(TIMES[1], locations.get(2).getCurrentTime());
+        assertEquals(valueOf(2, 1), locations.get(2).getCurrentValue());
+
+        locations.get(0).forward();
+        assertEquals(TIMES[2], cursor.getCurrentTime());
+        assertEquals(valueOf(1, 2), cursor.getCurrentValue().apply(1));
+    }
+
+    @Test
+    void recordsAreEncodedByTheirHandlers() {
+        var handler = new RecordHandler(DataHandler.REAL, DataHandler.BOOLEAN,
+                                        DataHandler.INTEGER);
+        var signal = new ColumnarSpatialTemporalSignal<>(2,
+                Codec.records(handler));
+        var record = handler.fromObjectArray(1.5, true, 3);
+
+        signal.add(0.0, l -> record);
+
+        assertEquals(record, signal.getValueAt(1, 0));
+    }
+}
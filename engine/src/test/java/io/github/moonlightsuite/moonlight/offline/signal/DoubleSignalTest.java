@@ -0,0 +1,143 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import io.github.moonlightsuite.moonlight.offline.monitoring.temporal.TemporalMonitor;
+import io.github.moonlightsuite.moonlight.core.signal.SignalDomain;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleSignalTest {
+
+    private static final double[] TIMES = {0.0, 1.0, 2.0, 3.5, 4.0, 6.0};
+    private static final double[] VALUES = {1.0, 1.0, -2.0, 3.0, 3.0, 0.5};
+
+    private static Signal<Double> fill(Signal<Double> signal) {
+        for (int i = 0; i < TIMES.length; i++) {
+            signal.add(TIMES[i], VALUES[i]);
+        }
+        signal.endAt(7.0);
+        return signal;
+    }
+
+    @Test
+    void sameValuesAreMergedAsInBoxedSignals() {
+        var expected = fill(new Signal<>());
+        var actual = fill(new DoubleSignal());
+
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getStart(), actual.getStart());
+        assertEquals(expected.getEnd(), actual.getEnd());
+        assertEquals(expected.getTimeSet(), actual.getTimeSet());
+    }
+
+    @Test
+    void valuesAreFoundByBinarySearch() {
+        var expected = fill(new Signal<>());
+        var actual = fill(new DoubleSignal());
+
+        for (double t = 0.0; t <= 7.0; t += 0.25) {
+            assertEquals(expected.getValueAt(t), actual.getValueAt(t));
+        }
+        assertNull(actual.getValueAt(7.5));
+    }
+
+    @Test
+    void addBeforeGrowsTheSignalBackwards() {
+        var signal = new DoubleSignal(1);
+        for (int i = TIMES.length - 1; i >= 0; i--) {
+            signal.addBefore(TIMES[i], VALUES[i]);
+        }
+
+        assertEquals(4, signal.size());
+        assertEquals(0.0, signal.getStart());
+        assertEquals(-2.0, signal.getValueAt(2.5));
+    }
+
+    @Test
+    void cursorVisitsTheSameSamplesOfBoxedCursor() {
+        var expected = fill(new Signal<>()).getIterator(true);
+        var actual = fill(new DoubleSignal()).getIterator(true);
+
+        while (!expected.isCompleted()) {
+            assertFalse(actual.isCompleted());
+            assertEquals(expected.getCurrentTime(), actual.getCurrentTime());
+            assertEquals(expected.getCurrentValue(), actual.getCurrentValue());
+            assertEquals(expected.nextTime(), actual.nextTime());
+            expected.forward();
+            actual.forward();
+        }
+        assertTrue(actual.isCompleted());
+    }
+
+    @Test
+    void cursorMovesBackwards() {
+        var expected = fill(new Signal<>()).getIterator(false);
+        var actual = fill(new DoubleSignal()).getIterator(false);
+
+        while (!expected.isCompleted()) {
+            assertEquals(expected.getCurrentTime(), actual.getCurrentTime());
+            assertEquals(expected.getCurrentValue(), actual.getCurrentValue());
+            assertEquals(expected.previousTime(), actual.previousTime());
+            expected.backward();
+            actual.backward();
+        }
+        assertTrue(actual.isCompleted());
+    }
+
+    @Test
+    void suffixesMatchBoxedSignals() {
+        Signal<Double> boxed = fill(new Signal<>());
+        Signal<Double> primitive = fill(new DoubleSignal());
+
+        for (double from = -1; from <= 8; from += 0.25) {
+            var expected = boxed.suffix(from).arrayOf(x -> x);
+            var actual = primitive.suffix(from).arrayOf(x -> x);
+
+            assertEquals(expected.length, actual.length, "from " + from);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i][0], actual[i][0], "from " + from);
+                assertEquals(expected[i][1], actual[i][1], "from " + from);
+            }
+            if (from > 0 && from <= 7) {
+                assertEquals(from, actual[0][0]);
+                assertEquals(boxed.getValueAt(from).doubleValue(), actual[0][1]);
+            }
+        }
+    }
+
+    @Test
+    void slicesMatchBoxedSignals() {
+        Signal<Double> boxed = fill(new Signal<>());
+        Signal<Double> primitive = fill(new DoubleSignal());
+
+        for (double from = -1; from <= 8; from += 0.5) {
+            for (double to = from; to <= 8; to += 0.75) {
+                var expected = boxed.slice(from, to).arrayOf(x -> x);
+                var actual = primitive.slice(from, to).arrayOf(x -> x);
+
+                assertEquals(expected.length, actual.length, from + "-" + to);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i][0], actual[i][0]);
+                    assertEquals(expected[i][1], actual[i][1]);
+                }
+            }
+        }
+        assertEquals(2.0, primitive.slice(2, 3).getStart());
+        assertEquals(3.0, primitive.slice(2, 3).getEnd());
+    }
+
+    @Test
+    void doubleDomainMonitorsProduceDoubleSignals() {
+        SignalDomain<Double> domain = new DoubleDomain();
+        TemporalMonitor<Double, Double> atom =
+                TemporalMonitor.atomicMonitor(x -> x, domain);
+        TemporalMonitor<Double, Double> negation =
+                TemporalMonitor.notMonitor(atom, domain);
+
+        var result = negation.monitor(fill(new Signal<>()));
+
+        assertInstanceOf(DoubleSignal.class, result);
+        assertEquals(-3.0, result.getValueAt(3.7));
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.moonlightsuite.moonlight.offline.signal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalTest {
+
+    private static Signal<Integer> stepSignal(int steps) {
+        Signal<Integer> signal = new Signal<>();
+        for (int i = 0; i < steps; i++) {
+            signal.add(i, i);
+        }
+        signal.endAt(steps);
+        return signal;
+    }
+
+    @Test
+    void randomAccessFindsTheRightSegment() {
+        var signal = stepSignal(100);
+
+        assertEquals(42, signal.getValueAt(42.5));
+        assertEquals(7, signal.getValueAt(7.0));
+        assertEquals(99, signal.getValueAt(100.0));
+        assertNull(signal.getValueAt(-1.0));
+        assertNull(signal.getValueAt(100.5));
+    }
+
+    @Test
+    void indexFollowsNewSegments() {
+        var signal = stepSignal(10);
+        assertEquals(5, signal.getValueAt(5.0));
+
+        signal.add(11.0, 11);
+        signal.addBefore(-1.0, -1);
+
+        assertEquals(11, signal.getValueAt(11.0));
+        assertEquals(-1, signal.getValueAt(-0.5));
+        assertEquals(5, signal.getValueAt(5.0));
+    }
+
+    @Test
+    void cursorMovesToArbitraryTimes() {
+        var cursor = stepSignal(100).getIterator(true);
+
+        cursor.move(73.2);
+        assertEquals(73, cursor.getCurrentValue());
+        assertEquals(74.0, cursor.nextTime());
+
+        cursor.move(3.0);
+        assertEquals(3, cursor.getCurrentValue());
+        assertEquals(2.0, cursor.previousTime());
+
+        cursor.move(200.0);
+        assertTrue(cursor.isCompleted());
+    }
+
+    @Test
+    void unsortedTimePointsAreSampled() {
+        var signal = stepSignal(50);
+        double[] timePoints = {40.5, 2.0, 49.9, 0.0};
+        Integer[] data = new Integer[timePoints.length];
+
+        signal.fill(timePoints, data, v -> v);
+
+        assertArrayEquals(new Integer[] {40, 2, 49, 0}, data);
+        assertThrows(IllegalArgumentException.class,
+                     () -> signal.fill(new double[] {60.0}, data, v -> v));
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.moonlightsuite.moonlight.space;
+
+import io.github.moonlightsuite.moonlight.core.base.Pair;
+import io.github.moonlightsuite.moonlight.core.space.DefaultDistanceStructure;
+import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
+import io.github.moonlightsuite.moonlight.util.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedGraphModelTest {
+
+    @Test
+    void edgesAreSortedAndIndexedOnBothSides() {
+        var graph = CompressedGraphModel.<Double>builder(4)
+                .add(0, 2.0, 3)
+                .add(0, 1.0, 1)
+                .add(2, 5.0, 1)
+                .build();
+
+        assertEquals(List.of(new Pair<>(1, 1.0), new Pair<>(3, 2.0)),
+                     graph.next(0));
+        assertEquals(List.of(new Pair<>(0, 1.0), new Pair<>(2, 5.0)),
+                     graph.previous(1));
+        assertEquals(5.0, graph.get(2, 1));
+        assertNull(graph.get(1, 2));
+        assertEquals(3, graph.edges());
+    }
+
+    @Test
+    void primitiveAccessMatchesTheListViews() {
+        var graph = CompressedGraphModel.<Double>builder(3)
+                .add(1, 4.0, 0)
+                .add(2, 3.0, 0)
+                .build();
+
+        assertTrue(graph.hasWeights());
+        assertEquals(2, graph.previousEnd(0) - graph.previousStart(0));
+        int e = graph.previousStart(0);
+        assertEquals(1, graph.previousLocation(e));
+        assertEquals(4.0, graph.previousWeight(e));
+        assertEquals(2, graph.previousLocation(e + 1));
+        assertEquals(3.0, graph.previousWeight(e + 1));
+    }
+
+    @Test
+    void lastDuplicateWinsAndSelfLoopsAreIgnored() {
+        var graph = CompressedGraphModel.<String>builder(2)
+                .add(0, "a", 1)
+                .add(1, "loop", 1)
+                .add(0, "b", 1)
+                .build();
+
+        assertEquals(1, graph.edges());
+        assertEquals("b", graph.get(0, 1));
+        assertTrue(graph.next(1).isEmpty());
+        assertFalse(graph.hasWeights());
+        assertThrows(UnsupportedOperationException.class,
+                     () -> graph.nextWeight(0));
+    }
+
+    @Test
+    void distancesAreTheSameAsOnTheOriginalModel() {
+        var model = Utils.createGridModelAsGraph(5, 6, false, 1.0);
+        var compressed = CompressedGraphModel.of(model);
+        var expected = new DefaultDistanceStructure<>(x -> x,
+                new DoubleDomain(), 0.0, 4.0, model);
+        var actual = new DefaultDistanceStructure<>(x -> x,
+                new DoubleDomain(), 0.0, 4.0, compressed);
+
+        for (int i = 0; i < model.size(); i++) {
+            for (int j = 0; j < model.size(); j++) {
+                assertEquals(expected.getDistance(i, j),
+                             actual.getDistance(i, j));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.moonlightsuite.moonlight.space;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManhattanNeighbourhoodTest {
+
+    private static void assertNeighbourhoods(int rows, int columns,
+                                             int lower, int upper) {
+        var grid = new RegularGridModel<>(rows, columns, 1);
+        var neighbourhood = new ManhattanNeighbourhood(grid, lower, upper);
+        for (int i = 0; i < grid.size(); i++) {
+            int from = i;
+            int[] expected = IntStream.range(0, grid.size())
+                    .filter(j -> {
+                        int d = Math.abs(from % columns - j % columns)
+                                + Math.abs(from / columns - j / columns);
+                        return lower <= d && d <= upper;
+                    })
+                    .toArray();
+            assertArrayEquals(expected, neighbourhood.apply(i),
+                              rows + "x" + columns + " [" + lower + ", "
+                                      + upper + "] at " + i);
+        }
+    }
+
+    @Test
+    void neighbourhoodsMatchTheDistances() {
+        assertNeighbourhoods(10, 12, 0, 2);
+        assertNeighbourhoods(12, 7, 2, 3);
+        assertNeighbourhoods(1, 9, 1, 4);
+        assertNeighbourhoods(6, 5, 0, 30);
+        assertNeighbourhoods(5, 5, 3, 1);
+        assertNeighbourhoods(8, 8, 0, 0);
+    }
+
+    @Test
+    void walksCanGoBackAndForth() {
+        var grid = new RegularGridModel<>(5, 5, 1);
+
+        assertArrayEquals(new int[]{2, 6, 8, 10, 12, 14, 16, 18, 22},
+                          ManhattanNeighbourhood.ofWalks(grid, 2, 2).apply(12));
+        assertEquals(21, ManhattanNeighbourhood.ofWalks(grid, 2, 3)
+                .apply(12).length);
+        assertEquals(0, ManhattanNeighbourhood.ofWalks(
+                new RegularGridModel<>(1, 1, 1), 1, 2).apply(0).length);
+    }
+
+    @Test
+    void positiveLowerBoundsAreHonoured() {
+        var grid = new RegularGridModel<>(5, 5, 1);
+        var ds = new IntManhattanDistanceStructure(1, 1, grid);
+
+        assertArrayEquals(new int[]{7, 11, 13, 17}, ds.getNeighbourhood(12));
+    }
+}
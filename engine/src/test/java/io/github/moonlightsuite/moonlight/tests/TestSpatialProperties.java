@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.IntStream;
@@ -202,6 +203,31 @@ class TestSpatialProperties {
         }
     }
 
+    @Test
+    void testEagerSomewhereEvaluatesEachLocationOnce() {
+        int rows = 9;
+        int columns = 12;
+        var model = Utils.createGridModelAsGraph(rows, columns, false, 1.0);
+        var ds = new DefaultDistanceStructure<>(x -> x,
+                new DoubleDomain(), 0.0, 2.0, model);
+        var reads = new AtomicInteger();
+        IntFunction<Double> f = i -> {
+            reads.incrementAndGet();
+            return (double) i;
+        };
+
+        var eager = new SpatialAlgorithms<>(ds, new DoubleDomain(),
+                PARALLEL, true).somewhere(f);
+        int eagerReads = reads.getAndSet(0);
+        var lazy = new SpatialAlgorithms<>(ds, new DoubleDomain(),
+                false, false).somewhere(f);
+
+        for (int i = 0; i < model.size(); i++) {
+            assertEquals(lazy.apply(i), eager.apply(i));
+        }
+        assertEquals(eagerReads, reads.get());
+    }
+
 
     @Disabled("Only useful for profiling")
     @Test
@@ -261,8 +287,7 @@ class TestSpatialProperties {
         var model = Utils.createGridModel(rows, columns, 1);
         var signal = defaultSignal(model);
 
-        var ds = new IntManhattanDistanceStructure(PARALLEL,
-                FROM_HERE, TO_TEN, model);
+        var ds = new IntManhattanDistanceStructure(FROM_HERE, TO_TEN, model);
         var result = new SpatialAlgorithms<>(ds, BOOLEAN_DOMAIN, PARALLEL)
                 .everywhere(signal);
 
@@ -2,6 +2,7 @@ package io.github.moonlightsuite.moonlight.tests;
 
 import io.github.moonlightsuite.moonlight.core.base.Pair;
 import io.github.moonlightsuite.moonlight.core.formula.Formula;
+import io.github.moonlightsuite.moonlight.core.formula.Interval;
 import io.github.moonlightsuite.moonlight.core.io.DataHandler;
 import io.github.moonlightsuite.moonlight.core.space.DefaultDistanceStructure;
 import io.github.moonlightsuite.moonlight.core.space.DistanceStructure;
@@ -10,9 +11,15 @@ import io.github.moonlightsuite.moonlight.core.space.SpatialModel;
 import io.github.moonlightsuite.moonlight.domain.DoubleDomain;
 import io.github.moonlightsuite.moonlight.formula.AtomicFormula;
 import io.github.moonlightsuite.moonlight.formula.Parameters;
+import io.github.moonlightsuite.moonlight.formula.classic.AndFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.NegationFormula;
+import io.github.moonlightsuite.moonlight.formula.classic.OrFormula;
 import io.github.moonlightsuite.moonlight.formula.spatial.EscapeFormula;
 import io.github.moonlightsuite.moonlight.formula.spatial.ReachFormula;
 import io.github.moonlightsuite.moonlight.formula.spatial.SomewhereFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.EventuallyFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.SinceFormula;
+import io.github.moonlightsuite.moonlight.formula.temporal.UntilFormula;
 import io.github.moonlightsuite.moonlight.offline.monitoring.SpatialTemporalMonitoring;
 import io.github.moonlightsuite.moonlight.offline.monitoring.spatialtemporal.SpatialTemporalMonitor;
 import io.github.moonlightsuite.moonlight.offline.signal.Signal;
@@ -149,6 +156,41 @@ class TestSpatialTemporalProperties {
         assertNotNull(model);
     }
 
+    @Test
+    void parallelLocationsMatchTheSequentialMonitoring() {
+        int size = 40;
+        HashMap<String, Function<Parameters, Function<Double, Double>>> atomic = new HashMap<>();
+        atomic.put("low", p -> (x -> 3 - x));
+        atomic.put("high", p -> (x -> x - 5));
+        SpatialModel<Double> model = Utils.createSpatialModel(size, (x, y) -> (y == (((x + 1) % size)) ? 1.0 : null));
+        SpatialTemporalSignal<Double> signal = Utils.createSpatioTemporalSignal(size, 0, 0.5, 20, (t, l) -> (t * l) % 11);
+        LocationService<Double, Double> locService = Utils.createLocServiceStatic(0, 1, 20.0, model);
+        Formula low = new AtomicFormula("low");
+        Formula high = new AtomicFormula("high");
+        Formula formula = new OrFormula(
+                new UntilFormula(low, new NegationFormula(high), new Interval(0, 2)),
+                new AndFormula(new EventuallyFormula(high, new Interval(1, 3)),
+                        new SinceFormula(high, low, new Interval(0, 4))));
+
+        SpatialTemporalMonitoring<Double, Double, Double> sequential = new SpatialTemporalMonitoring<>(atomic, new HashMap<>(),
+                new DoubleDomain());
+        SpatialTemporalMonitoring<Double, Double, Double> parallel = new SpatialTemporalMonitoring<>(atomic, new HashMap<>(),
+                new DoubleDomain(),
+                new SpatialTemporalMonitoring.Options<Double>().parallelLocations(true));
+        var expected = sequential.monitor(formula).monitor(locService, signal);
+        var actual = parallel.monitor(formula).monitor(locService, signal);
+
+        for (int i = 0; i < size; i++) {
+            Signal<Double> e = expected.getSignalAtLocation(i);
+            Signal<Double> a = actual.getSignalAtLocation(i);
+            assertEquals(e.getStart(), a.getStart());
+            assertEquals(e.getEnd(), a.getEnd());
+            for (double t = e.getStart(); t <= e.getEnd(); t += 0.25) {
+                assertEquals(e.getValueAt(t), a.getValueAt(t));
+            }
+        }
+    }
+
     @Test
     void testGraphSPTsignalBuildWithMaps() {
         int size = 10;